@@ -0,0 +1,96 @@
+package com.attendancesystem.backend.config;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.security.BoundedPasswordEncoder;
+import com.attendancesystem.backend.service.AutoCheckoutService;
+import com.attendancesystem.backend.service.DashboardService;
+import com.attendancesystem.backend.service.OccupancyFeedService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges read on scrape from state the application already keeps in memory.
+ * Connection pool metrics (active, idle, pending) are bound for every Hikari pool by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder attendanceGauges(DashboardService dashboardService) {
+        return registry -> Gauge.builder("attendance.open.sessions", dashboardService, DashboardService::getCheckedInCount)
+                .description("Employees currently checked in")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("password.hashing.queue.depth", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("Password hashing tasks waiting for a worker")
+                    .register(registry);
+            Gauge.builder("password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("Password hashing workers busy")
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Password operations rejected because the queue was full or the wait timed out")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder occupancyFeedMetrics(OccupancyFeedService occupancyFeedService) {
+        return registry -> {
+            Gauge.builder("occupancy.feed.subscribers", occupancyFeedService, OccupancyFeedService::getSubscriberCount)
+                    .description("Live dashboard connections")
+                    .register(registry);
+            FunctionCounter.builder("occupancy.feed.dropped", occupancyFeedService, OccupancyFeedService::getDroppedSubscriberCount)
+                    .description("Dashboard connections dropped for falling behind or stalling a write")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder autoCheckoutMetrics(AutoCheckoutService autoCheckoutService) {
+        return registry -> {
+            for (Attendance.CheckoutReason reason : Attendance.CheckoutReason.values()) {
+                FunctionCounter.builder("auto.checkout.closed", autoCheckoutService, service -> service.getTotalClosed(reason))
+                        .description("Sessions closed by auto or bulk check-out")
+                        .tag("reason", reason.name())
+                        .register(registry);
+            }
+            Gauge.builder("auto.checkout.last.run.sessions", autoCheckoutService,
+                            lastRun(AutoCheckoutService.RunSummary::getSessionsClosed))
+                    .description("Sessions closed by the last auto or bulk check-out run")
+                    .register(registry);
+            Gauge.builder("auto.checkout.last.run.hours", autoCheckoutService,
+                            lastRun(AutoCheckoutService.RunSummary::getHoursCredited))
+                    .description("Working hours credited by the last auto or bulk check-out run")
+                    .baseUnit("hours")
+                    .register(registry);
+            Gauge.builder("auto.checkout.last.run.duration", autoCheckoutService,
+                            lastRun(AutoCheckoutService.RunSummary::getDurationMillis))
+                    .description("Duration of the last auto or bulk check-out run")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("auto.checkout.last.run.timestamp", autoCheckoutService,
+                            lastRun(summary -> summary.getStartedAt().atZone(ZoneId.systemDefault()).toEpochSecond()))
+                    .description("Start of the last auto or bulk check-out run")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    // NaN until the first run, so no value is reported rather than a misleading zero
+    private static ToDoubleFunction<AutoCheckoutService> lastRun(ToDoubleFunction<AutoCheckoutService.RunSummary> value) {
+        return service -> {
+            AutoCheckoutService.RunSummary summary = service.getLastRun();
+            return summary != null ? value.applyAsDouble(summary) : Double.NaN;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.attendancesystem.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.sqlite.SQLiteConfig;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SQLite persistence with one dedicated writer connection in WAL mode and a pool of read-only connections.
+ * In WAL mode readers never block the writer (and vice versa), so long report reads cannot stall check-ins.
+ * Read-only transactions are routed to the readers; the routing key is resolved lazily on first statement,
+ * after the transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.read-write-split", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteDataSourceConfig.class);
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${app.datasource.reader-pool-size}")
+    private int readerPoolSize;
+
+    @Value("${app.datasource.busy-timeout-ms}")
+    private int busyTimeoutMs;
+
+    @Value("${app.datasource.wal-autocheckpoint-pages}")
+    private int walAutoCheckpointPages;
+
+    @Value("${app.datasource.checkpoint-mode}")
+    private String checkpointMode;
+
+    @Value("${app.reporting-replica.directory}")
+    private String replicaDirectory;
+
+    @Value("${app.reporting-replica.pool-size}")
+    private int replicaPoolSize;
+
+    @Value("${app.reporting-replica.max-lag-ms}")
+    private long replicaMaxLagMs;
+
+    @PostConstruct
+    public void validateCheckpointMode() {
+        if (!Set.of("PASSIVE", "FULL", "RESTART", "TRUNCATE").contains(checkpointMode)) {
+            throw new IllegalStateException("Unsupported WAL checkpoint mode: " + checkpointMode);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writerDataSource() {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqliteConfig.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        sqliteConfig.setBusyTimeout(busyTimeoutMs);
+        // Timestamps as text, matching the dialect's text columns and SQLite's date functions
+        sqliteConfig.setDateClass("TEXT");
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("sqlite-writer");
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setDataSourceProperties(sqliteConfig.toProperties());
+        // SQLite allows a single writer at a time; one connection avoids SQLITE_BUSY between our own threads
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.setConnectionInitSql("PRAGMA wal_autocheckpoint=" + walAutoCheckpointPages);
+
+        logger.info("SQLite writer connection opened in WAL mode");
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readerDataSource(@Qualifier("writerDataSource") HikariDataSource writerDataSource) {
+        // The writer is created first so the database file exists and is already in WAL mode
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setReadOnly(true);
+        sqliteConfig.setBusyTimeout(busyTimeoutMs);
+        sqliteConfig.setDateClass("TEXT");
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("sqlite-reader");
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setDataSourceProperties(sqliteConfig.toProperties());
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(readerPoolSize);
+        config.setMinimumIdle(1);
+
+        logger.info("SQLite reader pool opened with {} connection(s)", readerPoolSize);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Periodically refreshed copy of the database that serves report and export reads
+     */
+    @Bean(destroyMethod = "close")
+    public ReportingReplica reportingReplica(@Qualifier("readerDataSource") HikariDataSource readerDataSource) {
+        return new ReportingReplica(readerDataSource, Paths.get(replicaDirectory), replicaPoolSize,
+                busyTimeoutMs, replicaMaxLagMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writerDataSource") HikariDataSource writerDataSource,
+                                 @Qualifier("readerDataSource") HikariDataSource readerDataSource,
+                                 ReportingReplica reportingReplica) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.WRITER, writerDataSource,
+                ReadWriteRoutingDataSource.Route.READER, readerDataSource,
+                ReadWriteRoutingDataSource.Route.REPORTING, reportingReplica));
+        routingDataSource.setDefaultTargetDataSource(writerDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defer picking a target until the first statement, when the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Periodic WAL checkpoint on top of SQLite's page-count based auto-checkpoint
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.checkpoint-interval-ms}")
+    public void checkpoint() {
+        try (Connection connection = writerDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA wal_checkpoint(" + checkpointMode + ")")) {
+
+            if (resultSet.next() && logger.isDebugEnabled()) {
+                logger.debug("WAL checkpoint ({}) - busy: {}, log frames: {}, checkpointed: {}",
+                        checkpointMode, resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3));
+            }
+        } catch (Exception e) {
+            logger.error("WAL checkpoint failed: " + e.getMessage());
+        }
+    }
+}
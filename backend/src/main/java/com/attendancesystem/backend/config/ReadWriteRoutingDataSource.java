@@ -0,0 +1,44 @@
+package com.attendancesystem.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only transactions to the reader pool and everything else to the single writer.
+ * Read-only work wrapped in {@link #onReportingReplica(Supplier)} goes to the reporting replica instead.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        WRITER, READER, REPORTING
+    }
+
+    private static final ThreadLocal<Boolean> REPORTING = new ThreadLocal<>();
+
+    /**
+     * Run read-only work against the reporting replica; writes are unaffected and still go to the writer
+     */
+    public static <T> T onReportingReplica(Supplier<T> action) {
+        Boolean previous = REPORTING.get();
+        REPORTING.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                REPORTING.remove();
+            } else {
+                REPORTING.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.WRITER;
+        }
+        return REPORTING.get() != null ? Route.REPORTING : Route.READER;
+    }
+}
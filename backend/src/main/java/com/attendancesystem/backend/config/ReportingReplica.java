@@ -0,0 +1,300 @@
+package com.attendancesystem.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Read-only copy of the database for reports and exports, refreshed with SQLite's online backup.
+ * The backup runs inside one read transaction on a reader connection, so it copies a consistent
+ * snapshot and, in WAL mode, never blocks the writer. Each refresh writes a new file and opens a
+ * new small pool on it; previous generations keep serving the reports already running on them and
+ * are closed at a later refresh once none of their connections is in use.
+ * <p>
+ * Until the first copy exists, or when the copy is older than the allowed lag, connections come
+ * from the live reader pool instead, so reporting never serves data staler than configured.
+ */
+public class ReportingReplica extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportingReplica.class);
+
+    private static final String FILE_PREFIX = "replica-";
+    private static final String FILE_SUFFIX = ".db";
+
+    private final DataSource source;
+    private final Path directory;
+    private final int poolSize;
+    private final int busyTimeoutMs;
+    private final long maxLagMillis;
+
+    private volatile Generation current;
+    private final List<Generation> retired = new ArrayList<>();
+    private volatile long refreshCount;
+    private volatile String lastError;
+
+    public ReportingReplica(DataSource source, Path directory, int poolSize, int busyTimeoutMs, long maxLagMillis) {
+        this.source = source;
+        this.directory = directory.toAbsolutePath();
+        this.poolSize = poolSize;
+        this.busyTimeoutMs = busyTimeoutMs;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledRefresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reporting-replica.refresh-interval-ms}",
+               initialDelayString = "${app.reporting-replica.refresh-interval-ms}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            logger.error("Reporting replica refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Take a new snapshot and switch reporting to it
+     */
+    public synchronized void refresh() throws SQLException, IOException {
+        Files.createDirectories(directory);
+        long startTime = System.currentTimeMillis();
+        LocalDateTime takenAt = LocalDateTime.now();
+        Path file = directory.resolve(FILE_PREFIX + startTime + FILE_SUFFIX);
+
+        try (Connection connection = source.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Pin one WAL snapshot so concurrent commits neither block nor restart the copy
+                statement.executeQuery("SELECT COUNT(*) FROM sqlite_master").close();
+                statement.executeUpdate("backup to \"" + file + "\"");
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        // The copy inherits WAL mode; switch it to a plain journal so read-only connections need no -wal/-shm files
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=DELETE");
+        }
+
+        Generation next = new Generation(openPool(file), file, takenAt,
+                System.currentTimeMillis() - startTime, Files.size(file));
+        closeIdleRetired();
+        if (current != null) {
+            // Idle connections go now; ones in use are closed as their reports finish
+            current.pool.getHikariPoolMXBean().softEvictConnections();
+            retired.add(current);
+        }
+        current = next;
+        refreshCount++;
+        lastError = null;
+        deleteUnusedFiles();
+
+        logger.info("Reporting replica refreshed: {} bytes copied in {} ms", next.sizeBytes, next.durationMillis);
+    }
+
+    public synchronized void close() {
+        Generation generation = current;
+        current = null;
+        if (generation != null) {
+            generation.close();
+        }
+        retired.forEach(Generation::close);
+        retired.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Generation generation = current;
+        if (generation == null || lagMillis(generation) > maxLagMillis) {
+            return source.getConnection();
+        }
+        try {
+            return generation.pool.getConnection();
+        } catch (SQLException e) {
+            // Retired and closed between reading it and borrowing from it; use the newer generation
+            if (generation.pool.isClosed()) {
+                return getConnection();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public Status getStatus() {
+        Generation generation = current;
+        if (generation == null) {
+            return new Status(false, null, -1, 0, 0, refreshCount, maxLagMillis, lastError);
+        }
+        long lag = lagMillis(generation);
+        return new Status(lag <= maxLagMillis, generation.takenAt, lag, generation.durationMillis,
+                generation.sizeBytes, refreshCount, maxLagMillis, lastError);
+    }
+
+    private HikariDataSource openPool(Path file) {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setReadOnly(true);
+        sqliteConfig.setBusyTimeout(busyTimeoutMs);
+        sqliteConfig.setDateClass("TEXT");
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("sqlite-reporting-" + file.getFileName());
+        config.setJdbcUrl("jdbc:sqlite:" + file);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setDataSourceProperties(sqliteConfig.toProperties());
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(0);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Close retired generations whose connections have all been returned; busy ones wait for a later refresh
+     */
+    private void closeIdleRetired() {
+        for (Iterator<Generation> iterator = retired.iterator(); iterator.hasNext(); ) {
+            Generation generation = iterator.next();
+            int active = generation.pool.getHikariPoolMXBean().getActiveConnections();
+            if (active == 0) {
+                generation.close();
+                iterator.remove();
+            } else {
+                logger.debug("Reporting replica {} still has {} connection(s) in use", generation.file, active);
+            }
+        }
+    }
+
+    private void deleteUnusedFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                boolean inUse = file.equals(current.file)
+                        || retired.stream().anyMatch(generation -> generation.file.equals(file));
+                if (!inUse) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static long lagMillis(Generation generation) {
+        return Duration.between(generation.takenAt, LocalDateTime.now()).toMillis();
+    }
+
+    private static class Generation {
+        private final HikariDataSource pool;
+        private final Path file;
+        private final LocalDateTime takenAt;
+        private final long durationMillis;
+        private final long sizeBytes;
+
+        Generation(HikariDataSource pool, Path file, LocalDateTime takenAt, long durationMillis, long sizeBytes) {
+            this.pool = pool;
+            this.file = file;
+            this.takenAt = takenAt;
+            this.durationMillis = durationMillis;
+            this.sizeBytes = sizeBytes;
+        }
+
+        void close() {
+            pool.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete reporting replica {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replica state for the admin API
+     */
+    public static class Status {
+        private final boolean serving;
+        private final LocalDateTime snapshotTakenAt;
+        private final long lagMillis;
+        private final long lastRefreshMillis;
+        private final long sizeBytes;
+        private final long refreshCount;
+        private final long maxLagMillis;
+        private final String lastError;
+
+        Status(boolean serving, LocalDateTime snapshotTakenAt, long lagMillis, long lastRefreshMillis,
+               long sizeBytes, long refreshCount, long maxLagMillis, String lastError) {
+            this.serving = serving;
+            this.snapshotTakenAt = snapshotTakenAt;
+            this.lagMillis = lagMillis;
+            this.lastRefreshMillis = lastRefreshMillis;
+            this.sizeBytes = sizeBytes;
+            this.refreshCount = refreshCount;
+            this.maxLagMillis = maxLagMillis;
+            this.lastError = lastError;
+        }
+
+        /**
+         * False while reports fall back to the live readers
+         */
+        public boolean isServing() {
+            return serving;
+        }
+
+        public LocalDateTime getSnapshotTakenAt() {
+            return snapshotTakenAt;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        public long getLastRefreshMillis() {
+            return lastRefreshMillis;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public long getRefreshCount() {
+            return refreshCount;
+        }
+
+        public long getMaxLagMillis() {
+            return maxLagMillis;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
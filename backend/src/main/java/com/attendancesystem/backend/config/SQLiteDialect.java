@@ -1,44 +1,63 @@
 package com.attendancesystem.backend.config;
 
+import org.hibernate.dialect.DatabaseVersion;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.identity.IdentityColumnSupport;
 import org.hibernate.dialect.identity.IdentityColumnSupportImpl;
 import org.hibernate.dialect.pagination.LimitHandler;
-import org.hibernate.dialect.pagination.OffsetFetchLimitHandler;
+import org.hibernate.dialect.pagination.LimitOffsetLimitHandler;
 import org.hibernate.dialect.unique.CreateTableUniqueDelegate;
 import org.hibernate.dialect.unique.UniqueDelegate;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.spi.AbstractSqlAstTranslator;
+import org.hibernate.sql.ast.spi.StandardSqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.ast.tree.select.QueryPart;
+import org.hibernate.sql.exec.spi.JdbcOperation;
 
 import java.sql.Types;
 
 public class SQLiteDialect extends Dialect {
 
     public SQLiteDialect() {
-        super();
-        
-        // Register column types
-        registerColumnType(Types.BIT, "integer");
-        registerColumnType(Types.TINYINT, "integer");
-        registerColumnType(Types.SMALLINT, "integer");
-        registerColumnType(Types.INTEGER, "integer");
-        registerColumnType(Types.BIGINT, "integer");
-        registerColumnType(Types.FLOAT, "real");
-        registerColumnType(Types.REAL, "real");
-        registerColumnType(Types.DOUBLE, "real");
-        registerColumnType(Types.NUMERIC, "numeric");
-        registerColumnType(Types.DECIMAL, "numeric");
-        registerColumnType(Types.CHAR, "text");
-        registerColumnType(Types.VARCHAR, "text");
-        registerColumnType(Types.LONGVARCHAR, "text");
-        registerColumnType(Types.DATE, "text");
-        registerColumnType(Types.TIME, "text");
-        registerColumnType(Types.TIMESTAMP, "text");
-        registerColumnType(Types.BINARY, "blob");
-        registerColumnType(Types.VARBINARY, "blob");
-        registerColumnType(Types.LONGVARBINARY, "blob");
-        registerColumnType(Types.CLOB, "text");
-        registerColumnType(Types.BLOB, "blob");
-        registerColumnType(Types.BOOLEAN, "integer");
+        super(DatabaseVersion.make(3));
+    }
+
+    @Override
+    protected String columnType(int sqlTypeCode) {
+        switch (sqlTypeCode) {
+            case Types.BIT:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.BOOLEAN:
+                return "integer";
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+                return "real";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return "numeric";
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.CLOB:
+                return "text";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "blob";
+            default:
+                return super.columnType(sqlTypeCode);
+        }
     }
 
     @Override
@@ -56,7 +75,13 @@ public class SQLiteDialect extends Dialect {
 
             @Override
             public String getIdentityColumnString(int type) {
-                return "integer primary key autoincrement";
+                // The table's primary key clause makes an integer column the rowid alias
+                return "integer";
+            }
+
+            @Override
+            public boolean hasDataTypeInIdentityColumn() {
+                return false;
             }
         };
     }
@@ -88,19 +113,20 @@ public class SQLiteDialect extends Dialect {
         return "";
     }
 
-    @Override
-    public boolean supportsLimit() {
-        return true;
-    }
-
     @Override
     public LimitHandler getLimitHandler() {
-        return OffsetFetchLimitHandler.INSTANCE;
+        return LimitOffsetLimitHandler.INSTANCE;
     }
 
     @Override
-    public String getLimitString(String query, boolean hasOffset) {
-        return query + (hasOffset ? " limit ? offset ?" : " limit ?");
+    public SqlAstTranslatorFactory getSqlAstTranslatorFactory() {
+        return new StandardSqlAstTranslatorFactory() {
+            @Override
+            protected <T extends JdbcOperation> SqlAstTranslator<T> buildTranslator(
+                    SessionFactoryImplementor sessionFactory, Statement statement) {
+                return new SQLiteSqlAstTranslator<>(sessionFactory, statement);
+            }
+        };
     }
 
     @Override
@@ -108,11 +134,6 @@ public class SQLiteDialect extends Dialect {
         return true;
     }
 
-    @Override
-    public String getCreateTemporaryTableString() {
-        return "create temporary table if not exists";
-    }
-
     @Override
     public boolean supportsCurrentTimestampSelection() {
         return true;
@@ -138,11 +159,6 @@ public class SQLiteDialect extends Dialect {
         return true;
     }
 
-    @Override
-    public boolean hasDataTypeInIdentityColumn() {
-        return false;
-    }
-
     @Override
     public boolean supportsCommentOn() {
         return false;
@@ -168,8 +184,21 @@ public class SQLiteDialect extends Dialect {
         return "drop table if exists " + tableName;
     }
 
-    @Override
-    public boolean supportsRowValueConstructorSyntax() {
-        return false;
+
+    /**
+     * Renders row limits as LIMIT/OFFSET; SQLite has no OFFSET ... FETCH syntax
+     */
+    private static class SQLiteSqlAstTranslator<T extends JdbcOperation> extends AbstractSqlAstTranslator<T> {
+
+        SQLiteSqlAstTranslator(SessionFactoryImplementor sessionFactory, Statement statement) {
+            super(sessionFactory, statement);
+        }
+
+        @Override
+        public void visitOffsetFetchClause(QueryPart queryPart) {
+            if (!isRowNumberingCurrentQueryPart()) {
+                renderLimitOffsetClause(queryPart);
+            }
+        }
     }
-}
\ No newline at end of file
+}
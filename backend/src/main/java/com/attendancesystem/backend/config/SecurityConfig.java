@@ -1,8 +1,12 @@
 package com.attendancesystem.backend.config;
 
+import com.attendancesystem.backend.security.AttendanceRateLimitFilter;
+import com.attendancesystem.backend.security.BoundedPasswordEncoder;
 import com.attendancesystem.backend.security.JwtAuthenticationFilter;
 import com.attendancesystem.backend.service.EmployeeDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,7 +19,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -30,9 +33,30 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AttendanceRateLimitFilter attendanceRateLimitFilter;
+
+    @Value("${app.password-hashing.strength}")
+    private int passwordHashingStrength;
+
+    @Value("${app.password-hashing.threads}")
+    private int passwordHashingThreads;
+
+    @Value("${app.password-hashing.queue-capacity}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${app.password-hashing.timeout-ms}")
+    private long passwordHashingTimeoutMs;
+
+    @Value("${app.password-hashing.bulk-threads}")
+    private int passwordHashingBulkThreads;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        // BCrypt runs on its own bounded pool so login bursts cannot starve check-in request threads
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingStrength),
+                passwordHashingThreads, passwordHashingQueueCapacity, passwordHashingTimeoutMs,
+                passwordHashingBulkThreads);
     }
 
     @Bean
@@ -53,22 +77,27 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configure(http))
             .authorizeHttpRequests(authz -> authz
-                // Public endpoints
-                .requestMatchers("/api/auth/**", "/api/public/**").permitAll()
+                // Public endpoints (matched within the /api context path)
+                .requestMatchers("/auth/**", "/public/**").permitAll()
+                // Error dispatches, so rejected requests keep their status instead of becoming 403
+                .requestMatchers("/error").permitAll()
+                // Health and metrics scrape (served on the localhost-only management port)
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 // Admin only endpoints
-                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/admin/**").hasRole("ADMIN")
                 // Employee endpoints
-                .requestMatchers("/api/employee/**").hasAnyRole("EMPLOYEE", "ADMIN")
+                .requestMatchers("/employee/**").hasAnyRole("EMPLOYEE", "ADMIN")
                 // Attendance endpoints
-                .requestMatchers("/api/attendance/check-in", "/api/attendance/check-out").hasAnyRole("EMPLOYEE", "ADMIN")
-                .requestMatchers("/api/attendance/history/**").hasAnyRole("EMPLOYEE", "ADMIN")
-                .requestMatchers("/api/attendance/admin/**").hasRole("ADMIN")
+                .requestMatchers("/attendance/check-in", "/attendance/check-out").hasAnyRole("EMPLOYEE", "ADMIN")
+                .requestMatchers("/attendance/history/**").hasAnyRole("EMPLOYEE", "ADMIN")
+                .requestMatchers("/attendance/admin/**").hasRole("ADMIN")
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(attendanceRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,27 @@
+package com.attendancesystem.backend.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate the annotated ID with {@link SequenceTableIdGenerator}
+ */
+@IdGeneratorType(SequenceTableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequenceTableId {
+
+    /**
+     * Row in the id_sequences table; the entity's table name when empty
+     */
+    String name() default "";
+
+    /**
+     * IDs reserved per round trip to the id_sequences table
+     */
+    int allocationSize() default 50;
+}
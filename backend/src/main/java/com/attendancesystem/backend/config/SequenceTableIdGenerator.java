@@ -0,0 +1,118 @@
+package com.attendancesystem.backend.config;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.mapping.RootClass;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Block (hi-lo style) ID allocator for SQLite backed by an {@code id_sequences} table.
+ * IDs are known before the INSERT, so Hibernate can batch inserts instead of reading back
+ * {@code last_insert_rowid()} after every row as it must with IDENTITY.
+ * <p>
+ * Blocks are reserved on the session's own connection: with a single SQLite writer a separate
+ * connection would wait on the lock held by the current transaction. If that transaction rolls back,
+ * the in-memory high-water mark still prevents handing out the same IDs again, and after a restart
+ * the allocator never starts below the highest existing ID of the target table.
+ * <p>
+ * Used through {@link SequenceTableId}. The sequence table is created when Hibernate builds the
+ * generator at startup, so block allocation only reads and updates it.
+ */
+public class SequenceTableIdGenerator implements IdentifierGenerator {
+
+    private static final String SEQUENCE_TABLE = "id_sequences";
+
+    private final String sequenceName;
+    private final String targetTable;
+    private final String targetColumn;
+    private final int allocationSize;
+
+    // Next ID to hand out and the exclusive upper bound of the current block
+    private long nextId;
+    private long blockLimit;
+
+    public SequenceTableIdGenerator(SequenceTableId config, Member idMember,
+                                    CustomIdGeneratorCreationContext context) {
+        RootClass entity = context.getRootClass();
+        this.targetTable = entity.getTable().getName();
+        this.targetColumn = entity.getIdentifier().getColumns().get(0).getName();
+        this.sequenceName = config.name().isEmpty() ? targetTable : config.name();
+        this.allocationSize = config.allocationSize();
+        createSequenceTable(context.getServiceRegistry().getService(ConnectionProvider.class));
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (nextId >= blockLimit) {
+            allocateBlock(session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection());
+        }
+        return nextId++;
+    }
+
+    private void allocateBlock(Connection connection) {
+        try {
+            long storedNext = 0;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT next_val FROM " + SEQUENCE_TABLE + " WHERE sequence_name = ?")) {
+                statement.setString(1, sequenceName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        storedNext = resultSet.getLong(1);
+                    }
+                }
+            }
+
+            // Rows may exist from before this allocator (IDENTITY era) or from a rolled-back reservation
+            long tableNext;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT COALESCE(MAX(" + targetColumn + "), 0) + 1 FROM " + targetTable)) {
+                resultSet.next();
+                tableNext = resultSet.getLong(1);
+            }
+
+            long start = Math.max(Math.max(storedNext, tableNext), blockLimit);
+            long end = start + allocationSize;
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO " + SEQUENCE_TABLE + " (sequence_name, next_val) VALUES (?, ?) " +
+                    "ON CONFLICT(sequence_name) DO UPDATE SET next_val = excluded.next_val")) {
+                statement.setString(1, sequenceName);
+                statement.setLong(2, end);
+                statement.executeUpdate();
+            }
+
+            nextId = start;
+            blockLimit = end;
+
+        } catch (SQLException e) {
+            throw new HibernateException("Could not allocate ID block for sequence " + sequenceName, e);
+        }
+    }
+
+    private void createSequenceTable(ConnectionProvider connectionProvider) {
+        try {
+            Connection connection = connectionProvider.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + SEQUENCE_TABLE +
+                        " (sequence_name TEXT PRIMARY KEY, next_val INTEGER NOT NULL)");
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } finally {
+                connectionProvider.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("Could not create ID sequence table " + SEQUENCE_TABLE, e);
+        }
+    }
+}
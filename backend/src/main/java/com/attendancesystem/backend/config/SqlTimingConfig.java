@@ -0,0 +1,40 @@
+package com.attendancesystem.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the primary data source in {@link StatementTimingDataSource}, with or without the
+ * read-write split. The individual pools stay unwrapped, so their own metrics are unaffected
+ * and each statement is timed once.
+ */
+@Configuration
+public class SqlTimingConfig {
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor statementTimingPostProcessor(Environment environment,
+                                                                 ObjectProvider<MeterRegistry> registryProvider) {
+        // Static and reading the environment directly: post-processors are created before @Value injection
+        boolean enabled = environment.getRequiredProperty("app.sql-timing.enabled", Boolean.class);
+        long slowThresholdMs = environment.getRequiredProperty("app.sql-timing.slow-threshold-ms", Long.class);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && PRIMARY_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, registryProvider, slowThresholdMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
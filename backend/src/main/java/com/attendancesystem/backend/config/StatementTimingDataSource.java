@@ -0,0 +1,382 @@
+package com.attendancesystem.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC-level statement timing. Every statement executed through this data source is timed and
+ * counted per statement shape (whitespace collapsed, IN lists folded), with a latency histogram
+ * and a row-count summary. Meters are tagged with a hash of the full shape, and the hash-to-SQL
+ * mapping is logged when a shape is first seen; past the shape cap, new shapes share one "other"
+ * meter. Statements slower than the threshold are logged with the types of their bound
+ * parameters, never the values.
+ * <p>
+ * Query time covers the execute call; rows are counted as the result set is read and recorded
+ * when it is closed, so a slow consumer of a cursor does not make the query look slow.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementTimingDataSource.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final int MAX_SHAPES = 2000;
+    private static final int MAX_CACHED_STATEMENTS = 4 * MAX_SHAPES;
+    private static final String OVERFLOW_TAG = "other";
+
+    private enum Kind {
+        QUERY, UPDATE, BATCH, EXECUTE
+    }
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final long slowThresholdNanos;
+    // Normalized shape -> meters, capped; raw SQL -> shape is a lookup cache in front of it
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Shape> shapesBySql = new ConcurrentHashMap<>();
+    private final Shape overflow = new Shape(null, OVERFLOW_TAG);
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+    private volatile MeterRegistry registry;
+
+    public StatementTimingDataSource(DataSource target, ObjectProvider<MeterRegistry> registryProvider, long slowThresholdMs) {
+        super(target);
+        this.registryProvider = registryProvider;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000L;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void record(String sql, Kind kind, long nanos, long rows, StatementHandler statement) {
+        if (sql == null) {
+            return;
+        }
+        Shape shape = shape(sql);
+        MeterRegistry meterRegistry = registry();
+        if (meterRegistry != null) {
+            shape.timer(meterRegistry, kind).record(nanos, TimeUnit.NANOSECONDS);
+            if (rows >= 0) {
+                shape.rows(meterRegistry).record(rows);
+            }
+        }
+        if (nanos >= slowThresholdNanos) {
+            logger.warn("Slow SQL {} ms, {} row(s), parameters [{}], shape {}: {}", nanos / 1_000_000L,
+                    rows >= 0 ? rows : "?", String.join(", ", statement.parameterTypes), shape.tag,
+                    shape.sql != null ? shape.sql : normalize(sql));
+        }
+    }
+
+    private Shape shape(String sql) {
+        Shape shape = shapesBySql.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        String normalized = normalize(sql);
+        shape = shapes.get(normalized);
+        if (shape == null) {
+            // Statements built with literals could register meters without bound; past the cap they share one
+            if (shapes.size() >= MAX_SHAPES) {
+                if (overflowLogged.compareAndSet(false, true)) {
+                    logger.warn("More than {} SQL statement shapes; further shapes are recorded as '{}'",
+                            MAX_SHAPES, OVERFLOW_TAG);
+                }
+                return overflow;
+            }
+            Shape created = new Shape(normalized, hash(normalized));
+            shape = shapes.putIfAbsent(normalized, created);
+            if (shape == null) {
+                shape = created;
+                logger.info("SQL statement shape {}: {}", created.tag, normalized);
+            }
+        }
+        if (shapesBySql.size() < MAX_CACHED_STATEMENTS) {
+            shapesBySql.putIfAbsent(sql, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Stable tag for a shape: the first 48 bits of its SHA-256, in hex
+     */
+    private static String hash(String normalized) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            // Resolved lazily: the data source is created before the metrics infrastructure
+            meterRegistry = registryProvider.getIfAvailable();
+            registry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+
+    private static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?...)");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Meters of one statement shape, created on first use
+     */
+    private static class Shape {
+        private final String sql;
+        private final String tag;
+        private final Timer[] timers = new Timer[Kind.values().length];
+        private DistributionSummary rows;
+
+        Shape(String sql, String tag) {
+            this.sql = sql;
+            this.tag = tag;
+        }
+
+        Timer timer(MeterRegistry registry, Kind kind) {
+            Timer timer = timers[kind.ordinal()];
+            if (timer == null) {
+                // Registration is idempotent, so a race only repeats the lookup
+                timer = Timer.builder("db.statement")
+                        .description("Execution time per statement shape")
+                        .tag("statement", tag)
+                        .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry);
+                timers[kind.ordinal()] = timer;
+            }
+            return timer;
+        }
+
+        DistributionSummary rows(MeterRegistry registry) {
+            DistributionSummary summary = rows;
+            if (summary == null) {
+                summary = DistributionSummary.builder("db.statement.rows")
+                        .description("Rows returned or affected per statement shape")
+                        .tag("statement", tag)
+                        .register(registry);
+                rows = summary;
+            }
+            return summary;
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(connection, method, args);
+            switch (method.getName()) {
+                case "prepareCall":
+                    return wrapStatement((Statement) result, (String) args[0], CallableStatement.class);
+                case "prepareStatement":
+                    return wrapStatement((Statement) result, (String) args[0], PreparedStatement.class);
+                case "createStatement":
+                    return wrapStatement((Statement) result, null, Statement.class);
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrapStatement(Statement statement, String sql, Class<?> type) {
+            return Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final List<String> parameterTypes = new ArrayList<>();
+        private String sql;
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("close")) {
+                finishResultSet();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args, name);
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args, String name) throws Throwable {
+            finishResultSet();
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = StatementTimingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                record(statementSql, Kind.EXECUTE, System.nanoTime() - start, -1, this);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            switch (name) {
+                case "executeQuery":
+                    sql = statementSql;
+                    openResultSet = new ResultSetHandler((ResultSet) result, this, statementSql, elapsed);
+                    return Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(),
+                            new Class<?>[] {ResultSet.class}, openResultSet);
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    record(statementSql, Kind.UPDATE, elapsed, ((Number) result).longValue(), this);
+                    return result;
+                case "executeBatch":
+                    record(statementSql, Kind.BATCH, elapsed, sum((int[]) result), this);
+                    return result;
+                case "executeLargeBatch":
+                    record(statementSql, Kind.BATCH, elapsed, sum((long[]) result), this);
+                    return result;
+                default:
+                    record(statementSql, Kind.EXECUTE, elapsed, -1, this);
+                    return result;
+            }
+        }
+
+        private void bind(int index, String setter, Object value) {
+            while (parameterTypes.size() < index) {
+                parameterTypes.add("?");
+            }
+            String type;
+            if (setter.equals("setNull") || value == null) {
+                type = "NULL";
+            } else if (setter.equals("setObject")) {
+                type = value.getClass().getSimpleName();
+            } else {
+                type = setter.substring(3);
+            }
+            parameterTypes.set(index - 1, type);
+        }
+
+        private void finishResultSet() {
+            if (openResultSet != null) {
+                openResultSet.finish();
+                openResultSet = null;
+            }
+        }
+
+        private long sum(int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+
+        private long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+    }
+
+    private class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final StatementHandler statement;
+        private final String sql;
+        private final long executeNanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet resultSet, StatementHandler statement, String sql, long executeNanos) {
+            this.resultSet = resultSet;
+            this.statement = statement;
+            this.sql = sql;
+            this.executeNanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(resultSet, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) {
+                    rows++;
+                }
+            } else if (name.equals("close")) {
+                finish();
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                record(sql, Kind.QUERY, executeNanos, rows, statement);
+            }
+        }
+    }
+}
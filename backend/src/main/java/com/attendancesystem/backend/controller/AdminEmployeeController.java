@@ -0,0 +1,83 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.EmployeePage;
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.service.EmployeeListingService;
+import com.attendancesystem.backend.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/employees")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminEmployeeController {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeListingService employeeListingService;
+
+    /**
+     * Paged, sortable and filterable employee listing without password or face data.
+     * Responses carry an ETag; an unchanged page is answered with 304 Not Modified.
+     */
+    @GetMapping
+    public ResponseEntity<EmployeePage> listEmployees(@RequestParam(required = false) String sort,
+                                                      @RequestParam(defaultValue = "asc") String direction,
+                                                      @RequestParam(required = false) Boolean active,
+                                                      @RequestParam(required = false) Employee.Role role,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(required = false) String cursor,
+                                                      WebRequest request) {
+        EmployeePage page = employeeListingService.listEmployees(EmployeeListingService.parseSortField(sort),
+                "desc".equalsIgnoreCase(direction), active, role, size, cursor);
+
+        String etag = pageETag(page);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(page);
+    }
+
+    /**
+     * Search-as-you-type by name (prefix and infix), ranked, without face data
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeSummary>> searchEmployees(@RequestParam("q") String query,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(employeeService.searchEmployeeSummaries(query, limit));
+    }
+
+    private static String pageETag(EmployeePage page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (EmployeeSummary employee : page.getItems()) {
+                String row = employee.getId() + "|" + employee.getEmail() + "|" + employee.getFirstName() + "|" +
+                        employee.getLastName() + "|" + employee.getRole() + "|" + employee.isActive() + "|" +
+                        employee.isFaceRegistered() + "|" + employee.getUpdatedAt() + "\n";
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((page.isHasMore() + "|" + page.getNextCursor()).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.AttendanceBreakdown;
+import com.attendancesystem.backend.service.AttendanceAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+
+    @Autowired
+    private AttendanceAnalyticsService analyticsService;
+
+    /**
+     * Sessions and hours between two days (inclusive) grouped per employee, role or day
+     */
+    @GetMapping("/attendance")
+    public ResponseEntity<AttendanceBreakdown> getAttendanceBreakdown(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "EMPLOYEE") AttendanceBreakdown.GroupBy groupBy) {
+        return ResponseEntity.ok(analyticsService.breakdown(from, to, groupBy));
+    }
+
+    /**
+     * Reload the analytics snapshot from the database and the archive now
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        analyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.BulkCheckoutRequest;
+import com.attendancesystem.backend.service.AttendanceArchiveService;
+import com.attendancesystem.backend.service.AutoCheckoutService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/attendance")
+@PreAuthorize("hasRole('ADMIN')")
+public class AttendanceAdminController {
+
+    @Autowired
+    private AutoCheckoutService autoCheckoutService;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    /**
+     * Check out every open session of the given employees in chunked batches
+     */
+    @PostMapping("/force-checkout")
+    public ResponseEntity<AutoCheckoutService.RunSummary> forceCheckOut(@Valid @RequestBody BulkCheckoutRequest request) {
+        return ResponseEntity.ok(autoCheckoutService.forceCheckOut(request.getEmployeeIds(), request.getReason()));
+    }
+
+    /**
+     * Run the stale-session auto check-out immediately
+     */
+    @PostMapping("/auto-checkout")
+    public ResponseEntity<AutoCheckoutService.RunSummary> runAutoCheckout() {
+        return ResponseEntity.ok(autoCheckoutService.closeStaleSessions());
+    }
+
+    @GetMapping("/auto-checkout/last-run")
+    public ResponseEntity<AutoCheckoutService.RunSummary> getLastAutoCheckoutRun() {
+        AutoCheckoutService.RunSummary lastRun = autoCheckoutService.getLastRun();
+        return lastRun != null ? ResponseEntity.ok(lastRun) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Archived months and their segment files
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<List<AttendanceArchiveService.SegmentInfo>> getArchiveSegments() {
+        return ResponseEntity.ok(archiveService.getSegments());
+    }
+
+    /**
+     * Archive every closed month past the retention window now; returns the segments written
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<List<AttendanceArchiveService.SegmentInfo>> archiveClosedMonths() {
+        return ResponseEntity.ok(archiveService.archiveClosedMonths());
+    }
+}
@@ -0,0 +1,52 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.AttendanceRequest;
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.security.EmployeeUserDetails;
+import com.attendancesystem.backend.service.AttendanceService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/attendance")
+public class AttendanceController {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    /**
+     * Check in the authenticated employee after face and location verification
+     */
+    @PostMapping("/check-in")
+    public ResponseEntity<Attendance> checkIn(@AuthenticationPrincipal EmployeeUserDetails user,
+                                              @Valid @RequestBody AttendanceRequest request) {
+        try {
+            return ResponseEntity.ok(attendanceService.checkIn(user.getEmployeeId(), request.getFaceImage(),
+                    request.getLatitude(), request.getLongitude()));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Check out the authenticated employee after face and location verification
+     */
+    @PostMapping("/check-out")
+    public ResponseEntity<Attendance> checkOut(@AuthenticationPrincipal EmployeeUserDetails user,
+                                               @Valid @RequestBody AttendanceRequest request) {
+        try {
+            return ResponseEntity.ok(attendanceService.checkOut(user.getEmployeeId(), request.getFaceImage(),
+                    request.getLatitude(), request.getLongitude()));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.EmployeeAttendanceReport;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.service.AttendanceReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RestController
+@RequestMapping("/admin/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class AttendanceReportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private AttendanceReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Per-employee totals for the period, streamed as NDJSON (default) or CSV while the query runs
+     */
+    @GetMapping("/attendance")
+    public ResponseEntity<StreamingResponseBody> getAttendanceReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Employee.Role role,
+            @RequestParam(required = false) List<Long> employeeIds,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("employee_id,name,email,role,sessions,completed_sessions,total_hours,average_hours,"
+                        + "days_present,late_arrivals,overtime_hours\n");
+            }
+            Consumer<EmployeeAttendanceReport> sink = report -> {
+                try {
+                    writer.write(csv ? toCsv(report) : objectMapper.writeValueAsString(report));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (employeeIds != null && !employeeIds.isEmpty()) {
+                reportService.streamEmployeeReports(from, to, employeeIds, sink);
+            } else {
+                reportService.streamEmployeeReports(from, to, active, role, sink);
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, csv
+                        ? "attachment; filename=\"attendance-" + from + "-" + to + ".csv\"" : "inline")
+                .body(body);
+    }
+
+    private static String toCsv(EmployeeAttendanceReport report) {
+        return String.format("%d,%s,%s,%s,%d,%d,%.2f,%.2f,%d,%d,%.2f",
+                report.getEmployeeId(), csvField(report.getEmployeeName()), csvField(report.getEmail()),
+                report.getRole(), report.getSessions(), report.getCompletedSessions(), report.getTotalHours(),
+                report.getAverageHours(), report.getDaysPresent(), report.getLateArrivals(), report.getOvertimeHours());
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.contains(",") || value.contains("\"") || value.contains("\n")
+                ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -0,0 +1,53 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.LoginRequest;
+import com.attendancesystem.backend.dto.LoginResponse;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.security.EmployeeUserDetails;
+import com.attendancesystem.backend.security.JwtUtil;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.expiration}")
+    private long expiration;
+
+    /**
+     * Exchange email and password for a JWT; a saturated hashing pool answers 429
+     */
+    @PostMapping("/login")
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        }
+
+        Employee employee = ((EmployeeUserDetails) authentication.getPrincipal()).getEmployee();
+        String token = jwtUtil.generateToken(employee.getEmail(), employee.getRole().name(), employee.getId());
+        return ResponseEntity.ok(new LoginResponse(token, employee, expiration));
+    }
+}
@@ -0,0 +1,27 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.DashboardSummary;
+import com.attendancesystem.backend.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/dashboard")
+@PreAuthorize("hasRole('ADMIN')")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * All dashboard tiles in one call, served from in-memory counters
+     */
+    @GetMapping
+    public ResponseEntity<DashboardSummary> getDashboardSummary() {
+        return ResponseEntity.ok(dashboardService.getSummary());
+    }
+}
@@ -0,0 +1,35 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.EmployeeImportResult;
+import com.attendancesystem.backend.service.EmployeeImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/employees")
+@PreAuthorize("hasRole('ADMIN')")
+public class EmployeeImportController {
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    /**
+     * Bulk import employees; the request body is streamed, not buffered
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<EmployeeImportResult> importEmployees(@RequestHeader("Content-Type") String contentType,
+                                                                InputStream body) {
+        EmployeeImportService.Format format = contentType.startsWith("text/csv")
+                ? EmployeeImportService.Format.CSV
+                : EmployeeImportService.Format.NDJSON;
+
+        return ResponseEntity.ok(employeeImportService.importEmployees(body, format));
+    }
+}
@@ -0,0 +1,39 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.service.EmployeePurgeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/employees/purge")
+@PreAuthorize("hasRole('ADMIN')")
+public class EmployeePurgeController {
+
+    @Autowired
+    private EmployeePurgeService employeePurgeService;
+
+    /**
+     * Permanently delete many employees and their attendance in the background
+     */
+    @PostMapping
+    public ResponseEntity<EmployeePurgeService.PurgeJob> startPurge(@RequestBody List<Long> employeeIds) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(employeePurgeService.startPurge(employeeIds));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<EmployeePurgeService.PurgeJob> getPurgeJob(@PathVariable String jobId) {
+        return employeePurgeService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.dto.KioskSyncRequest;
+import com.attendancesystem.backend.dto.KioskSyncResponse;
+import com.attendancesystem.backend.model.KioskPunchEvent;
+import com.attendancesystem.backend.security.AttendanceRateLimitFilter;
+import com.attendancesystem.backend.service.KioskSyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@PreAuthorize("hasRole('ADMIN')")
+public class KioskSyncController {
+
+    @Autowired
+    private KioskSyncService kioskSyncService;
+
+    /**
+     * Upload punches recorded while the kiosk was offline; safe to retry with the same client event ids
+     */
+    @PostMapping("/attendance/sync")
+    public ResponseEntity<KioskSyncResponse> sync(
+            @RequestHeader(value = AttendanceRateLimitFilter.KIOSK_ID_HEADER, required = false) String kioskHeader,
+            @RequestBody KioskSyncRequest request) {
+        String kioskId = kioskHeader != null && !kioskHeader.isBlank() ? kioskHeader : request.getKioskId();
+        return ResponseEntity.ok(kioskSyncService.sync(kioskId, request.getEvents()));
+    }
+
+    /**
+     * Offline punches whose deferred face verification failed, newest first
+     */
+    @GetMapping("/admin/attendance/kiosk-sync/face-failures")
+    public ResponseEntity<List<KioskPunchEvent>> getFaceVerificationFailures(
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(kioskSyncService.getFailedFaceVerifications(Math.max(1, Math.min(limit, 1000))));
+    }
+}
@@ -0,0 +1,36 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.service.OccupancyFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/admin/occupancy")
+@PreAuthorize("hasRole('ADMIN')")
+public class OccupancyController {
+
+    @Autowired
+    private OccupancyFeedService occupancyFeedService;
+
+    /**
+     * Currently checked-in employees
+     */
+    @GetMapping
+    public ResponseEntity<OccupancyFeedService.Snapshot> getOccupancy() {
+        return ResponseEntity.ok(occupancyFeedService.getSnapshot());
+    }
+
+    /**
+     * Live feed: a "snapshot" event followed by "check-in" / "check-out" deltas
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOccupancy() {
+        return occupancyFeedService.subscribe();
+    }
+}
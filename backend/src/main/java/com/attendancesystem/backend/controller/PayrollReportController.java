@@ -0,0 +1,91 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.model.PayrollReport;
+import com.attendancesystem.backend.service.PayrollReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/admin/payroll/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class PayrollReportController {
+
+    @Autowired
+    private PayrollReportService payrollReportService;
+
+    /**
+     * Start the payroll report for a month (yyyy-MM); a finished report is returned as-is unless regenerate is set
+     */
+    @PostMapping
+    public ResponseEntity<PayrollReport> requestReport(@RequestParam String month,
+                                                       @RequestParam(defaultValue = "false") boolean regenerate) {
+        YearMonth period;
+        try {
+            period = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "month must be formatted as yyyy-MM");
+        }
+        PayrollReport report = payrollReportService.requestReport(period, regenerate);
+        HttpStatus status = report.getStatus() == PayrollReport.Status.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(report);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PayrollReport>> getRecentReports(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(payrollReportService.getRecentReports(Math.max(1, Math.min(limit, 200))));
+    }
+
+    @GetMapping("/{reportId}")
+    public ResponseEntity<PayrollReport> getReport(@PathVariable Long reportId) {
+        return payrollReportService.getReport(reportId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Download a finished report as CSV; the stored gzip bytes are sent as-is to clients that accept gzip
+     */
+    @GetMapping("/{reportId}/download")
+    public ResponseEntity<byte[]> downloadReport(@PathVariable Long reportId,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<byte[]> content = payrollReportService.getReportContent(reportId);
+        if (content.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String period = payrollReportService.getReport(reportId).map(PayrollReport::getPeriod).orElse("report");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payroll-" + period + ".csv\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(content.get());
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content.get()))) {
+            return response.body(in.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decompress payroll report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.config.ReportingReplica;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/admin/reporting-replica")
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportingReplicaController {
+
+    // Only present when the read-write split is enabled
+    @Autowired(required = false)
+    private ReportingReplica reportingReplica;
+
+    /**
+     * Snapshot age, size and whether reports are currently served from it
+     */
+    @GetMapping
+    public ResponseEntity<ReportingReplica.Status> getStatus() {
+        return ResponseEntity.ok(replica().getStatus());
+    }
+
+    /**
+     * Take a fresh snapshot now
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ReportingReplica.Status> refresh() {
+        ReportingReplica replica = replica();
+        try {
+            replica.refresh();
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Reporting replica refresh failed: " + e.getMessage());
+        }
+        return ResponseEntity.ok(replica.getStatus());
+    }
+
+    private ReportingReplica replica() {
+        if (reportingReplica == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reporting replica is not enabled");
+        }
+        return reportingReplica;
+    }
+}
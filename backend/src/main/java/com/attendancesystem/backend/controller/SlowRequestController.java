@@ -0,0 +1,30 @@
+package com.attendancesystem.backend.controller;
+
+import com.attendancesystem.backend.service.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/requests")
+@PreAuthorize("hasRole('ADMIN')")
+public class SlowRequestController {
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    /**
+     * Recent attendance requests over the slow threshold with their stage breakdown, slowest first
+     */
+    @GetMapping("/slow")
+    public ResponseEntity<List<SlowRequestLog.SlowRequest>> getSlowRequests(
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(slowRequestLog.getSlowest(Math.max(1, limit)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.attendancesystem.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Attendance aggregated per employee, role or day over a date range
+ */
+public class AttendanceBreakdown {
+
+    public enum GroupBy {
+        EMPLOYEE, ROLE, DAY
+    }
+
+    private final GroupBy groupBy;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long sessions;
+    private final double totalHours;
+    private final List<Bucket> buckets;
+    private final LocalDateTime snapshotBuiltAt;
+    private final long scanMicros;
+
+    public AttendanceBreakdown(GroupBy groupBy, LocalDate from, LocalDate to, List<Bucket> buckets,
+                               LocalDateTime snapshotBuiltAt, long scanMicros) {
+        this.groupBy = groupBy;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+        this.snapshotBuiltAt = snapshotBuiltAt;
+        this.scanMicros = scanMicros;
+        long totalSessions = 0;
+        double hours = 0.0;
+        for (Bucket bucket : buckets) {
+            totalSessions += bucket.getSessions();
+            hours += bucket.getTotalHours();
+        }
+        this.sessions = totalSessions;
+        this.totalHours = hours;
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public LocalDateTime getSnapshotBuiltAt() {
+        return snapshotBuiltAt;
+    }
+
+    public long getScanMicros() {
+        return scanMicros;
+    }
+
+    public static class Bucket {
+        private final String key;
+        private final String label;
+        private final long sessions;
+        private final long completedSessions;
+        private final double totalHours;
+
+        public Bucket(String key, String label, long sessions, long completedSessions, double totalHours) {
+            this.key = key;
+            this.label = label;
+            this.sessions = sessions;
+            this.completedSessions = completedSessions;
+            this.totalHours = totalHours;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getSessions() {
+            return sessions;
+        }
+
+        public long getCompletedSessions() {
+            return completedSessions;
+        }
+
+        public double getTotalHours() {
+            return totalHours;
+        }
+
+        public double getAverageHours() {
+            return completedSessions > 0 ? totalHours / completedSessions : 0.0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.attendancesystem.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkCheckoutRequest {
+
+    @NotEmpty(message = "At least one employee ID is required")
+    private List<Long> employeeIds;
+
+    private String reason;
+
+    public BulkCheckoutRequest() {}
+
+    // Getters and Setters
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<Long> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,119 @@
+package com.attendancesystem.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * All admin dashboard tiles in one response
+ */
+public class DashboardSummary {
+
+    private final LocalDate date;
+    private final long totalEmployees;
+    private final long activeEmployees;
+    private final long currentlyCheckedIn;
+    private final long checkInsToday;
+    private final long checkOutsToday;
+    private final double hoursWorkedToday;
+    private final List<RecentActivity> recentActivity;
+    private final LocalDateTime generatedAt;
+    private final LocalDateTime lastReconciledAt;
+
+    public DashboardSummary(LocalDate date, long totalEmployees, long activeEmployees, long currentlyCheckedIn,
+                            long checkInsToday, long checkOutsToday, double hoursWorkedToday,
+                            List<RecentActivity> recentActivity, LocalDateTime generatedAt,
+                            LocalDateTime lastReconciledAt) {
+        this.date = date;
+        this.totalEmployees = totalEmployees;
+        this.activeEmployees = activeEmployees;
+        this.currentlyCheckedIn = currentlyCheckedIn;
+        this.checkInsToday = checkInsToday;
+        this.checkOutsToday = checkOutsToday;
+        this.hoursWorkedToday = hoursWorkedToday;
+        this.recentActivity = recentActivity;
+        this.generatedAt = generatedAt;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public long getActiveEmployees() {
+        return activeEmployees;
+    }
+
+    public long getCurrentlyCheckedIn() {
+        return currentlyCheckedIn;
+    }
+
+    public long getCheckInsToday() {
+        return checkInsToday;
+    }
+
+    public long getCheckOutsToday() {
+        return checkOutsToday;
+    }
+
+    public double getHoursWorkedToday() {
+        return hoursWorkedToday;
+    }
+
+    public double getAttendanceRate() {
+        return activeEmployees == 0 ? 0.0 : (checkInsToday * 100.0) / activeEmployees;
+    }
+
+    public List<RecentActivity> getRecentActivity() {
+        return recentActivity;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public static class RecentActivity {
+        private final Long attendanceId;
+        private final Long employeeId;
+        private final String employeeName;
+        private final String action;
+        private final LocalDateTime time;
+
+        public RecentActivity(Long attendanceId, Long employeeId, String employeeName, String action,
+                              LocalDateTime time) {
+            this.attendanceId = attendanceId;
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.action = action;
+            this.time = time;
+        }
+
+        public Long getAttendanceId() {
+            return attendanceId;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public String getEmployeeName() {
+            return employeeName;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+    }
+}
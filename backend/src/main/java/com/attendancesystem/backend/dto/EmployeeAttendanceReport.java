@@ -0,0 +1,79 @@
+package com.attendancesystem.backend.dto;
+
+import com.attendancesystem.backend.model.Employee;
+
+/**
+ * One employee's attendance totals over a report period
+ */
+public class EmployeeAttendanceReport {
+
+    private final Long employeeId;
+    private final String employeeName;
+    private final String email;
+    private final Employee.Role role;
+    private final long sessions;
+    private final long completedSessions;
+    private final double totalHours;
+    private final long daysPresent;
+    private final long lateArrivals;
+    private final double overtimeHours;
+
+    public EmployeeAttendanceReport(Long employeeId, String employeeName, String email, Employee.Role role,
+                                    long sessions, long completedSessions, double totalHours, long daysPresent,
+                                    long lateArrivals, double overtimeHours) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.email = email;
+        this.role = role;
+        this.sessions = sessions;
+        this.completedSessions = completedSessions;
+        this.totalHours = totalHours;
+        this.daysPresent = daysPresent;
+        this.lateArrivals = lateArrivals;
+        this.overtimeHours = overtimeHours;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Employee.Role getRole() {
+        return role;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public long getCompletedSessions() {
+        return completedSessions;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public double getAverageHours() {
+        return completedSessions > 0 ? totalHours / completedSessions : 0.0;
+    }
+
+    public long getDaysPresent() {
+        return daysPresent;
+    }
+
+    public long getLateArrivals() {
+        return lateArrivals;
+    }
+
+    public double getOvertimeHours() {
+        return overtimeHours;
+    }
+}
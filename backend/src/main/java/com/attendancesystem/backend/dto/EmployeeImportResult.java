@@ -0,0 +1,87 @@
+package com.attendancesystem.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeImportResult {
+
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private long durationMillis;
+    private List<RowError> errors = new ArrayList<>();
+
+    public EmployeeImportResult() {}
+
+    public void addError(int lineNumber, String email, String message, int maxReportedErrors) {
+        failedRows++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(lineNumber, email, message));
+        }
+    }
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(int importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(int failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private final int lineNumber;
+        private final String email;
+        private final String message;
+
+        public RowError(int lineNumber, String email, String message) {
+            this.lineNumber = lineNumber;
+            this.email = email;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.attendancesystem.backend.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of employee summaries; pass {@code nextCursor} back to fetch the following page
+ */
+public class EmployeePage {
+
+    private List<EmployeeSummary> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public EmployeePage() {}
+
+    public EmployeePage(List<EmployeeSummary> items, int size, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<EmployeeSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EmployeeSummary> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
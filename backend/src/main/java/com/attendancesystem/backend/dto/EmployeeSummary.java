@@ -0,0 +1,115 @@
+package com.attendancesystem.backend.dto;
+
+import com.attendancesystem.backend.model.Employee;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight employee view without password hash or face template
+ */
+public class EmployeeSummary {
+
+    private Long id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Employee.Role role;
+    private boolean active;
+    private boolean faceRegistered;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public EmployeeSummary() {}
+
+    public EmployeeSummary(Long id, String email, String firstName, String lastName, Employee.Role role,
+                           boolean active, boolean faceRegistered, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.active = active;
+        this.faceRegistered = faceRegistered;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static EmployeeSummary from(Employee employee) {
+        return new EmployeeSummary(employee.getId(), employee.getEmail(), employee.getFirstName(),
+                employee.getLastName(), employee.getRole(), employee.isActive(),
+                employee.getFaceEncoding() != null, employee.getCreatedAt(), employee.getUpdatedAt());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Employee.Role getRole() {
+        return role;
+    }
+
+    public void setRole(Employee.Role role) {
+        this.role = role;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public boolean isFaceRegistered() {
+        return faceRegistered;
+    }
+
+    public void setFaceRegistered(boolean faceRegistered) {
+        this.faceRegistered = faceRegistered;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,109 @@
+package com.attendancesystem.backend.dto;
+
+import com.attendancesystem.backend.model.KioskPunchEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class KioskSyncRequest {
+
+    private String kioskId;
+    private List<PunchEvent> events = new ArrayList<>();
+
+    public KioskSyncRequest() {}
+
+    // Getters and Setters
+    public String getKioskId() {
+        return kioskId;
+    }
+
+    public void setKioskId(String kioskId) {
+        this.kioskId = kioskId;
+    }
+
+    public List<PunchEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<PunchEvent> events) {
+        this.events = events;
+    }
+
+    public static class PunchEvent {
+        private String clientEventId;
+        private Long employeeId;
+        private KioskPunchEvent.PunchType type;
+        private LocalDateTime occurredAt;
+        private Double latitude;
+        private Double longitude;
+        private String faceEncoding; // Template computed on the kiosk
+        private String faceImage;    // Raw capture, verified later on the server
+
+        public PunchEvent() {}
+
+        public String getClientEventId() {
+            return clientEventId;
+        }
+
+        public void setClientEventId(String clientEventId) {
+            this.clientEventId = clientEventId;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public void setEmployeeId(Long employeeId) {
+            this.employeeId = employeeId;
+        }
+
+        public KioskPunchEvent.PunchType getType() {
+            return type;
+        }
+
+        public void setType(KioskPunchEvent.PunchType type) {
+            this.type = type;
+        }
+
+        public LocalDateTime getOccurredAt() {
+            return occurredAt;
+        }
+
+        public void setOccurredAt(LocalDateTime occurredAt) {
+            this.occurredAt = occurredAt;
+        }
+
+        public Double getLatitude() {
+            return latitude;
+        }
+
+        public void setLatitude(Double latitude) {
+            this.latitude = latitude;
+        }
+
+        public Double getLongitude() {
+            return longitude;
+        }
+
+        public void setLongitude(Double longitude) {
+            this.longitude = longitude;
+        }
+
+        public String getFaceEncoding() {
+            return faceEncoding;
+        }
+
+        public void setFaceEncoding(String faceEncoding) {
+            this.faceEncoding = faceEncoding;
+        }
+
+        public String getFaceImage() {
+            return faceImage;
+        }
+
+        public void setFaceImage(String faceImage) {
+            this.faceImage = faceImage;
+        }
+    }
+}
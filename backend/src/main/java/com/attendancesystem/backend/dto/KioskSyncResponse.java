@@ -0,0 +1,114 @@
+package com.attendancesystem.backend.dto;
+
+import com.attendancesystem.backend.model.KioskPunchEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class KioskSyncResponse {
+
+    public enum Status {
+        APPLIED, DUPLICATE, REJECTED
+    }
+
+    private String kioskId;
+    private int received;
+    private int applied;
+    private int duplicates;
+    private int rejected;
+    private int pendingFaceVerification;
+    private List<EventResult> results = new ArrayList<>();
+
+    public KioskSyncResponse() {}
+
+    public KioskSyncResponse(String kioskId, int received) {
+        this.kioskId = kioskId;
+        this.received = received;
+    }
+
+    public void addResult(EventResult result) {
+        results.add(result);
+        switch (result.getStatus()) {
+            case APPLIED -> applied++;
+            case DUPLICATE -> duplicates++;
+            case REJECTED -> rejected++;
+        }
+        if (result.getStatus() == Status.APPLIED && result.getFaceVerification() == KioskPunchEvent.FaceVerification.PENDING) {
+            pendingFaceVerification++;
+        }
+    }
+
+    // Getters and Setters
+    public String getKioskId() {
+        return kioskId;
+    }
+
+    public void setKioskId(String kioskId) {
+        this.kioskId = kioskId;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getPendingFaceVerification() {
+        return pendingFaceVerification;
+    }
+
+    public List<EventResult> getResults() {
+        return results;
+    }
+
+    public static class EventResult {
+        private final String clientEventId;
+        private final Status status;
+        private final String message;
+        private final Long attendanceId;
+        private final KioskPunchEvent.FaceVerification faceVerification;
+
+        public EventResult(String clientEventId, Status status, String message, Long attendanceId,
+                           KioskPunchEvent.FaceVerification faceVerification) {
+            this.clientEventId = clientEventId;
+            this.status = status;
+            this.message = message;
+            this.attendanceId = attendanceId;
+            this.faceVerification = faceVerification;
+        }
+
+        public String getClientEventId() {
+            return clientEventId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public Long getAttendanceId() {
+            return attendanceId;
+        }
+
+        public KioskPunchEvent.FaceVerification getFaceVerification() {
+            return faceVerification;
+        }
+    }
+}
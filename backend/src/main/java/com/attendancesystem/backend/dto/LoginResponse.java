@@ -0,0 +1,67 @@
+package com.attendancesystem.backend.dto;
+
+import com.attendancesystem.backend.model.Employee;
+
+public class LoginResponse {
+
+    private final String token;
+    private final User user;
+    private final long expiresIn;
+
+    public LoginResponse(String token, Employee employee, long expiresIn) {
+        this.token = token;
+        this.user = new User(employee);
+        this.expiresIn = expiresIn;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Token lifetime in milliseconds
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public static class User {
+        private final Long id;
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+        private final Employee.Role role;
+
+        User(Employee employee) {
+            this.id = employee.getId();
+            this.email = employee.getEmail();
+            this.firstName = employee.getFirstName();
+            this.lastName = employee.getLastName();
+            this.role = employee.getRole();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public Employee.Role getRole() {
+            return role;
+        }
+    }
+}
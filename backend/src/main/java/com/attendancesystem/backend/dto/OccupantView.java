@@ -0,0 +1,61 @@
+package com.attendancesystem.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An employee who is currently checked in
+ */
+public class OccupantView {
+
+    private Long attendanceId;
+    private Long employeeId;
+    private String employeeName;
+    private LocalDateTime checkInTime;
+
+    public OccupantView() {}
+
+    public OccupantView(Long attendanceId, Long employeeId, String employeeName, LocalDateTime checkInTime) {
+        this.attendanceId = attendanceId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.checkInTime = checkInTime;
+    }
+
+    public OccupantView(Long attendanceId, Long employeeId, String firstName, String lastName,
+                        LocalDateTime checkInTime) {
+        this(attendanceId, employeeId, firstName + " " + lastName, checkInTime);
+    }
+
+    // Getters and Setters
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public void setAttendanceId(Long attendanceId) {
+        this.attendanceId = attendanceId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public LocalDateTime getCheckInTime() {
+        return checkInTime;
+    }
+
+    public void setCheckInTime(LocalDateTime checkInTime) {
+        this.checkInTime = checkInTime;
+    }
+}
@@ -1,5 +1,6 @@
 package com.attendancesystem.backend.model;
 
+import com.attendancesystem.backend.config.SequenceTableId;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -7,11 +8,16 @@ import java.time.LocalDateTime;
 import java.time.Duration;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", indexes = {
+        @Index(name = "idx_attendance_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_attendance_status", columnList = "status"),
+        @Index(name = "idx_attendance_check_in_time", columnList = "check_in_time"),
+        @Index(name = "idx_attendance_check_out_time", columnList = "check_out_time")
+})
 public class Attendance {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId(name = "attendance")
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,6 +49,10 @@ public class Attendance {
     @Column(name = "working_hours")
     private Double workingHours;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "checkout_reason")
+    private CheckoutReason checkoutReason;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -81,10 +91,15 @@ public class Attendance {
     
     // Check out method
     public void checkOut(LocalDateTime checkOutTime, Double lat, Double lng) {
+        checkOut(checkOutTime, lat, lng, CheckoutReason.EMPLOYEE);
+    }
+    
+    public void checkOut(LocalDateTime checkOutTime, Double lat, Double lng, CheckoutReason reason) {
         this.checkOutTime = checkOutTime;
         this.checkOutLocationLat = lat;
         this.checkOutLocationLng = lng;
         this.status = AttendanceStatus.CHECKED_OUT;
+        this.checkoutReason = reason;
         calculateWorkingHours();
     }
     
@@ -182,6 +197,14 @@ public class Attendance {
         this.workingHours = workingHours;
     }
     
+    public CheckoutReason getCheckoutReason() {
+        return checkoutReason;
+    }
+    
+    public void setCheckoutReason(CheckoutReason checkoutReason) {
+        this.checkoutReason = checkoutReason;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -201,4 +224,8 @@ public class Attendance {
     public enum AttendanceStatus {
         CHECKED_IN, CHECKED_OUT
     }
+    
+    public enum CheckoutReason {
+        EMPLOYEE, ADMIN_FORCED, AUTO_MAX_DURATION, AUTO_SHIFT_END
+    }
 }
\ No newline at end of file
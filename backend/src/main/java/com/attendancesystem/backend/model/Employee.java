@@ -1,5 +1,6 @@
 package com.attendancesystem.backend.model;
 
+import com.attendancesystem.backend.config.SequenceTableId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,11 +11,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        // Keyset pagination orders by (sort column, id)
+        @Index(name = "idx_employees_first_name_id", columnList = "first_name, id"),
+        @Index(name = "idx_employees_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_employees_active_role", columnList = "is_active, role")
+})
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceTableId(name = "employees")
     private Long id;
     
     @NotBlank(message = "Email is required")
@@ -49,7 +55,8 @@ public class Employee {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // No cascade: attendance is persisted through its own repository and removed with set-based deletes
+    @OneToMany(mappedBy = "employee", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Attendance> attendanceRecords = new ArrayList<>();
     
@@ -0,0 +1,197 @@
+package com.attendancesystem.backend.model;
+
+import com.attendancesystem.backend.config.SequenceTableId;
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * A check-in or check-out punch uploaded by a kiosk, kept so re-uploads are recognised as duplicates
+ */
+@Entity
+@Table(name = "kiosk_punch_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_kiosk_punch_event", columnNames = {"kiosk_id", "client_event_id"}),
+       indexes = {
+           @Index(name = "idx_kiosk_punch_face_verification", columnList = "face_verification"),
+           @Index(name = "idx_kiosk_punch_employee", columnList = "employee_id")
+       })
+public class KioskPunchEvent {
+
+    @Id
+    @SequenceTableId(name = "kiosk_punch_events")
+    private Long id;
+
+    @Column(name = "kiosk_id", nullable = false)
+    private String kioskId;
+
+    @Column(name = "client_event_id", nullable = false)
+    private String clientEventId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "punch_type")
+    private PunchType punchType;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false)
+    private Outcome outcome;
+
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "attendance_id")
+    private Long attendanceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "face_verification")
+    private FaceVerification faceVerification;
+
+    // Raw image kept only until the deferred face verification has run
+    @Column(name = "pending_face_image", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String pendingFaceImage;
+
+    @Column(name = "received_at")
+    private LocalDateTime receivedAt;
+
+    public KioskPunchEvent() {
+        this.receivedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getKioskId() {
+        return kioskId;
+    }
+
+    public void setKioskId(String kioskId) {
+        this.kioskId = kioskId;
+    }
+
+    public String getClientEventId() {
+        return clientEventId;
+    }
+
+    public void setClientEventId(String clientEventId) {
+        this.clientEventId = clientEventId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public PunchType getPunchType() {
+        return punchType;
+    }
+
+    public void setPunchType(PunchType punchType) {
+        this.punchType = punchType;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public void setAttendanceId(Long attendanceId) {
+        this.attendanceId = attendanceId;
+    }
+
+    public FaceVerification getFaceVerification() {
+        return faceVerification;
+    }
+
+    public void setFaceVerification(FaceVerification faceVerification) {
+        this.faceVerification = faceVerification;
+    }
+
+    public String getPendingFaceImage() {
+        return pendingFaceImage;
+    }
+
+    public void setPendingFaceImage(String pendingFaceImage) {
+        this.pendingFaceImage = pendingFaceImage;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public enum PunchType {
+        CHECK_IN, CHECK_OUT
+    }
+
+    public enum Outcome {
+        APPLIED, REJECTED
+    }
+
+    public enum FaceVerification {
+        NOT_REQUIRED, VERIFIED_ON_DEVICE, PENDING, VERIFIED, FAILED
+    }
+}
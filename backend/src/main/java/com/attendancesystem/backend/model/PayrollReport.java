@@ -0,0 +1,164 @@
+package com.attendancesystem.backend.model;
+
+import com.attendancesystem.backend.config.SequenceTableId;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A monthly payroll report run; the generated file is stored separately in {@link PayrollReportContent}
+ */
+@Entity
+@Table(name = "payroll_reports", indexes = @Index(name = "idx_payroll_reports_period_status", columnList = "period, status"))
+public class PayrollReport {
+
+    @Id
+    @SequenceTableId(name = "payroll_reports")
+    private Long id;
+
+    // Year and month, e.g. 2024-05
+    @Column(name = "period", nullable = false)
+    private String period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "employee_count")
+    private int employeeCount;
+
+    @Column(name = "total_hours")
+    private double totalHours;
+
+    @Column(name = "overtime_hours")
+    private double overtimeHours;
+
+    @Column(name = "content_size")
+    private long contentSize;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Live progress of a running report; not stored
+    @Transient
+    private int processedEmployees;
+
+    public PayrollReport() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public PayrollReport(String period) {
+        this();
+        this.period = period;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(double totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public double getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    public void setOvertimeHours(double overtimeHours) {
+        this.overtimeHours = overtimeHours;
+    }
+
+    public long getContentSize() {
+        return contentSize;
+    }
+
+    public void setContentSize(long contentSize) {
+        this.contentSize = contentSize;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public int getProcessedEmployees() {
+        return status == Status.COMPLETED ? employeeCount : processedEmployees;
+    }
+
+    public void setProcessedEmployees(int processedEmployees) {
+        this.processedEmployees = processedEmployees;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
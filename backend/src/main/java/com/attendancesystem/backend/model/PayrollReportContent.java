@@ -0,0 +1,43 @@
+package com.attendancesystem.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Gzip-compressed CSV of a finished payroll report, kept apart so listing reports never loads it
+ */
+@Entity
+@Table(name = "payroll_report_contents")
+public class PayrollReportContent {
+
+    @Id
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Lob
+    @Column(name = "csv_gzip", nullable = false)
+    private byte[] csvGzip;
+
+    public PayrollReportContent() {
+    }
+
+    public PayrollReportContent(Long reportId, byte[] csvGzip) {
+        this.reportId = reportId;
+        this.csvGzip = csvGzip;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public void setReportId(Long reportId) {
+        this.reportId = reportId;
+    }
+
+    public byte[] getCsvGzip() {
+        return csvGzip;
+    }
+
+    public void setCsvGzip(byte[] csvGzip) {
+        this.csvGzip = csvGzip;
+    }
+}
@@ -1,15 +1,23 @@
 package com.attendancesystem.backend.repository;
 
+import com.attendancesystem.backend.dto.OccupantView;
 import com.attendancesystem.backend.model.Attendance;
 import com.attendancesystem.backend.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
@@ -62,9 +70,126 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                                              @Param("startDate") LocalDateTime startDate,
                                              @Param("endDate") LocalDateTime endDate);
     
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND " +
+           "a.checkInTime BETWEEN :startDate AND :endDate AND a.workingHours IS NOT NULL")
+    long countWithWorkingHoursByEmployeeAndDateRange(@Param("employeeId") Long employeeId,
+                                                   @Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT a.id FROM Attendance a WHERE a.employee.id = :employeeId AND " +
+           "a.checkInTime BETWEEN :startDate AND :endDate")
+    List<Long> findIdsByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT a FROM Attendance a ORDER BY a.checkInTime DESC")
     List<Attendance> findAllOrderByCheckInTimeDesc();
     
     @Query("SELECT a FROM Attendance a WHERE a.status = 'CHECKED_IN' ORDER BY a.checkInTime DESC")
     List<Attendance> findCurrentlyCheckedInEmployees();
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.attendancesystem.backend.dto.OccupantView(a.id, e.id, e.firstName, e.lastName, a.checkInTime) " +
+           "FROM Attendance a JOIN a.employee e WHERE a.status = 'CHECKED_IN' ORDER BY a.checkInTime DESC")
+    List<OccupantView> findCurrentOccupants();
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.status = 'CHECKED_IN'")
+    long countCurrentlyCheckedIn();
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.checkInTime >= :since")
+    long countCheckInsSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.checkOutTime >= :since")
+    long countCheckOutsSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT SUM(a.workingHours) FROM Attendance a WHERE a.checkOutTime >= :since AND a.workingHours IS NOT NULL")
+    Double sumWorkingHoursCheckedOutSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee ORDER BY a.updatedAt DESC")
+    List<Attendance> findRecentlyUpdated(Pageable pageable);
+    
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.status = 'CHECKED_IN' " +
+           "AND a.checkInTime < :threshold AND a.id > :afterId ORDER BY a.id")
+    List<Attendance> findOpenSessionsStartedBefore(@Param("threshold") LocalDateTime threshold,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+    
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.status = 'CHECKED_IN' " +
+           "AND a.employee.id IN :employeeIds AND a.id > :afterId ORDER BY a.id")
+    List<Attendance> findOpenSessionsForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+    
+    @Query("SELECT a FROM Attendance a WHERE a.status = 'CHECKED_IN' AND a.employee.id IN :employeeIds")
+    List<Attendance> findOpenSessionsByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    @Query("SELECT a.employee.id, MAX(CASE WHEN a.checkOutTime IS NOT NULL THEN a.checkOutTime ELSE a.checkInTime END) " +
+           "FROM Attendance a WHERE a.employee.id IN :employeeIds GROUP BY a.employee.id")
+    List<Object[]> findLatestPunchTimes(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id IN :employeeIds")
+    long countByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    @Modifying
+    @Query(value = "DELETE FROM attendance WHERE id IN " +
+                   "(SELECT id FROM attendance WHERE employee_id IN (:employeeIds) LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds,
+                                 @Param("limit") int limit);
+    
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.employee.id IN :employeeIds")
+    int deleteByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    @Query("SELECT MIN(a.checkInTime) FROM Attendance a")
+    LocalDateTime findEarliestCheckInTime();
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.status = 'CHECKED_IN' " +
+           "AND a.checkInTime >= :start AND a.checkInTime < :end")
+    long countOpenSessionsCheckedInBetween(@Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end);
+    
+    @Query("SELECT a FROM Attendance a WHERE a.checkInTime >= :start AND a.checkInTime < :end " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<Attendance> findCheckedInBetween(@Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT a.id, a.checkOutTime, a.updatedAt FROM Attendance a WHERE a.id IN :ids")
+    List<Object[]> findCheckOutAndUpdateTimesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT a.id, a.employee.id, a.checkInTime, a.checkOutTime, a.workingHours " +
+           "FROM Attendance a WHERE a.checkInTime >= :since AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findAnalyticsRowsSince(@Param("since") LocalDateTime since,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+    
+    @Query("SELECT a.id, a.employee.id, a.checkInTime, a.workingHours FROM Attendance a " +
+           "WHERE a.checkInTime >= :startDate AND a.checkInTime <= :endDate ORDER BY a.checkInTime, a.id")
+    List<Object[]> findReportRowsBetween(@Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id, e.firstName, e.lastName, e.email, e.role, a.checkInTime, a.workingHours " +
+           "FROM Employee e LEFT JOIN e.attendanceRecords a " +
+           "ON a.checkInTime >= :startDate AND a.checkInTime <= :endDate " +
+           "WHERE (:active IS NULL OR e.isActive = :active) AND (:role IS NULL OR e.role = :role) " +
+           "ORDER BY e.id, a.checkInTime")
+    Stream<Object[]> streamReportRows(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      @Param("active") Boolean active,
+                                      @Param("role") Employee.Role role);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id, e.firstName, e.lastName, e.email, e.role, a.checkInTime, a.workingHours " +
+           "FROM Employee e LEFT JOIN e.attendanceRecords a " +
+           "ON a.checkInTime >= :startDate AND a.checkInTime <= :endDate " +
+           "WHERE e.id IN :employeeIds ORDER BY e.id, a.checkInTime")
+    Stream<Object[]> streamReportRowsForEmployees(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate,
+                                                  @Param("employeeIds") Collection<Long> employeeIds);
+}
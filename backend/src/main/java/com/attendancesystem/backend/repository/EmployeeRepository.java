@@ -1,11 +1,14 @@
 package com.attendancesystem.backend.repository;
 
+import com.attendancesystem.backend.dto.EmployeeSummary;
 import com.attendancesystem.backend.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,9 +25,15 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     boolean existsByEmail(String email);
     
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
     @Query("SELECT e FROM Employee e WHERE e.isActive = true AND e.role = 'EMPLOYEE'")
     List<Employee> findActiveEmployees();
     
+    @Query("SELECT e.id FROM Employee e WHERE e.isActive = true AND e.role = 'EMPLOYEE' ORDER BY e.id")
+    List<Long> findActiveEmployeeIds();
+    
     @Query("SELECT e FROM Employee e WHERE e.isActive = true AND e.role = 'ADMIN'")
     List<Employee> findActiveAdmins();
     
@@ -37,4 +46,13 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
            "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Employee> findByNameContainingIgnoreCase(@Param("name") String name);
+    
+    @Query("SELECT new com.attendancesystem.backend.dto.EmployeeSummary(e.id, e.email, e.firstName, e.lastName, " +
+           "e.role, e.isActive, CASE WHEN e.faceEncoding IS NOT NULL THEN true ELSE false END, e.createdAt, e.updatedAt) " +
+           "FROM Employee e")
+    List<EmployeeSummary> findAllSummaries();
+    
+    @Modifying
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
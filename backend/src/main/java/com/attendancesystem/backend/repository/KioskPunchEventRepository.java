@@ -0,0 +1,35 @@
+package com.attendancesystem.backend.repository;
+
+import com.attendancesystem.backend.model.KioskPunchEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KioskPunchEventRepository extends JpaRepository<KioskPunchEvent, Long> {
+    
+    List<KioskPunchEvent> findByKioskIdAndClientEventIdIn(String kioskId, Collection<String> clientEventIds);
+    
+    @Query("SELECT p FROM KioskPunchEvent p WHERE p.faceVerification = 'PENDING' AND p.id > :afterId ORDER BY p.id")
+    List<KioskPunchEvent> findPendingFaceVerification(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT p FROM KioskPunchEvent p WHERE p.faceVerification = 'FAILED' ORDER BY p.occurredAt DESC")
+    List<KioskPunchEvent> findFailedFaceVerification(Pageable pageable);
+    
+    @Modifying
+    @Query(value = "DELETE FROM kiosk_punch_events WHERE id IN " +
+                   "(SELECT id FROM kiosk_punch_events WHERE employee_id IN (:employeeIds) LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds,
+                                 @Param("limit") int limit);
+    
+    @Modifying
+    @Query("DELETE FROM KioskPunchEvent p WHERE p.employeeId IN :employeeIds")
+    int deleteByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+}
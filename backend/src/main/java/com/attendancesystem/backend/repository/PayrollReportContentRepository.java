@@ -0,0 +1,9 @@
+package com.attendancesystem.backend.repository;
+
+import com.attendancesystem.backend.model.PayrollReportContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayrollReportContentRepository extends JpaRepository<PayrollReportContent, Long> {
+}
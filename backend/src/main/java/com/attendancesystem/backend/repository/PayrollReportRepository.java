@@ -0,0 +1,26 @@
+package com.attendancesystem.backend.repository;
+
+import com.attendancesystem.backend.model.PayrollReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollReportRepository extends JpaRepository<PayrollReport, Long> {
+
+    Optional<PayrollReport> findFirstByPeriodAndStatusOrderByCompletedAtDesc(String period, PayrollReport.Status status);
+
+    @Query("SELECT r FROM PayrollReport r ORDER BY r.createdAt DESC")
+    List<PayrollReport> findRecent(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PayrollReport r SET r.status = 'FAILED', r.error = :error " +
+           "WHERE r.status = 'QUEUED' OR r.status = 'RUNNING'")
+    int failUnfinished(@Param("error") String error);
+}
@@ -0,0 +1,18 @@
+package com.attendancesystem.backend.repository;
+
+import com.attendancesystem.backend.model.Site;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SiteRepository extends JpaRepository<Site, Long> {
+
+    List<Site> findByIsActive(boolean isActive);
+
+    @Query("SELECT MAX(s.updatedAt) FROM Site s")
+    LocalDateTime findLatestUpdate();
+}
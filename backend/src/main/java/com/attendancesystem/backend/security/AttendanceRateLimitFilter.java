@@ -0,0 +1,192 @@
+package com.attendancesystem.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket rate limiting for attendance endpoints, keyed by employee and by kiosk/client.
+ * Runs right after JWT authentication and before the request body is read, so throttled
+ * requests never reach the face recognition pipeline.
+ * <p>
+ * Unauthenticated requests are keyed by remote address only; the kiosk header is trusted once the
+ * request is authenticated. Client buckets are capped, and clients first seen while the map is
+ * full share one overflow bucket. Offline kiosk sync uploads carry many employees' punches under
+ * the admin's token, so they use a per-kiosk sync bucket instead of the employee bucket.
+ */
+@Component
+public class AttendanceRateLimitFilter extends OncePerRequestFilter {
+
+    public static final String KIOSK_ID_HEADER = "X-Kiosk-Id";
+
+    private static final String SYNC_PATH = "/attendance/sync";
+    private static final String OVERFLOW_KEY = "overflow";
+
+    @Value("${app.rate-limit.enabled}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.path-prefix}")
+    private String pathPrefix;
+
+    @Value("${app.rate-limit.employee.capacity}")
+    private int employeeCapacity;
+
+    @Value("${app.rate-limit.employee.refill-per-minute}")
+    private double employeeRefillPerMinute;
+
+    @Value("${app.rate-limit.kiosk.capacity}")
+    private int kioskCapacity;
+
+    @Value("${app.rate-limit.kiosk.refill-per-minute}")
+    private double kioskRefillPerMinute;
+
+    @Value("${app.rate-limit.kiosk.max-buckets}")
+    private int maxKioskBuckets;
+
+    @Value("${app.rate-limit.sync.capacity}")
+    private int syncCapacity;
+
+    @Value("${app.rate-limit.sync.refill-per-minute}")
+    private double syncRefillPerMinute;
+
+    @Value("${app.rate-limit.idle-eviction-ms}")
+    private long idleEvictionMs;
+
+    private final ConcurrentMap<Long, TokenBucket> employeeBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> kioskBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> syncBuckets = new ConcurrentHashMap<>();
+
+    private final LongAdder employeeRejections = new LongAdder();
+    private final LongAdder kioskRejections = new LongAdder();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+
+        long now = System.nanoTime();
+
+        // Kiosk/client limit first - it also covers unauthenticated floods
+        Long employeeId = resolveEmployeeId();
+        String clientKey = resolveClientKey(request, employeeId != null);
+        long kioskWait = bucket(kioskBuckets, clientKey, kioskCapacity, kioskRefillPerMinute, now).tryAcquire(now);
+        if (kioskWait > 0) {
+            kioskRejections.increment();
+            reject(response, kioskWait);
+            return;
+        }
+
+        if (employeeId != null && isSync(request)) {
+            long syncWait = bucket(syncBuckets, clientKey, syncCapacity, syncRefillPerMinute, now).tryAcquire(now);
+            if (syncWait > 0) {
+                kioskRejections.increment();
+                reject(response, syncWait);
+                return;
+            }
+        } else if (employeeId != null) {
+            TokenBucket employeeBucket = employeeBuckets.computeIfAbsent(employeeId,
+                    key -> new TokenBucket(employeeCapacity, employeeRefillPerMinute, now));
+            long employeeWait = employeeBucket.tryAcquire(now);
+            if (employeeWait > 0) {
+                employeeRejections.increment();
+                reject(response, employeeWait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        return !enabled ||
+               !"POST".equals(request.getMethod()) ||
+               !request.getRequestURI().startsWith(pathPrefix);
+    }
+
+    /**
+     * Drop buckets that have been fully refilled for longer than the idle timeout
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-eviction-ms}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        employeeBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        kioskBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        syncBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    /**
+     * The client's bucket, or the shared overflow bucket for a new client once the map is full
+     */
+    private TokenBucket bucket(ConcurrentMap<String, TokenBucket> buckets, String key,
+                               int capacity, double refillPerMinute, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKioskBuckets) {
+            key = OVERFLOW_KEY;
+        }
+        return buckets.computeIfAbsent(key, ignored -> new TokenBucket(capacity, refillPerMinute, now));
+    }
+
+    /**
+     * Kiosk id from the header once authenticated, otherwise the remote address
+     */
+    private String resolveClientKey(HttpServletRequest request, boolean authenticated) {
+        String kioskId = request.getHeader(KIOSK_ID_HEADER);
+        if (authenticated && kioskId != null && !kioskId.isBlank()) {
+            return "kiosk:" + kioskId;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private boolean isSync(HttpServletRequest request) {
+        return request.getRequestURI().equals(request.getContextPath() + SYNC_PATH);
+    }
+
+    private Long resolveEmployeeId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof EmployeeUserDetails userDetails) {
+            return userDetails.getEmployeeId();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many attendance requests. Please retry in "
+                + retryAfterSeconds + " seconds.\"}");
+    }
+
+    public long getEmployeeRejections() {
+        return employeeRejections.sum();
+    }
+
+    public long getKioskRejections() {
+        return kioskRejections.sum();
+    }
+
+    public int getTrackedBucketCount() {
+        return employeeBuckets.size() + kioskBuckets.size() + syncBuckets.size();
+    }
+}
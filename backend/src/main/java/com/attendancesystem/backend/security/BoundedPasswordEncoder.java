@@ -0,0 +1,186 @@
+package com.attendancesystem.backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Password encoder that runs the (deliberately slow) delegate on a dedicated, bounded executor.
+ * Request threads only wait for the result, so a burst of logins cannot occupy every servlet
+ * worker with hashing; once the queue is full further requests are rejected with 429.
+ * <p>
+ * Callers also give up after a timeout, again with 429. A timed-out task that has not started is
+ * removed from the queue and never runs; one already hashing runs to completion, since BCrypt does not respond
+ * to interruption, but its result is discarded.
+ * <p>
+ * Bulk callers such as the employee import share the same executor through {@link #encodeAll},
+ * which holds at most the configured bulk share of its slots so logins keep the rest, and waits
+ * instead of rejecting. Hashing is the bottleneck of any bulk load: at strength 10 one thread
+ * hashes roughly 10-20 passwords per second, so 20,000 new accounts take tens of minutes.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final long BULK_RETRY_MILLIS = 20;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Semaphore bulkPermits;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                  int bulkThreads) {
+        if (bulkThreads < 1 || bulkThreads > threads) {
+            throw new IllegalArgumentException("Bulk hashing threads must be between 1 and " + threads);
+        }
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.bulkPermits = new Semaphore(bulkThreads);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Password hashing executor started with {} threads ({} for bulk work) and queue capacity {}",
+                threads, bulkThreads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encode many passwords on the shared executor, in order, without ever holding more than the
+     * bulk share of its slots; blocks while logins keep the queue full
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<FutureTask<String>> tasks = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                bulkPermits.acquire();
+                FutureTask<String> task = new FutureTask<>(() -> {
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        bulkPermits.release();
+                    }
+                });
+                tasks.add(task);
+                submitBulk(task);
+            }
+
+            List<String> hashes = new ArrayList<>(tasks.size());
+            for (FutureTask<String> task : tasks) {
+                hashes.add(task.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            for (FutureTask<String> task : tasks) {
+                // Tasks that never ran cannot release their permit themselves
+                if (task.cancel(false) && executor.remove(task)) {
+                    bulkPermits.release();
+                }
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void submitBulk(FutureTask<String> task) throws InterruptedException {
+        while (true) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                // Logins filled the queue; let them drain rather than fail the import
+                Thread.sleep(BULK_RETRY_MILLIS);
+            }
+        }
+    }
+
+    private <T> T execute(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            logger.warn("Password hashing queue full ({} waiting), rejecting request", executor.getQueue().size());
+            throw new PasswordHashingRejectedException("Too many concurrent password operations. Please retry shortly.");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Not interrupting: a queued task is dropped from the queue, a running one cannot be stopped
+            future.cancel(false);
+            executor.remove(future);
+            rejectedCount.incrementAndGet();
+            throw new PasswordHashingRejectedException("Password hashing timed out. Please retry shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
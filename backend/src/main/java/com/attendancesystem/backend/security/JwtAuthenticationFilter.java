@@ -1,5 +1,6 @@
 package com.attendancesystem.backend.security;
 
+import com.attendancesystem.backend.service.AttendanceMetrics;
 import com.attendancesystem.backend.service.EmployeeDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private EmployeeDetailsService employeeDetailsService;
 
+    @Autowired
+    private AttendanceMetrics metrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
@@ -33,13 +37,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        long stageStart = System.nanoTime();
 
         // Extract JWT from Authorization header
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
                 username = jwtUtil.extractUsername(jwt);
+                stageStart = metrics.stage(AttendanceMetrics.AUTH, "jwt_parse", stageStart);
             } catch (Exception e) {
+                metrics.failure(AttendanceMetrics.AUTH, "invalid_token");
                 logger.error("Error extracting username from JWT: " + e.getMessage());
             }
         }
@@ -48,16 +55,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 UserDetails userDetails = this.employeeDetailsService.loadUserByUsername(username);
+                stageStart = metrics.stage(AttendanceMetrics.AUTH, "user_lookup", stageStart);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                boolean valid = jwtUtil.validateToken(jwt, userDetails);
+                metrics.stage(AttendanceMetrics.AUTH, "jwt_validate", stageStart);
+                if (valid) {
                     UsernamePasswordAuthenticationToken authenticationToken = 
                         new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                } else {
+                    metrics.failure(AttendanceMetrics.AUTH, "invalid_token");
                 }
             } catch (Exception e) {
+                metrics.failure(AttendanceMetrics.AUTH, "user_lookup_failed");
                 logger.error("Error setting user authentication: " + e.getMessage());
             }
         }
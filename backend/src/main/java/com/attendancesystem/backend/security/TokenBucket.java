@@ -0,0 +1,46 @@
+package com.attendancesystem.backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The whole bucket state is a single "theoretical arrival time" (the GCRA form of a token bucket),
+ * so acquiring a token is one compare-and-set without any allocation.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int capacity, double refillPerMinute, long nowNanos) {
+        this.emissionIntervalNanos = (long) (60_000_000_000L / refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     * Returns 0 when the token was granted, otherwise the nanoseconds until the next token is available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long tat = Math.max(current, nowNanos);
+            long waitNanos = tat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, tat + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle when it has been completely refilled for at least the given time
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrivalTime.get() > idleNanos;
+    }
+}
@@ -0,0 +1,500 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.AttendanceBreakdown;
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory columnar snapshot of attendance for report breakdowns.
+ * Each session is one row across primitive arrays (employee, check-in, check-out, hours), so a
+ * company-wide group-by over months of data is a tight scan split across a fork-join pool instead
+ * of one aggregate query per employee.
+ * <p>
+ * The snapshot covers the configured history window, archived months included. It follows committed
+ * attendance events between periodic rebuilds; changes that arrive while a rebuild is loading are
+ * replayed onto the new snapshot before it is swapped in. Rows are keyed by attendance id and
+ * changes upsert, so replaying a change the load already saw leaves the row as it was.
+ */
+@Service
+public class AttendanceAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceAnalyticsService.class);
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.history-months}")
+    private int historyMonths;
+
+    @Value("${app.analytics.load-chunk-size}")
+    private int loadChunkSize;
+
+    @Value("${app.analytics.parallelism}")
+    private int parallelism;
+
+    @Value("${app.analytics.scan-split-rows}")
+    private int scanSplitRows;
+
+    @Value("${app.analytics.max-day-range}")
+    private int maxDayRange;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    // Changes applied while a rebuild is loading, replayed onto the new snapshot before it is swapped in
+    private List<Consumer<Columns>> pendingChanges;
+
+    private ForkJoinPool scanPool;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        scanPool = new ForkJoinPool(parallelism);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.rebuild-interval-ms}",
+               initialDelayString = "${app.analytics.rebuild-interval-ms}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to rebuild attendance analytics snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the snapshot from the database and the archive without blocking reports while rows are loaded
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns rebuilt = new Columns();
+        boolean loaded = false;
+        try {
+            LocalDateTime since = YearMonth.now().minusMonths(historyMonths).atDay(1).atStartOfDay();
+            List<EmployeeSummary> employees = readTransaction.execute(status -> employeeRepository.findAllSummaries());
+            if (employees != null) {
+                employees.forEach(employee -> rebuilt.putEmployee(employee.getId(), employee.getRole(),
+                        employee.getFirstName() + " " + employee.getLastName()));
+            }
+
+            // Rows still in the database win over the archived copy of the same id
+            Set<Long> hotIdsInArchivedMonths = new HashSet<>();
+            List<AttendanceArchiveService.SegmentInfo> segments = archiveService.segmentsOverlapping(since, null);
+            Set<YearMonth> archivedMonths = new HashSet<>();
+            segments.forEach(info -> archivedMonths.add(YearMonth.parse(info.getMonth())));
+
+            long afterId = 0;
+            List<Object[]> chunk;
+            do {
+                long chunkStart = afterId;
+                chunk = readTransaction.execute(status ->
+                        attendanceRepository.findAnalyticsRowsSince(since, chunkStart, PageRequest.of(0, loadChunkSize)));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : chunk) {
+                    Long id = (Long) row[0];
+                    LocalDateTime checkIn = (LocalDateTime) row[2];
+                    if (!archivedMonths.isEmpty() && archivedMonths.contains(YearMonth.from(checkIn))) {
+                        hotIdsInArchivedMonths.add(id);
+                    }
+                    rebuilt.upsert(id, (Long) row[1], toSeconds(checkIn),
+                            toSeconds((LocalDateTime) row[3]), row[4] != null ? (Double) row[4] : Double.NaN);
+                }
+                afterId = (Long) chunk.get(chunk.size() - 1)[0];
+            } while (chunk.size() == loadChunkSize);
+
+            long sinceSeconds = toSeconds(since);
+            for (AttendanceArchiveService.SegmentInfo info : segments) {
+                AttendanceSegment segment = archiveService.loadSegment(info);
+                for (int row = segment.lowerBound(sinceSeconds * 1000); row < segment.size(); row++) {
+                    long id = segment.getId(row);
+                    if (hotIdsInArchivedMonths.contains(id)) {
+                        continue;
+                    }
+                    long checkOutMillis = segment.getCheckOutMillis(row);
+                    rebuilt.upsert(id, segment.getEmployeeId(row), Math.floorDiv(segment.getCheckInMillis(row), 1000),
+                            checkOutMillis != Long.MIN_VALUE ? Math.floorDiv(checkOutMillis, 1000) : NO_TIME,
+                            segment.getWorkingHours(row));
+                }
+            }
+            // Sessions of employees deleted since they were archived
+            for (int index = 0; index < rebuilt.employeeCount; index++) {
+                if (rebuilt.employeeNames[index] == null) {
+                    rebuilt.removedEmployees[index] = true;
+                }
+            }
+            rebuilt.builtAt = LocalDateTime.now();
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pendingChanges.forEach(change -> change.accept(rebuilt));
+                    columns = rebuilt;
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("Attendance analytics snapshot built with {} session(s) for {} employee(s) in {} ms",
+                rebuilt.size, rebuilt.employeeCount, System.currentTimeMillis() - startTime);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        long checkIn = toSeconds(event.getCheckInTime());
+        long checkOut = toSeconds(event.getCheckOutTime());
+        double hours = event.getWorkingHours() != null ? event.getWorkingHours() : Double.NaN;
+        if (event.getChange() == AttendanceChangedEvent.Change.CHECKED_IN) {
+            apply(snapshot -> snapshot.checkIn(event.getAttendanceId(), event.getEmployeeId(), checkIn));
+        } else {
+            apply(snapshot -> snapshot.upsert(event.getAttendanceId(), event.getEmployeeId(), checkIn, checkOut, hours));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getChange() == EmployeeChangedEvent.Change.CREATED) {
+            List<Employee> created = readTransaction.execute(status -> employeeRepository.findAllById(event.getEmployeeIds()));
+            if (created != null) {
+                apply(snapshot -> created.forEach(employee -> snapshot.putEmployee(employee.getId(), employee.getRole(),
+                        employee.getFullName())));
+            }
+        } else if (event.getChange() == EmployeeChangedEvent.Change.DELETED) {
+            // Their sessions are gone from the database; drop them from reports now rather than at the next rebuild
+            apply(snapshot -> event.getEmployeeIds().forEach(snapshot::removeEmployee));
+        }
+    }
+
+    /**
+     * Sessions checked in between the two days (inclusive), grouped per employee, role or day
+     */
+    public AttendanceBreakdown breakdown(LocalDate from, LocalDate to, AttendanceBreakdown.GroupBy groupBy) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A valid date range is required");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (groupBy == AttendanceBreakdown.GroupBy.DAY && days > maxDayRange) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Per-day breakdowns are limited to " + maxDayRange + " days");
+        }
+
+        long startNanos = System.nanoTime();
+        long fromSeconds = toSeconds(from.atStartOfDay());
+        long toSeconds = toSeconds(to.plusDays(1).atStartOfDay());
+
+        lock.readLock().lock();
+        try {
+            Columns snapshot = columns;
+            int groups = switch (groupBy) {
+                case EMPLOYEE -> snapshot.employeeCount;
+                case ROLE -> Employee.Role.values().length;
+                case DAY -> (int) days;
+            };
+            GroupKey key = switch (groupBy) {
+                case EMPLOYEE -> (row) -> snapshot.employee[row];
+                case ROLE -> (row) -> snapshot.roles[snapshot.employee[row]];
+                case DAY -> (row) -> (int) ((snapshot.checkIn[row] - fromSeconds) / SECONDS_PER_DAY);
+            };
+
+            Partial totals = scanPool.invoke(new ScanTask(snapshot, key, groups, fromSeconds, toSeconds,
+                    0, snapshot.size));
+
+            List<AttendanceBreakdown.Bucket> buckets = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                if (totals.sessions[group] == 0) {
+                    continue;
+                }
+                String bucketKey;
+                String label;
+                switch (groupBy) {
+                    case EMPLOYEE -> {
+                        bucketKey = String.valueOf(snapshot.employeeIds[group]);
+                        label = snapshot.employeeNames[group];
+                    }
+                    case ROLE -> {
+                        bucketKey = Employee.Role.values()[group].name();
+                        label = bucketKey;
+                    }
+                    default -> {
+                        bucketKey = from.plusDays(group).toString();
+                        label = bucketKey;
+                    }
+                }
+                buckets.add(new AttendanceBreakdown.Bucket(bucketKey, label, totals.sessions[group],
+                        totals.completed[group], totals.hours[group]));
+            }
+            return new AttendanceBreakdown(groupBy, from, to, buckets, snapshot.builtAt,
+                    (System.nanoTime() - startNanos) / 1000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSessionCount() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    @FunctionalInterface
+    private interface GroupKey {
+        int of(int row);
+    }
+
+    /**
+     * Aggregates one slice of rows; slices above the split size are halved and summed
+     */
+    private class ScanTask extends RecursiveTask<Partial> {
+        private final Columns snapshot;
+        private final GroupKey key;
+        private final int groups;
+        private final long fromSeconds;
+        private final long toSeconds;
+        private final int start;
+        private final int end;
+
+        ScanTask(Columns snapshot, GroupKey key, int groups, long fromSeconds, long toSeconds, int start, int end) {
+            this.snapshot = snapshot;
+            this.key = key;
+            this.groups = groups;
+            this.fromSeconds = fromSeconds;
+            this.toSeconds = toSeconds;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start > scanSplitRows) {
+                int mid = (start + end) >>> 1;
+                ScanTask left = new ScanTask(snapshot, key, groups, fromSeconds, toSeconds, start, mid);
+                left.fork();
+                Partial right = new ScanTask(snapshot, key, groups, fromSeconds, toSeconds, mid, end).compute();
+                return right.add(left.join());
+            }
+
+            Partial partial = new Partial(groups);
+            long[] checkIn = snapshot.checkIn;
+            int[] employee = snapshot.employee;
+            boolean[] removed = snapshot.removedEmployees;
+            double[] hours = snapshot.hours;
+            for (int row = start; row < end; row++) {
+                long time = checkIn[row];
+                if (time < fromSeconds || time >= toSeconds || removed[employee[row]]) {
+                    continue;
+                }
+                int group = key.of(row);
+                if (group < 0) {
+                    continue;
+                }
+                partial.sessions[group]++;
+                if (!Double.isNaN(hours[row])) {
+                    partial.completed[group]++;
+                    partial.hours[group] += hours[row];
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static class Partial {
+        private final long[] sessions;
+        private final long[] completed;
+        private final double[] hours;
+
+        Partial(int groups) {
+            sessions = new long[groups];
+            completed = new long[groups];
+            hours = new double[groups];
+        }
+
+        Partial add(Partial other) {
+            for (int i = 0; i < sessions.length; i++) {
+                sessions[i] += other.sessions[i];
+                completed[i] += other.completed[i];
+                hours[i] += other.hours[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Snapshot state; only touched while holding the lock (or before being published)
+     */
+    private static class Columns {
+        // Session rows
+        private int size;
+        private int[] employee = new int[1024];
+        private long[] checkIn = new long[1024];
+        private long[] checkOut = new long[1024];
+        private double[] hours = new double[1024];
+        // Row of every attendance id, so replayed or repeated changes overwrite instead of appending
+        private final Map<Long, Integer> rowsById = new HashMap<>();
+
+        // Employee dimension, addressed by the dense index stored in "employee"
+        private int employeeCount;
+        private long[] employeeIds = new long[256];
+        private int[] roles = new int[256];
+        private String[] employeeNames = new String[256];
+        private boolean[] removedEmployees = new boolean[256];
+        private final Map<Long, Integer> employeeIndex = new HashMap<>();
+
+        private LocalDateTime builtAt;
+
+        /**
+         * Insert the session or overwrite its existing row
+         */
+        void upsert(long attendanceId, long employeeId, long checkInSeconds, long checkOutSeconds, double workingHours) {
+            Integer existing = rowsById.get(attendanceId);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                if (size == checkIn.length) {
+                    int capacity = size * 2;
+                    employee = Arrays.copyOf(employee, capacity);
+                    checkIn = Arrays.copyOf(checkIn, capacity);
+                    checkOut = Arrays.copyOf(checkOut, capacity);
+                    hours = Arrays.copyOf(hours, capacity);
+                }
+                row = size++;
+                rowsById.put(attendanceId, row);
+            }
+            employee[row] = indexOf(employeeId);
+            checkIn[row] = checkInSeconds;
+            checkOut[row] = checkOutSeconds;
+            hours[row] = workingHours;
+        }
+
+        /**
+         * Record a check-in; a row the load already saw as completed keeps its check-out
+         */
+        void checkIn(long attendanceId, long employeeId, long checkInSeconds) {
+            Integer existing = rowsById.get(attendanceId);
+            if (existing == null || checkOut[existing] == NO_TIME) {
+                upsert(attendanceId, employeeId, checkInSeconds, NO_TIME, Double.NaN);
+            }
+        }
+
+        void putEmployee(long employeeId, Employee.Role role, String name) {
+            int index = indexOf(employeeId);
+            roles[index] = role != null ? role.ordinal() : Employee.Role.EMPLOYEE.ordinal();
+            employeeNames[index] = name;
+            removedEmployees[index] = false;
+        }
+
+        void removeEmployee(Long employeeId) {
+            Integer index = employeeIndex.get(employeeId);
+            if (index != null) {
+                removedEmployees[index] = true;
+            }
+        }
+
+        private int indexOf(long employeeId) {
+            Integer index = employeeIndex.get(employeeId);
+            if (index != null) {
+                return index;
+            }
+            if (employeeCount == employeeIds.length) {
+                int capacity = employeeCount * 2;
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                roles = Arrays.copyOf(roles, capacity);
+                employeeNames = Arrays.copyOf(employeeNames, capacity);
+                removedEmployees = Arrays.copyOf(removedEmployees, capacity);
+            }
+            int added = employeeCount++;
+            employeeIds[added] = employeeId;
+            roles[added] = Employee.Role.EMPLOYEE.ordinal();
+            employeeIndex.put(employeeId, added);
+            return added;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Moves closed months of attendance out of SQLite into immutable, compressed, columnar segment files.
+ * A month is archived once it is older than the retention window and has no open sessions: its rows
+ * are written to a new segment (merged with any earlier segment of that month), the segment is read
+ * back and verified, the manifest is replaced atomically, and only then are the rows deleted from
+ * the database in short chunks, skipping any row updated since it was read. A crash at any step leaves
+ * every row readable from at least one side; readers prefer the database copy of a row that exists in both.
+ * <p>
+ * Decoded segments are cached so repeated report queries over the same months do no file I/O.
+ */
+@Service
+public class AttendanceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.attendance-archive.enabled}")
+    private boolean enabled;
+
+    @Value("${app.attendance-archive.directory}")
+    private String directoryProperty;
+
+    @Value("${app.attendance-archive.retain-months}")
+    private int retainMonths;
+
+    @Value("${app.attendance-archive.chunk-size}")
+    private int chunkSize;
+
+    @Value("${app.attendance-archive.cached-segments}")
+    private int cachedSegments;
+
+    @Value("${app.attendance-archive.history-months}")
+    private int historyMonths;
+
+    private Path directory;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    // Replaced as a whole on every change so readers never see a partial manifest
+    private volatile TreeMap<YearMonth, SegmentInfo> manifest = new TreeMap<>();
+    private Map<String, AttendanceSegment> segmentCache;
+
+    @PostConstruct
+    public void init() {
+        directory = Paths.get(directoryProperty).toAbsolutePath();
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        segmentCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AttendanceSegment> eldest) {
+                return size() > cachedSegments;
+            }
+        };
+
+        try {
+            Files.createDirectories(directory);
+            manifest = loadManifest();
+            removeUnreferencedFiles();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open attendance archive " + directory + ": " + e.getMessage());
+        }
+        logger.info("Attendance archive at {}: {} segment(s), {} month(s) kept in the database",
+                directory, manifest.size(), retainMonths);
+    }
+
+    @Scheduled(cron = "${app.attendance-archive.cron}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveClosedMonths();
+        } catch (Exception e) {
+            logger.error("Attendance archival failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Archive every month before the retention window that has no open sessions
+     */
+    public synchronized List<SegmentInfo> archiveClosedMonths() {
+        // Segments replaced by the previous run are only deleted now, so readers that were using them have finished
+        try {
+            removeUnreferencedFiles();
+        } catch (IOException e) {
+            logger.warn("Failed to clean up attendance archive: " + e.getMessage());
+        }
+
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(retainMonths);
+        LocalDateTime earliest = readTransaction.execute(status -> attendanceRepository.findEarliestCheckInTime());
+        List<SegmentInfo> archived = new ArrayList<>();
+        if (earliest == null) {
+            return archived;
+        }
+
+        for (YearMonth month = YearMonth.from(earliest); month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            SegmentInfo info = archiveMonth(month);
+            if (info != null) {
+                archived.add(info);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Archived rows checked in within the range (both ends inclusive, null for unbounded),
+     * optionally for one employee, newest first. Rows of deleted employees are skipped.
+     * Without any range only the most recent history-months archived months are read.
+     * Call inside a transaction so the employees are loaded on the same connection.
+     */
+    public List<Attendance> findArchived(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
+        long from = startDate != null ? AttendanceSegment.toMillis(startDate) : Long.MIN_VALUE + 1;
+        long to = endDate != null ? AttendanceSegment.toMillis(endDate) : Long.MAX_VALUE;
+
+        List<SegmentInfo> overlapping = segmentsOverlapping(startDate, endDate);
+        if (startDate == null && endDate == null && overlapping.size() > historyMonths) {
+            overlapping = overlapping.subList(overlapping.size() - historyMonths, overlapping.size());
+        }
+
+        List<AttendanceSegment> segments = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        Set<Long> employeeIds = new HashSet<>();
+        for (SegmentInfo info : overlapping) {
+            AttendanceSegment segment = loadSegment(info);
+            int[] matching = matchingRows(segment, employeeId, segment.lowerBound(from), segment.upperBound(to));
+            if (matching.length == 0) {
+                continue;
+            }
+            segments.add(segment);
+            rows.add(matching);
+            for (int row : matching) {
+                employeeIds.add(segment.getEmployeeId(row));
+            }
+        }
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+
+        // In chunks: a month can reference more employees than SQLite accepts bind variables
+        Map<Long, Employee> employees = new HashMap<>();
+        List<Long> ids = new ArrayList<>(employeeIds);
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            employeeRepository.findAllById(ids.subList(start, Math.min(start + chunkSize, ids.size())))
+                    .forEach(employee -> employees.put(employee.getId(), employee));
+        }
+
+        List<Attendance> results = new ArrayList<>();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            AttendanceSegment segment = segments.get(i);
+            int[] matching = rows.get(i);
+            for (int k = matching.length - 1; k >= 0; k--) {
+                Employee employee = employees.get(segment.getEmployeeId(matching[k]));
+                if (employee != null) {
+                    results.add(segment.toAttendance(matching[k], employee));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Rows in [first, last), in check-in order, of one employee (through the segment's index) or of everyone
+     */
+    private static int[] matchingRows(AttendanceSegment segment, Long employeeId, int first, int last) {
+        if (first >= last) {
+            return new int[0];
+        }
+        if (employeeId == null) {
+            int[] all = new int[last - first];
+            for (int row = first; row < last; row++) {
+                all[row - first] = row;
+            }
+            return all;
+        }
+        int[] employeeRows = segment.rowsOf(employeeId);
+        int low = 0;
+        while (low < employeeRows.length && employeeRows[low] < first) {
+            low++;
+        }
+        int high = low;
+        while (high < employeeRows.length && employeeRows[high] < last) {
+            high++;
+        }
+        return Arrays.copyOfRange(employeeRows, low, high);
+    }
+
+    /**
+     * Whether any archived month overlaps the range (null for unbounded)
+     */
+    public boolean covers(LocalDateTime startDate, LocalDateTime endDate) {
+        return !segmentsOverlapping(startDate, endDate).isEmpty();
+    }
+
+    /**
+     * Segments of the months overlapping the range, oldest first
+     */
+    public List<SegmentInfo> segmentsOverlapping(LocalDateTime startDate, LocalDateTime endDate) {
+        TreeMap<YearMonth, SegmentInfo> current = manifest;
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        YearMonth from = startDate != null ? YearMonth.from(startDate) : current.firstKey();
+        YearMonth to = endDate != null ? YearMonth.from(endDate) : current.lastKey();
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return new ArrayList<>(current.subMap(from, true, to, true).values());
+    }
+
+    public List<SegmentInfo> getSegments() {
+        return new ArrayList<>(manifest.values());
+    }
+
+    /**
+     * Decoded segment, from the cache when possible
+     */
+    public AttendanceSegment loadSegment(SegmentInfo info) {
+        synchronized (segmentCache) {
+            AttendanceSegment cached = segmentCache.get(info.getFile());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        try {
+            AttendanceSegment segment = AttendanceSegment.read(directory.resolve(info.getFile()));
+            synchronized (segmentCache) {
+                segmentCache.put(info.getFile(), segment);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read attendance segment " + info.getFile() + ": " + e.getMessage());
+        }
+    }
+
+    private SegmentInfo archiveMonth(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        Long open = readTransaction.execute(status -> attendanceRepository.countOpenSessionsCheckedInBetween(start, end));
+        if (open != null && open > 0) {
+            logger.warn("Not archiving {}: {} session(s) from that month are still open", month, open);
+            return null;
+        }
+
+        // Rows are read in id chunks on a reader connection; the writer is only used for the deletes
+        Map<Long, Attendance> rows = new LinkedHashMap<>();
+        long afterId = 0;
+        List<Attendance> chunk;
+        do {
+            long chunkStart = afterId;
+            chunk = readTransaction.execute(status ->
+                    attendanceRepository.findCheckedInBetween(start, end, chunkStart, PageRequest.of(0, chunkSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            chunk.forEach(attendance -> rows.put(attendance.getId(), attendance));
+            afterId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == chunkSize);
+
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<Long> hotIds = new ArrayList<>(rows.keySet());
+
+        // Rows archived earlier for the same month are carried into the new segment; the database copy wins
+        SegmentInfo previous = manifest.get(month);
+        List<Attendance> merged = new ArrayList<>(rows.values());
+        if (previous != null) {
+            AttendanceSegment old = loadSegment(previous);
+            for (int row = 0; row < old.size(); row++) {
+                if (!rows.containsKey(old.getId(row))) {
+                    Employee placeholder = new Employee();
+                    placeholder.setId(old.getEmployeeId(row));
+                    merged.add(old.toAttendance(row, placeholder));
+                }
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        AttendanceSegment segment = AttendanceSegment.of(month, merged);
+        String fileName = "attendance-" + month + "-" + System.currentTimeMillis() + SEGMENT_SUFFIX;
+        SegmentInfo info;
+        try {
+            Path temp = directory.resolve(fileName + TEMP_SUFFIX);
+            segment.write(temp);
+            AttendanceSegment check = AttendanceSegment.read(temp);
+            if (check.size() != segment.size() || check.getMaxId() != segment.getMaxId()) {
+                throw new IOException("Verification of " + fileName + " failed");
+            }
+            Files.move(temp, directory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+
+            info = new SegmentInfo(month.toString(), fileName, segment.size(),
+                    segment.getMinId(), segment.getMaxId(), Files.size(directory.resolve(fileName)), LocalDateTime.now());
+            TreeMap<YearMonth, SegmentInfo> updated = new TreeMap<>(manifest);
+            updated.put(month, info);
+            writeManifest(updated);
+            manifest = updated;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to archive attendance for " + month + ": " + e.getMessage());
+        }
+
+        synchronized (segmentCache) {
+            segmentCache.put(fileName, segment);
+            if (previous != null) {
+                segmentCache.remove(previous.getFile());
+            }
+        }
+
+        // Rows changed since they were read stay in the database, which readers prefer over the
+        // archived copy; the next run archives their current version
+        int deleted = 0;
+        int changed = 0;
+        for (int from = 0; from < hotIds.size(); from += chunkSize) {
+            List<Long> ids = hotIds.subList(from, Math.min(from + chunkSize, hotIds.size()));
+            int[] counts = writeTransaction.execute(status -> {
+                List<Long> unchanged = new ArrayList<>(ids.size());
+                for (Object[] current : attendanceRepository.findCheckOutAndUpdateTimesByIds(ids)) {
+                    Attendance archivedCopy = rows.get((Long) current[0]);
+                    if (Objects.equals(archivedCopy.getCheckOutTime(), current[1])
+                            && Objects.equals(archivedCopy.getUpdatedAt(), current[2])) {
+                        unchanged.add(archivedCopy.getId());
+                    }
+                }
+                int count = unchanged.isEmpty() ? 0 : attendanceRepository.deleteByIds(unchanged);
+                return new int[] {count, ids.size() - unchanged.size()};
+            });
+            if (counts != null) {
+                deleted += counts[0];
+                changed += counts[1];
+            }
+        }
+
+        logger.info("Archived {} attendance record(s) for {} into {} ({} bytes, {} total rows) in {} ms",
+                deleted, month, fileName, info.getSizeBytes(), info.getRowCount(),
+                System.currentTimeMillis() - startTime);
+        if (changed > 0) {
+            logger.warn("{} attendance record(s) for {} changed or disappeared during archival and were kept in the database",
+                    changed, month);
+        }
+        return info;
+    }
+
+    private TreeMap<YearMonth, SegmentInfo> loadManifest() throws IOException {
+        TreeMap<YearMonth, SegmentInfo> loaded = new TreeMap<>();
+        Path file = directory.resolve(MANIFEST_FILE);
+        if (Files.exists(file)) {
+            Manifest stored = objectMapper.readValue(file.toFile(), Manifest.class);
+            for (SegmentInfo info : stored.getSegments()) {
+                if (!Files.exists(directory.resolve(info.getFile()))) {
+                    throw new IOException("Segment " + info.getFile() + " listed in the manifest is missing");
+                }
+                loaded.put(YearMonth.parse(info.getMonth()), info);
+            }
+        }
+        return loaded;
+    }
+
+    private void writeManifest(TreeMap<YearMonth, SegmentInfo> segments) throws IOException {
+        Manifest stored = new Manifest();
+        stored.setSegments(new ArrayList<>(segments.values()));
+        Path temp = directory.resolve(MANIFEST_FILE + TEMP_SUFFIX);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), stored);
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Drop temp files and segments left behind by an archival run that stopped before its manifest update
+     */
+    private void removeUnreferencedFiles() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        manifest.values().forEach(info -> referenced.add(info.getFile()));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX) || (name.endsWith(SEGMENT_SUFFIX) && !referenced.contains(name))) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * On-disk manifest listing the current segment of every archived month
+     */
+    public static class Manifest {
+        private int version = 1;
+        private List<SegmentInfo> segments = Collections.emptyList();
+
+        public int getVersion() {
+            return version;
+        }
+
+        public void setVersion(int version) {
+            this.version = version;
+        }
+
+        public List<SegmentInfo> getSegments() {
+            return segments;
+        }
+
+        public void setSegments(List<SegmentInfo> segments) {
+            this.segments = segments;
+        }
+    }
+
+    public static class SegmentInfo {
+        private String month;
+        private String file;
+        private int rowCount;
+        private long minId;
+        private long maxId;
+        private long sizeBytes;
+        private LocalDateTime archivedAt;
+
+        public SegmentInfo() {}
+
+        SegmentInfo(String month, String file, int rowCount, long minId, long maxId, long sizeBytes,
+                    LocalDateTime archivedAt) {
+            this.month = month;
+            this.file = file;
+            this.rowCount = rowCount;
+            this.minId = minId;
+            this.maxId = maxId;
+            this.sizeBytes = sizeBytes;
+            this.archivedAt = archivedAt;
+        }
+
+        public String getMonth() {
+            return month;
+        }
+
+        public void setMonth(String month) {
+            this.month = month;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public void setRowCount(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        public long getMinId() {
+            return minId;
+        }
+
+        public void setMinId(long minId) {
+            this.minId = minId;
+        }
+
+        public long getMaxId() {
+            return maxId;
+        }
+
+        public void setMaxId(long maxId) {
+            this.maxId = maxId;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public void setSizeBytes(long sizeBytes) {
+            this.sizeBytes = sizeBytes;
+        }
+
+        public LocalDateTime getArchivedAt() {
+            return archivedAt;
+        }
+
+        public void setArchivedAt(LocalDateTime archivedAt) {
+            this.archivedAt = archivedAt;
+        }
+    }
+}
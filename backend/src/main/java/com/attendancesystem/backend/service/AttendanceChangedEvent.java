@@ -0,0 +1,69 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link AttendanceService} whenever an attendance session is opened or closed.
+ * Listeners that must only see committed data use {@code @TransactionalEventListener}.
+ */
+public class AttendanceChangedEvent {
+
+    public enum Change {
+        CHECKED_IN, CHECKED_OUT
+    }
+
+    private final Change change;
+    private final Long attendanceId;
+    private final Long employeeId;
+    private final String employeeName;
+    private final LocalDateTime checkInTime;
+    private final LocalDateTime checkOutTime;
+    private final Double workingHours;
+
+    public AttendanceChangedEvent(Change change, Long attendanceId, Long employeeId, String employeeName,
+                                  LocalDateTime checkInTime, LocalDateTime checkOutTime, Double workingHours) {
+        this.change = change;
+        this.attendanceId = attendanceId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.checkInTime = checkInTime;
+        this.checkOutTime = checkOutTime;
+        this.workingHours = workingHours;
+    }
+
+    public static AttendanceChangedEvent of(Change change, Attendance attendance) {
+        return new AttendanceChangedEvent(change, attendance.getId(), attendance.getEmployeeId(),
+                attendance.getEmployeeName(), attendance.getCheckInTime(), attendance.getCheckOutTime(),
+                attendance.getWorkingHours());
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public LocalDateTime getCheckInTime() {
+        return checkInTime;
+    }
+
+    public LocalDateTime getCheckOutTime() {
+        return checkOutTime;
+    }
+
+    public Double getWorkingHours() {
+        return workingHours;
+    }
+}
@@ -0,0 +1,106 @@
+package com.attendancesystem.backend.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events for the face and attendance hot paths. They are recorded by any
+ * JFR recording (for example -XX:StartFlightRecording) alongside GC, allocation and native
+ * sampling, with no agent. Stack traces are off and fields are primitives or short constants, so
+ * an event costs a few field writes when recorded and one enabled check when not.
+ */
+public final class AttendanceJfrEvents {
+
+    private static final String CATEGORY = "Attendance System";
+
+    private AttendanceJfrEvents() {
+    }
+
+    @Name("com.attendancesystem.FaceEncoding")
+    @Label("Face Encoding")
+    @Description("One face encoding extraction with per-stage durations")
+    @Category({CATEGORY, "Face"})
+    @StackTrace(false)
+    public static class FaceEncoding extends Event {
+        @Label("Image Size")
+        @DataAmount
+        public int imageBytes;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+
+        @Label("Faces Detected")
+        public int faceCount;
+
+        @Label("Decode")
+        @Timespan(Timespan.NANOSECONDS)
+        public long decodeDuration;
+
+        @Label("Grayscale")
+        @Timespan(Timespan.NANOSECONDS)
+        public long grayscaleDuration;
+
+        @Label("Detect")
+        @Timespan(Timespan.NANOSECONDS)
+        public long detectDuration;
+
+        @Label("Encode")
+        @Timespan(Timespan.NANOSECONDS)
+        public long encodeDuration;
+
+        @Label("Outcome")
+        @Description("ok, or the failure reason")
+        public String outcome;
+    }
+
+    @Name("com.attendancesystem.FaceComparison")
+    @Label("Face Comparison")
+    @Description("Similarity of a captured face encoding against the stored one")
+    @Category({CATEGORY, "Face"})
+    @StackTrace(false)
+    public static class FaceComparison extends Event {
+        @Label("Similarity")
+        public double similarity;
+
+        @Label("Threshold")
+        public double threshold;
+
+        @Label("Matched")
+        public boolean matched;
+
+        @Label("Encoding Length")
+        @Description("Characters in the captured encoding")
+        public int encodingLength;
+    }
+
+    @Name("com.attendancesystem.AttendanceTransaction")
+    @Label("Attendance Transaction")
+    @Description("Check-in or check-out from method entry to transaction completion")
+    @Category({CATEGORY, "Attendance"})
+    @StackTrace(false)
+    public static class AttendanceTransaction extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Employee Id")
+        public long employeeId;
+
+        @Label("Outcome")
+        @Description("committed, rolled_back, or the rejection reason")
+        public String outcome;
+
+        @Label("Commit")
+        @Description("Flush and commit, from before-commit to after-commit")
+        @Timespan(Timespan.NANOSECONDS)
+        public long commitDuration;
+    }
+}
@@ -0,0 +1,194 @@
+package com.attendancesystem.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage-level latency and failure metrics for check-in, check-out, face recognition and JWT auth.
+ * Callers time a stage by passing the {@link System#nanoTime()} at which it started; the return
+ * value is the start of the next stage, so a pipeline costs one clock read per stage.
+ * Meters are created once per operation/stage pair and cached.
+ */
+@Component
+public class AttendanceMetrics {
+
+    public static final String CHECK_IN = "check_in";
+    public static final String CHECK_OUT = "check_out";
+    public static final String FACE = "face";
+    public static final String AUTH = "auth";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<String, StageMeter> stageMeters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    private DistributionSummary faceSimilarity;
+
+    @PostConstruct
+    public void init() {
+        faceSimilarity = DistributionSummary.builder("face.similarity")
+                .description("Similarity score of compared face encodings")
+                .serviceLevelObjectives(0.5, 0.6, 0.7, 0.8, 0.9, 0.95)
+                .minimumExpectedValue(0.01)
+                .maximumExpectedValue(1.0)
+                .register(registry);
+    }
+
+    /**
+     * Record a stage that started at startNanos; returns now, the start of the next stage
+     */
+    public long stage(String operation, String stage, long startNanos) {
+        long now = System.nanoTime();
+        StageMeter meter = stageMeter(operation, stage);
+        meter.timer.record(now - startNanos, TimeUnit.NANOSECONDS);
+        if (meter.requestStage != null) {
+            RequestTiming.record(meter.requestStage, now - startNanos);
+        }
+        return now;
+    }
+
+    /**
+     * Record a whole operation that succeeded
+     */
+    public void succeeded(String operation, long startNanos) {
+        requestTimer(operation, "success").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a whole operation that failed, and count the reason
+     */
+    public void failed(String operation, String reason, long startNanos) {
+        requestTimer(operation, "failure").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        failure(operation, reason);
+    }
+
+    public void failure(String operation, String reason) {
+        failureCounters.computeIfAbsent(operation + '/' + reason, key -> Counter.builder("attendance.failures")
+                .description("Rejected or failed operations by reason")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(registry)).increment();
+    }
+
+    public void faceSimilarity(double score) {
+        faceSimilarity.record(score);
+    }
+
+    /**
+     * Time the commit of the current transaction as the "commit" stage of the operation and
+     * complete the JFR transaction event when it finishes; a commit that fails is counted as a
+     * "rolled_back" failure
+     */
+    public void timeCommit(String operation, AttendanceJfrEvents.AttendanceTransaction event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.outcome = "no_transaction";
+            event.commit();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+
+            @Override
+            public int getOrder() {
+                // Run before after-commit event listeners so their work is not counted
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                event.commitDuration = stage(operation, "commit", commitStart) - commitStart;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    failure(operation, "rolled_back");
+                }
+                event.outcome = status == STATUS_COMMITTED ? "committed" : "rolled_back";
+                event.commit();
+            }
+        });
+    }
+
+    private StageMeter stageMeter(String operation, String stage) {
+        return stageMeters.computeIfAbsent(operation + '/' + stage, key -> new StageMeter(
+                Timer.builder("attendance.stage")
+                        .description("Duration of one stage of an attendance operation")
+                        .tag("operation", operation)
+                        .tag("stage", stage)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED)
+                        .maximumExpectedValue(MAX_EXPECTED)
+                        .register(registry),
+                requestStage(operation, stage)));
+    }
+
+    /**
+     * Server-Timing bucket of a stage; face sub-stages are already inside the check-in "face" stage
+     */
+    private static RequestTiming.Stage requestStage(String operation, String stage) {
+        if (AUTH.equals(operation)) {
+            return RequestTiming.Stage.AUTH;
+        }
+        if (!CHECK_IN.equals(operation) && !CHECK_OUT.equals(operation)) {
+            return null;
+        }
+        switch (stage) {
+            case "employee_lookup":
+            case "session_lookup":
+                return RequestTiming.Stage.LOOKUP;
+            case "location":
+                return RequestTiming.Stage.LOCATION;
+            case "face":
+                return RequestTiming.Stage.FACE;
+            case "save":
+            case "commit":
+                return RequestTiming.Stage.DB;
+            default:
+                return null;
+        }
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return requestTimers.computeIfAbsent(operation + '/' + outcome, key -> Timer.builder("attendance.operation")
+                .description("End-to-end duration of an attendance operation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry));
+    }
+
+    private static class StageMeter {
+        private final Timer timer;
+        private final RequestTiming.Stage requestStage;
+
+        StageMeter(Timer timer, RequestTiming.Stage requestStage) {
+            this.timer = timer;
+            this.requestStage = requestStage;
+        }
+    }
+}
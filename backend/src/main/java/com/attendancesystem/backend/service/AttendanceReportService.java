@@ -0,0 +1,256 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.config.ReadWriteRoutingDataSource;
+import com.attendancesystem.backend.dto.EmployeeAttendanceReport;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Set-based attendance reports: totals, averages, days present, late arrivals and overtime for
+ * every employee matching a filter, from a single query per report.
+ * <p>
+ * The query returns employees with their sessions for the period, ordered by employee and check-in,
+ * and is consumed as a cursor. Each employee is aggregated while their rows go by and handed to the
+ * caller as soon as the next employee starts, so memory stays flat however large the organisation.
+ * Day-level measures are computed here rather than in SQL because they depend on how the driver
+ * stores timestamps. Archived months in the period are pre-aggregated from their segments, with
+ * any of their rows still in the database counted once.
+ * When the reporting replica is enabled the query runs against it, so figures may lag by up to its
+ * configured refresh lag.
+ */
+@Service
+public class AttendanceReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceReportService.class);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reports.late-after}")
+    private String lateAfterProperty;
+
+    @Value("${app.reports.standard-daily-hours}")
+    private double standardDailyHours;
+
+    private LocalTime lateAfter;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        lateAfter = LocalTime.parse(lateAfterProperty.trim());
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Stream one report per employee matching the filters (null for any), in employee id order;
+     * returns the number of employees reported
+     */
+    public long streamEmployeeReports(LocalDate from, LocalDate to, Boolean active, Employee.Role role,
+                                      Consumer<EmployeeAttendanceReport> sink) {
+        LocalDateTime startDate = from.atStartOfDay();
+        LocalDateTime endDate = to.atTime(LocalTime.MAX);
+        return stream(startDate, endDate, sink,
+                () -> attendanceRepository.streamReportRows(startDate, endDate, active, role));
+    }
+
+    /**
+     * Stream one report per listed employee, in employee id order
+     */
+    public long streamEmployeeReports(LocalDate from, LocalDate to, Collection<Long> employeeIds,
+                                      Consumer<EmployeeAttendanceReport> sink) {
+        if (employeeIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime startDate = from.atStartOfDay();
+        LocalDateTime endDate = to.atTime(LocalTime.MAX);
+        return stream(startDate, endDate, sink,
+                () -> attendanceRepository.streamReportRowsForEmployees(startDate, endDate, employeeIds));
+    }
+
+    public List<EmployeeAttendanceReport> getEmployeeReports(LocalDate from, LocalDate to, Collection<Long> employeeIds) {
+        List<EmployeeAttendanceReport> reports = new ArrayList<>(employeeIds.size());
+        streamEmployeeReports(from, to, employeeIds, reports::add);
+        return reports;
+    }
+
+    private long stream(LocalDateTime startDate, LocalDateTime endDate, Consumer<EmployeeAttendanceReport> sink,
+                        Supplier<Stream<Object[]>> query) {
+        long startTime = System.currentTimeMillis();
+
+        // Reports read a recent snapshot so long cursors never hold the live readers
+        Long count = ReadWriteRoutingDataSource.onReportingReplica(() -> readTransaction.execute(status -> {
+            Set<YearMonth> archivedMonths = new HashSet<>();
+            Map<Long, Accumulator> archived = aggregateArchived(startDate, endDate, archivedMonths);
+            long emitted = 0;
+            Accumulator current = null;
+            try (Stream<Object[]> rows = query.get()) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    Long employeeId = (Long) row[0];
+                    if (current == null || !current.employeeId.equals(employeeId)) {
+                        if (current != null) {
+                            sink.accept(current.toReport());
+                            emitted++;
+                        }
+                        current = archived.getOrDefault(employeeId, new Accumulator(employeeId));
+                        current.describe((String) row[1], (String) row[2], (String) row[3], (Employee.Role) row[4]);
+                    }
+                    // Rows in archived months were already counted, in order, with their month
+                    if (row[5] != null && !archivedMonths.contains(YearMonth.from((LocalDateTime) row[5]))) {
+                        current.add((LocalDateTime) row[5], (Double) row[6]);
+                    }
+                }
+            }
+            if (current != null) {
+                sink.accept(current.toReport());
+                emitted++;
+            }
+            return emitted;
+        }));
+
+        long emitted = count != null ? count : 0;
+        logger.info("Attendance report for {} to {}: {} employee(s) in {} ms",
+                startDate.toLocalDate(), endDate.toLocalDate(), emitted, System.currentTimeMillis() - startTime);
+        return emitted;
+    }
+
+    /**
+     * Per-employee partial aggregates over the archived months of the period, oldest rows first.
+     * Rows of those months still in the database (not yet deleted, kept because they changed during
+     * archival, or on a replica older than the segment) replace their archived copy and are merged in
+     * check-in order; the months are added to archivedMonths so the caller skips them.
+     */
+    private Map<Long, Accumulator> aggregateArchived(LocalDateTime startDate, LocalDateTime endDate,
+                                                     Set<YearMonth> archivedMonths) {
+        Map<Long, Accumulator> archived = new HashMap<>();
+        for (AttendanceArchiveService.SegmentInfo info : archiveService.segmentsOverlapping(startDate, endDate)) {
+            YearMonth month = YearMonth.parse(info.getMonth());
+            LocalDateTime monthStart = max(startDate, month.atDay(1).atStartOfDay());
+            LocalDateTime monthEnd = min(endDate, month.atEndOfMonth().atTime(LocalTime.MAX));
+            archivedMonths.add(month);
+
+            List<Object[]> hot = attendanceRepository.findReportRowsBetween(monthStart, monthEnd);
+            Set<Long> hotIds = new HashSet<>();
+            hot.forEach(row -> hotIds.add((Long) row[0]));
+
+            AttendanceSegment segment = archiveService.loadSegment(info);
+            int row = segment.lowerBound(AttendanceSegment.toMillis(monthStart));
+            int last = segment.upperBound(AttendanceSegment.toMillis(monthEnd));
+            int next = 0;
+            while (row < last || next < hot.size()) {
+                LocalDateTime archivedCheckIn = row < last ? AttendanceSegment.toTime(segment.getCheckInMillis(row)) : null;
+                if (archivedCheckIn != null && hotIds.contains(segment.getId(row))) {
+                    row++;
+                } else if (archivedCheckIn != null
+                        && (next == hot.size() || !archivedCheckIn.isAfter((LocalDateTime) hot.get(next)[2]))) {
+                    double hours = segment.getWorkingHours(row);
+                    archived.computeIfAbsent(segment.getEmployeeId(row), Accumulator::new)
+                            .add(archivedCheckIn, Double.isNaN(hours) ? null : hours);
+                    row++;
+                } else {
+                    Object[] hotRow = hot.get(next++);
+                    archived.computeIfAbsent((Long) hotRow[1], Accumulator::new)
+                            .add((LocalDateTime) hotRow[2], (Double) hotRow[3]);
+                }
+            }
+        }
+        return archived;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Running totals for one employee; rows must arrive in check-in order
+     */
+    private class Accumulator {
+        private final Long employeeId;
+        private String name;
+        private String email;
+        private Employee.Role role;
+        private long sessions;
+        private long completedSessions;
+        private double totalHours;
+        private long daysPresent;
+        private long lateArrivals;
+        private double overtimeHours;
+        private LocalDate currentDay;
+        private double currentDayHours;
+
+        Accumulator(Long employeeId) {
+            this.employeeId = employeeId;
+        }
+
+        void describe(String firstName, String lastName, String email, Employee.Role role) {
+            this.name = firstName + " " + lastName;
+            this.email = email;
+            this.role = role;
+        }
+
+        void add(LocalDateTime checkIn, Double workingHours) {
+            sessions++;
+            LocalDate day = checkIn.toLocalDate();
+            if (!day.equals(currentDay)) {
+                closeDay();
+                currentDay = day;
+                daysPresent++;
+                // Only the first check-in of a day can be late
+                if (checkIn.toLocalTime().isAfter(lateAfter)) {
+                    lateArrivals++;
+                }
+            }
+            if (workingHours != null) {
+                completedSessions++;
+                totalHours += workingHours;
+                currentDayHours += workingHours;
+            }
+        }
+
+        EmployeeAttendanceReport toReport() {
+            closeDay();
+            return new EmployeeAttendanceReport(employeeId, name, email, role, sessions, completedSessions,
+                    totalHours, daysPresent, lateArrivals, overtimeHours);
+        }
+
+        private void closeDay() {
+            if (currentDayHours > standardDailyHours) {
+                overtimeHours += currentDayHours - standardDailyHours;
+            }
+            currentDayHours = 0.0;
+        }
+    }
+}
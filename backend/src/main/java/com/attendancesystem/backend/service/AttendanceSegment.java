@@ -0,0 +1,364 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One immutable month of archived attendance, held column by column in primitive arrays.
+ * Rows are sorted by check-in time, so a time range maps to a contiguous run of rows.
+ * <p>
+ * On disk each column is stored contiguously inside a gzip stream: ids and check-in times as
+ * zig-zag varint deltas from the previous row, the other timestamps as deltas from the row's
+ * check-in, and doubles raw (runs of identical office coordinates compress well). Timestamps keep
+ * millisecond precision. A null timestamp is encoded as 0 and a null double as NaN.
+ * <p>
+ * Once built or read, a segment also indexes its rows by employee, so one employee's sessions are
+ * found without scanning the month.
+ */
+public final class AttendanceSegment {
+
+    private static final int MAGIC = 0x41545347; // "ATSG"
+    private static final int VERSION = 1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final byte NO_REASON = -1;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final YearMonth month;
+    private final int size;
+    private final long[] ids;
+    private final long[] employeeIds;
+    private final long[] checkIn;
+    private final long[] checkOut;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final double[] checkInLat;
+    private final double[] checkInLng;
+    private final double[] checkOutLat;
+    private final double[] checkOutLng;
+    private final double[] workingHours;
+    private final byte[] status;
+    private final byte[] checkoutReason;
+    private Map<Long, int[]> rowsByEmployee;
+
+    private AttendanceSegment(YearMonth month, int size) {
+        this.month = month;
+        this.size = size;
+        this.ids = new long[size];
+        this.employeeIds = new long[size];
+        this.checkIn = new long[size];
+        this.checkOut = new long[size];
+        this.createdAt = new long[size];
+        this.updatedAt = new long[size];
+        this.checkInLat = new double[size];
+        this.checkInLng = new double[size];
+        this.checkOutLat = new double[size];
+        this.checkOutLng = new double[size];
+        this.workingHours = new double[size];
+        this.status = new byte[size];
+        this.checkoutReason = new byte[size];
+    }
+
+    /**
+     * Build a segment from closed attendance rows, all checked in during the given month
+     */
+    public static AttendanceSegment of(YearMonth month, List<Attendance> rows) {
+        List<Attendance> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(Attendance::getCheckInTime).thenComparing(Attendance::getId));
+
+        AttendanceSegment segment = new AttendanceSegment(month, sorted.size());
+        for (int row = 0; row < sorted.size(); row++) {
+            Attendance attendance = sorted.get(row);
+            segment.ids[row] = attendance.getId();
+            segment.employeeIds[row] = attendance.getEmployeeId();
+            segment.checkIn[row] = toMillis(attendance.getCheckInTime());
+            segment.checkOut[row] = toMillis(attendance.getCheckOutTime());
+            segment.createdAt[row] = toMillis(attendance.getCreatedAt());
+            segment.updatedAt[row] = toMillis(attendance.getUpdatedAt());
+            segment.checkInLat[row] = toDouble(attendance.getCheckInLocationLat());
+            segment.checkInLng[row] = toDouble(attendance.getCheckInLocationLng());
+            segment.checkOutLat[row] = toDouble(attendance.getCheckOutLocationLat());
+            segment.checkOutLng[row] = toDouble(attendance.getCheckOutLocationLng());
+            segment.workingHours[row] = toDouble(attendance.getWorkingHours());
+            segment.status[row] = (byte) attendance.getStatus().ordinal();
+            segment.checkoutReason[row] = attendance.getCheckoutReason() != null
+                    ? (byte) attendance.getCheckoutReason().ordinal() : NO_REASON;
+        }
+        segment.indexEmployees();
+        return segment;
+    }
+
+    public static AttendanceSegment read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, 65536), 65536))) {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Not an attendance segment: " + file);
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported segment version " + version + ": " + file);
+            }
+            YearMonth month = YearMonth.of(data.readInt(), data.readInt());
+            AttendanceSegment segment = new AttendanceSegment(month, data.readInt());
+
+            readDeltas(data, segment.ids);
+            readDeltas(data, segment.employeeIds);
+            readDeltas(data, segment.checkIn);
+            readRelative(data, segment.checkOut, segment.checkIn);
+            readRelative(data, segment.createdAt, segment.checkIn);
+            readRelative(data, segment.updatedAt, segment.checkIn);
+            readDoubles(data, segment.checkInLat);
+            readDoubles(data, segment.checkInLng);
+            readDoubles(data, segment.checkOutLat);
+            readDoubles(data, segment.checkOutLng);
+            readDoubles(data, segment.workingHours);
+            data.readFully(segment.status);
+            data.readFully(segment.checkoutReason);
+            segment.indexEmployees();
+            return segment;
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out, 65536), 65536))) {
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(month.getYear());
+            data.writeInt(month.getMonthValue());
+            data.writeInt(size);
+
+            writeDeltas(data, ids);
+            writeDeltas(data, employeeIds);
+            writeDeltas(data, checkIn);
+            writeRelative(data, checkOut, checkIn);
+            writeRelative(data, createdAt, checkIn);
+            writeRelative(data, updatedAt, checkIn);
+            writeDoubles(data, checkInLat);
+            writeDoubles(data, checkInLng);
+            writeDoubles(data, checkOutLat);
+            writeDoubles(data, checkOutLng);
+            writeDoubles(data, workingHours);
+            data.write(status);
+            data.write(checkoutReason);
+        }
+    }
+
+    /**
+     * Rebuild the row as a detached entity
+     */
+    public Attendance toAttendance(int row, Employee employee) {
+        Attendance attendance = new Attendance();
+        attendance.setId(ids[row]);
+        attendance.setEmployee(employee);
+        attendance.setCheckInTime(toTime(checkIn[row]));
+        attendance.setCheckOutTime(toTime(checkOut[row]));
+        attendance.setCheckInLocationLat(toBoxed(checkInLat[row]));
+        attendance.setCheckInLocationLng(toBoxed(checkInLng[row]));
+        attendance.setCheckOutLocationLat(toBoxed(checkOutLat[row]));
+        attendance.setCheckOutLocationLng(toBoxed(checkOutLng[row]));
+        attendance.setStatus(Attendance.AttendanceStatus.values()[status[row]]);
+        attendance.setWorkingHours(toBoxed(workingHours[row]));
+        attendance.setCheckoutReason(checkoutReason[row] != NO_REASON
+                ? Attendance.CheckoutReason.values()[checkoutReason[row]] : null);
+        attendance.setCreatedAt(toTime(createdAt[row]));
+        attendance.setUpdatedAt(toTime(updatedAt[row]));
+        return attendance;
+    }
+
+    /**
+     * First row whose check-in is at or after the given epoch millis
+     */
+    public int lowerBound(long checkInMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkIn[mid] < checkInMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First row whose check-in is after the given epoch millis
+     */
+    public int upperBound(long checkInMillis) {
+        return checkInMillis == Long.MAX_VALUE ? size : lowerBound(checkInMillis + 1);
+    }
+
+    /**
+     * Rows of one employee in check-in order; empty when the employee has none in this month
+     */
+    public int[] rowsOf(long employeeId) {
+        return rowsByEmployee.getOrDefault(employeeId, NO_ROWS);
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    public long getEmployeeId(int row) {
+        return employeeIds[row];
+    }
+
+    public long getCheckInMillis(int row) {
+        return checkIn[row];
+    }
+
+    /**
+     * Check-out time in epoch millis, or Long.MIN_VALUE when the row has none
+     */
+    public long getCheckOutMillis(int row) {
+        return checkOut[row];
+    }
+
+    /**
+     * Working hours, or NaN when the row has none
+     */
+    public double getWorkingHours(int row) {
+        return workingHours[row];
+    }
+
+    public long getMinId() {
+        long min = Long.MAX_VALUE;
+        for (long id : ids) {
+            min = Math.min(min, id);
+        }
+        return min;
+    }
+
+    public long getMaxId() {
+        long max = Long.MIN_VALUE;
+        for (long id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+
+    public static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+
+    public static LocalDateTime toTime(long millis) {
+        return millis != NO_TIME ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    private void indexEmployees() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (long employeeId : employeeIds) {
+            counts.merge(employeeId, 1, Integer::sum);
+        }
+        Map<Long, int[]> index = new HashMap<>(counts.size() * 2);
+        Map<Long, Integer> filled = new HashMap<>(counts.size() * 2);
+        for (int row = 0; row < size; row++) {
+            long employeeId = employeeIds[row];
+            int[] rows = index.computeIfAbsent(employeeId, id -> new int[counts.get(id)]);
+            int next = filled.merge(employeeId, 1, Integer::sum);
+            rows[next - 1] = row;
+        }
+        rowsByEmployee = index;
+    }
+
+    private static double toDouble(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static void writeDeltas(DataOutputStream out, long[] values) throws IOException {
+        long previous = 0;
+        for (long value : values) {
+            writeVarLong(out, value - previous);
+            previous = value;
+        }
+    }
+
+    private static void readDeltas(DataInputStream in, long[] values) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            previous += readVarLong(in);
+            values[i] = previous;
+        }
+    }
+
+    // 0 marks a null; anything else is the offset from the base plus one
+    private static void writeRelative(DataOutputStream out, long[] values, long[] base) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            writeVarLong(out, values[i] == NO_TIME ? 0 : (values[i] - base[i]) + (values[i] >= base[i] ? 1 : 0));
+        }
+    }
+
+    private static void readRelative(DataInputStream in, long[] values, long[] base) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            long offset = readVarLong(in);
+            values[i] = offset == 0 ? NO_TIME : base[i] + (offset > 0 ? offset - 1 : offset);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static void readDoubles(DataInputStream in, double[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed varint in attendance segment");
+    }
+}
@@ -7,13 +7,18 @@ import com.attendancesystem.backend.repository.EmployeeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -33,65 +38,96 @@ public class AttendanceService {
     @Autowired
     private FacialRecognitionService facialRecognitionService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private AttendanceMetrics metrics;
+
     /**
      * Process employee check-in with facial recognition and location verification
      */
     public Attendance checkIn(Long employeeId, String faceImage, double latitude, double longitude) {
+        AttendanceJfrEvents.AttendanceTransaction transactionEvent = transactionEvent(AttendanceMetrics.CHECK_IN, employeeId);
+        long startTime = System.nanoTime();
+        long stageStart = startTime;
         try {
             // Validate employee
             Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+                    .orElseThrow(() -> new AttendanceRejectedException("employee_not_found", "Employee not found"));
 
             if (!employee.isActive()) {
-                throw new RuntimeException("Employee account is disabled");
+                throw new AttendanceRejectedException("employee_disabled", "Employee account is disabled");
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_IN, "employee_lookup", stageStart);
 
             // Check if employee is already checked in today
             Optional<Attendance> existingAttendance = attendanceRepository
                     .findActiveAttendanceByEmployee(employee);
             
             if (existingAttendance.isPresent()) {
-                throw new RuntimeException("Employee is already checked in. Please check out first.");
+                throw new AttendanceRejectedException("already_checked_in",
+                        "Employee is already checked in. Please check out first.");
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_IN, "session_lookup", stageStart);
 
             // Validate location
-            if (!locationService.areCoordinatesValid(latitude, longitude)) {
-                throw new RuntimeException("Invalid GPS coordinates provided");
+            LocationService.LocationValidation location = locationService.validate(latitude, longitude);
+            if (location.getVerdict() == LocationService.LocationValidation.Verdict.INVALID_COORDINATES) {
+                throw new AttendanceRejectedException("invalid_coordinates", "Invalid GPS coordinates provided");
             }
 
-            if (!locationService.isLocationValid(latitude, longitude)) {
-                double distance = locationService.getDistanceFromOffice(latitude, longitude);
-                throw new RuntimeException(String.format(
+            if (!location.isValid()) {
+                throw new AttendanceRejectedException("outside_geofence", String.format(
                     "Location verification failed. You are %.2f km away from office. Please check in from office premises.", 
-                    distance));
+                    location.getDistanceKm()));
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_IN, "location", stageStart);
 
             // Verify face if face encoding exists
             if (employee.getFaceEncoding() != null && !employee.getFaceEncoding().isEmpty()) {
                 if (faceImage == null || faceImage.trim().isEmpty()) {
-                    throw new RuntimeException("Face image is required for check-in");
+                    throw new AttendanceRejectedException("face_required", "Face image is required for check-in");
                 }
 
                 boolean faceMatch = facialRecognitionService.verifyFace(faceImage, employee.getFaceEncoding());
                 if (!faceMatch) {
-                    throw new RuntimeException("Face verification failed. Please ensure your face is clearly visible.");
+                    throw new AttendanceRejectedException("face_mismatch",
+                            "Face verification failed. Please ensure your face is clearly visible.");
                 }
             } else if (faceImage != null && !faceImage.trim().isEmpty()) {
                 // First time check-in - store face encoding
-                String faceEncoding = facialRecognitionService.extractFaceEncoding(faceImage);
+                String faceEncoding;
+                try {
+                    faceEncoding = facialRecognitionService.extractFaceEncoding(faceImage);
+                } catch (RuntimeException e) {
+                    throw new AttendanceRejectedException("face_enrollment_failed", e.getMessage());
+                }
                 employee.setFaceEncoding(faceEncoding);
                 employeeRepository.save(employee);
                 logger.info("Face encoding stored for employee: {}", employee.getEmail());
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_IN, "face", stageStart);
 
             // Create attendance record
             Attendance attendance = new Attendance(employee, LocalDateTime.now(), latitude, longitude);
             attendance = attendanceRepository.save(attendance);
+            eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.Change.CHECKED_IN, attendance));
+            metrics.stage(AttendanceMetrics.CHECK_IN, "save", stageStart);
+            metrics.timeCommit(AttendanceMetrics.CHECK_IN, transactionEvent);
+            metrics.succeeded(AttendanceMetrics.CHECK_IN, startTime);
 
             logger.info("Employee {} checked in successfully at {}", employee.getEmail(), attendance.getCheckInTime());
             return attendance;
 
         } catch (Exception e) {
+            String reason = failureReason(e);
+            metrics.failed(AttendanceMetrics.CHECK_IN, reason, startTime);
+            transactionEvent.outcome = reason;
+            transactionEvent.commit();
             logger.error("Check-in failed for employee {}: {}", employeeId, e.getMessage());
             throw new RuntimeException("Check-in failed: " + e.getMessage());
         }
@@ -101,83 +137,134 @@ public class AttendanceService {
      * Process employee check-out with facial recognition and location verification
      */
     public Attendance checkOut(Long employeeId, String faceImage, double latitude, double longitude) {
+        AttendanceJfrEvents.AttendanceTransaction transactionEvent = transactionEvent(AttendanceMetrics.CHECK_OUT, employeeId);
+        long startTime = System.nanoTime();
+        long stageStart = startTime;
         try {
             // Validate employee
             Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+                    .orElseThrow(() -> new AttendanceRejectedException("employee_not_found", "Employee not found"));
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_OUT, "employee_lookup", stageStart);
 
             // Find active attendance record
             Optional<Attendance> activeAttendance = attendanceRepository
                     .findActiveAttendanceByEmployee(employee);
             
             if (activeAttendance.isEmpty()) {
-                throw new RuntimeException("No active check-in found. Please check in first.");
+                throw new AttendanceRejectedException("not_checked_in",
+                        "No active check-in found. Please check in first.");
             }
 
             Attendance attendance = activeAttendance.get();
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_OUT, "session_lookup", stageStart);
 
             // Validate location
-            if (!locationService.areCoordinatesValid(latitude, longitude)) {
-                throw new RuntimeException("Invalid GPS coordinates provided");
+            LocationService.LocationValidation location = locationService.validate(latitude, longitude);
+            if (location.getVerdict() == LocationService.LocationValidation.Verdict.INVALID_COORDINATES) {
+                throw new AttendanceRejectedException("invalid_coordinates", "Invalid GPS coordinates provided");
             }
 
-            if (!locationService.isLocationValid(latitude, longitude)) {
-                double distance = locationService.getDistanceFromOffice(latitude, longitude);
-                throw new RuntimeException(String.format(
+            if (!location.isValid()) {
+                throw new AttendanceRejectedException("outside_geofence", String.format(
                     "Location verification failed. You are %.2f km away from office. Please check out from office premises.", 
-                    distance));
+                    location.getDistanceKm()));
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_OUT, "location", stageStart);
 
             // Verify face
             if (employee.getFaceEncoding() != null && !employee.getFaceEncoding().isEmpty()) {
                 if (faceImage == null || faceImage.trim().isEmpty()) {
-                    throw new RuntimeException("Face image is required for check-out");
+                    throw new AttendanceRejectedException("face_required", "Face image is required for check-out");
                 }
 
                 boolean faceMatch = facialRecognitionService.verifyFace(faceImage, employee.getFaceEncoding());
                 if (!faceMatch) {
-                    throw new RuntimeException("Face verification failed. Please ensure your face is clearly visible.");
+                    throw new AttendanceRejectedException("face_mismatch",
+                            "Face verification failed. Please ensure your face is clearly visible.");
                 }
             }
+            stageStart = metrics.stage(AttendanceMetrics.CHECK_OUT, "face", stageStart);
 
             // Update attendance record
             attendance.checkOut(LocalDateTime.now(), latitude, longitude);
             attendance = attendanceRepository.save(attendance);
+            eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.Change.CHECKED_OUT, attendance));
+            metrics.stage(AttendanceMetrics.CHECK_OUT, "save", stageStart);
+            metrics.timeCommit(AttendanceMetrics.CHECK_OUT, transactionEvent);
+            metrics.succeeded(AttendanceMetrics.CHECK_OUT, startTime);
 
             logger.info("Employee {} checked out successfully at {}", employee.getEmail(), attendance.getCheckOutTime());
             return attendance;
 
         } catch (Exception e) {
+            String reason = failureReason(e);
+            metrics.failed(AttendanceMetrics.CHECK_OUT, reason, startTime);
+            transactionEvent.outcome = reason;
+            transactionEvent.commit();
             logger.error("Check-out failed for employee {}: {}", employeeId, e.getMessage());
             throw new RuntimeException("Check-out failed: " + e.getMessage());
         }
     }
 
     /**
-     * Get attendance history for an employee
+     * Get attendance history for an employee; without a date range archived rows are limited to the
+     * most recent archived months (app.attendance-archive.history-months)
      */
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceHistory(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate != null && endDate != null) {
-            return attendanceRepository.findByEmployeeIdAndDateRange(employeeId, startDate, endDate);
+            List<Attendance> hot = attendanceRepository.findByEmployeeIdAndDateRange(employeeId, startDate, endDate);
+            return withArchived(hot, employeeId, startDate, endDate);
         } else {
-            return attendanceRepository.findByEmployeeIdOrderByCheckInTimeDesc(employeeId);
+            List<Attendance> hot = attendanceRepository.findByEmployeeIdOrderByCheckInTimeDesc(employeeId);
+            return withArchived(hot, employeeId, null, null);
         }
     }
 
     /**
      * Get all attendance records (admin only)
      */
+    @Transactional(readOnly = true)
     public List<Attendance> getAllAttendanceRecords(LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate != null && endDate != null) {
-            return attendanceRepository.findByDateRange(startDate, endDate);
+            return withArchived(attendanceRepository.findByDateRange(startDate, endDate), null, startDate, endDate);
         } else {
-            return attendanceRepository.findAllOrderByCheckInTimeDesc();
+            return withArchived(attendanceRepository.findAllOrderByCheckInTimeDesc(), null, null, null);
         }
     }
 
+    /**
+     * Merge archived rows for the range into database rows, newest first; a row present in both
+     * (archival interrupted before the delete) is taken from the database
+     */
+    private List<Attendance> withArchived(List<Attendance> hot, Long employeeId,
+                                          LocalDateTime startDate, LocalDateTime endDate) {
+        if (!archiveService.covers(startDate, endDate)) {
+            return hot;
+        }
+        List<Attendance> archived = archiveService.findArchived(employeeId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        Set<Long> hotIds = new HashSet<>();
+        hot.forEach(attendance -> hotIds.add(attendance.getId()));
+        List<Attendance> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        for (Attendance attendance : archived) {
+            if (!hotIds.contains(attendance.getId())) {
+                merged.add(attendance);
+            }
+        }
+        merged.sort(Comparator.comparing(Attendance::getCheckInTime,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+
     /**
      * Get current attendance status for employee
      */
+    @Transactional(readOnly = true)
     public Optional<Attendance> getCurrentAttendanceStatus(Long employeeId) {
         return attendanceRepository.findActiveAttendanceByEmployeeId(employeeId);
     }
@@ -185,36 +272,83 @@ public class AttendanceService {
     /**
      * Get today's attendance for employee
      */
+    @Transactional(readOnly = true)
     public Optional<Attendance> getTodayAttendance(Long employeeId) {
         return attendanceRepository.findByEmployeeIdAndDate(employeeId, LocalDateTime.now());
     }
 
     /**
-     * Calculate total working hours for employee in date range
+     * Calculate total working hours for employee in date range, archived months included
      */
+    @Transactional(readOnly = true)
     public Double getTotalWorkingHours(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
         Double total = attendanceRepository.getTotalWorkingHoursByEmployeeAndDateRange(employeeId, startDate, endDate);
-        return total != null ? total : 0.0;
+        double archivedTotal = 0.0;
+        for (Attendance attendance : archivedOnly(employeeId, startDate, endDate)) {
+            if (attendance.getWorkingHours() != null) {
+                archivedTotal += attendance.getWorkingHours();
+            }
+        }
+        return (total != null ? total : 0.0) + archivedTotal;
     }
 
     /**
-     * Calculate average working hours for employee in date range
+     * Calculate average working hours for employee in date range, archived months included
      */
+    @Transactional(readOnly = true)
     public Double getAverageWorkingHours(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
-        Double average = attendanceRepository.getAverageWorkingHoursByEmployeeAndDateRange(employeeId, startDate, endDate);
-        return average != null ? average : 0.0;
+        List<Attendance> archived = archivedOnly(employeeId, startDate, endDate);
+        if (archived.isEmpty()) {
+            Double average = attendanceRepository.getAverageWorkingHoursByEmployeeAndDateRange(employeeId, startDate, endDate);
+            return average != null ? average : 0.0;
+        }
+
+        Double total = attendanceRepository.getTotalWorkingHoursByEmployeeAndDateRange(employeeId, startDate, endDate);
+        double sum = total != null ? total : 0.0;
+        long count = attendanceRepository.countWithWorkingHoursByEmployeeAndDateRange(employeeId, startDate, endDate);
+        for (Attendance attendance : archived) {
+            if (attendance.getWorkingHours() != null) {
+                sum += attendance.getWorkingHours();
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : 0.0;
     }
 
     /**
-     * Count attendance days for employee in date range
+     * Count attendance days for employee in date range, archived months included
      */
+    @Transactional(readOnly = true)
     public long getAttendanceDaysCount(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
-        return attendanceRepository.countAttendanceByEmployeeAndDateRange(employeeId, startDate, endDate);
+        return attendanceRepository.countAttendanceByEmployeeAndDateRange(employeeId, startDate, endDate)
+                + archivedOnly(employeeId, startDate, endDate).size();
+    }
+
+    /**
+     * Archived rows of the employee in the range that are no longer in the database
+     */
+    private List<Attendance> archivedOnly(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!archiveService.covers(startDate, endDate)) {
+            return List.of();
+        }
+        List<Attendance> archived = archiveService.findArchived(employeeId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        Set<Long> hotIds = new HashSet<>(attendanceRepository.findIdsByEmployeeIdAndDateRange(employeeId, startDate, endDate));
+        List<Attendance> result = new ArrayList<>(archived.size());
+        for (Attendance attendance : archived) {
+            if (!hotIds.contains(attendance.getId())) {
+                result.add(attendance);
+            }
+        }
+        return result;
     }
 
     /**
      * Get currently checked-in employees
      */
+    @Transactional(readOnly = true)
     public List<Attendance> getCurrentlyCheckedInEmployees() {
         return attendanceRepository.findCurrentlyCheckedInEmployees();
     }
@@ -233,11 +367,13 @@ public class AttendanceService {
             Attendance attendance = activeAttendance.get();
             
             // Use last known location or office location for forced check-out
-            double lat = attendance.getCheckInLocationLat() != null ? attendance.getCheckInLocationLat() : 40.7128;
-            double lng = attendance.getCheckInLocationLng() != null ? attendance.getCheckInLocationLng() : -74.0060;
+            LocationService.LocationInfo office = locationService.getAllowedLocation();
+            double lat = attendance.getCheckInLocationLat() != null ? attendance.getCheckInLocationLat() : office.getLatitude();
+            double lng = attendance.getCheckInLocationLng() != null ? attendance.getCheckInLocationLng() : office.getLongitude();
             
-            attendance.checkOut(LocalDateTime.now(), lat, lng);
+            attendance.checkOut(LocalDateTime.now(), lat, lng, Attendance.CheckoutReason.ADMIN_FORCED);
             attendance = attendanceRepository.save(attendance);
+            eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.Change.CHECKED_OUT, attendance));
 
             logger.info("Admin forced check-out for employee ID: {} - Reason: {}", employeeId, reason);
             return attendance;
@@ -247,4 +383,35 @@ public class AttendanceService {
             throw new RuntimeException("Force check-out failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * JFR event spanning the operation; it is committed when the transaction completes or the operation fails
+     */
+    private static AttendanceJfrEvents.AttendanceTransaction transactionEvent(String operation, Long employeeId) {
+        AttendanceJfrEvents.AttendanceTransaction event = new AttendanceJfrEvents.AttendanceTransaction();
+        event.begin();
+        event.operation = operation;
+        event.employeeId = employeeId != null ? employeeId : 0L;
+        return event;
+    }
+
+    private static String failureReason(Exception e) {
+        return e instanceof AttendanceRejectedException rejected ? rejected.getReason() : "error";
+    }
+
+    /**
+     * Check-in or check-out refused for a known reason; the reason is the failure metric tag
+     */
+    private static class AttendanceRejectedException extends RuntimeException {
+        private final String reason;
+
+        AttendanceRejectedException(String reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Closes attendance sessions that were never checked out.
+ * A session is due once it has been open longer than the configured maximum or, when a shift end
+ * is configured, once the first shift end after its check-in has passed; it is closed at whichever
+ * of those comes first, so working hours are not inflated by the forgotten check-out.
+ * <p>
+ * Sessions are processed in id-ordered chunks, each in its own short write transaction, so the single
+ * SQLite writer is never held for long. The admin bulk force-checkout uses the same engine.
+ */
+@Service
+public class AutoCheckoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutoCheckoutService.class);
+
+    public enum Trigger {
+        SCHEDULED, ADMIN
+    }
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.auto-checkout.enabled}")
+    private boolean enabled;
+
+    @Value("${app.auto-checkout.max-session-hours}")
+    private double maxSessionHours;
+
+    @Value("${app.auto-checkout.shift-end}")
+    private String shiftEndProperty;
+
+    @Value("${app.auto-checkout.chunk-size}")
+    private int chunkSize;
+
+    private LocalTime shiftEnd;
+    private TransactionTemplate writeTransaction;
+
+    private final Map<Attendance.CheckoutReason, LongAdder> totalClosed = new EnumMap<>(Attendance.CheckoutReason.class);
+    private volatile RunSummary lastRun;
+
+    @PostConstruct
+    public void init() {
+        shiftEnd = shiftEndProperty == null || shiftEndProperty.isBlank() ? null : LocalTime.parse(shiftEndProperty.trim());
+        writeTransaction = new TransactionTemplate(transactionManager);
+        for (Attendance.CheckoutReason reason : Attendance.CheckoutReason.values()) {
+            totalClosed.put(reason, new LongAdder());
+        }
+        logger.info("Auto check-out {}: max session {} h, shift end {}",
+                enabled ? "enabled" : "disabled", maxSessionHours, shiftEnd != null ? shiftEnd : "none");
+    }
+
+    @Scheduled(cron = "${app.auto-checkout.cron}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            closeStaleSessions();
+        } catch (Exception e) {
+            logger.error("Auto check-out run failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close every open session that is past the maximum duration or its shift end
+     */
+    public synchronized RunSummary closeStaleSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = dueThreshold(now);
+        if (threshold == null) {
+            return recordRun(new RunSummary(Trigger.SCHEDULED, now));
+        }
+
+        RunSummary summary = run(Trigger.SCHEDULED, now,
+                afterId -> attendanceRepository.findOpenSessionsStartedBefore(threshold, afterId, PageRequest.of(0, chunkSize)),
+                attendance -> closingFor(attendance.getCheckInTime(), now));
+        return recordRun(summary);
+    }
+
+    /**
+     * Check out all open sessions of the given employees now
+     */
+    public synchronized RunSummary forceCheckOut(Collection<Long> employeeIds, String note) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(employeeIds);
+        if (ids.isEmpty()) {
+            return recordRun(new RunSummary(Trigger.ADMIN, now));
+        }
+
+        RunSummary summary = run(Trigger.ADMIN, now,
+                afterId -> attendanceRepository.findOpenSessionsForEmployees(ids, afterId, PageRequest.of(0, chunkSize)),
+                attendance -> new Closing(now, Attendance.CheckoutReason.ADMIN_FORCED));
+        logger.info("Admin bulk check-out for {} employee(s) - Reason: {}", ids.size(), note);
+        return recordRun(summary);
+    }
+
+    public RunSummary getLastRun() {
+        return lastRun;
+    }
+
+    public long getTotalClosed(Attendance.CheckoutReason reason) {
+        return totalClosed.get(reason).sum();
+    }
+
+    private RunSummary run(Trigger trigger, LocalDateTime now, LongFunction<List<Attendance>> nextChunk,
+                           Function<Attendance, Closing> closingPolicy) {
+        RunSummary summary = new RunSummary(trigger, now);
+        long startTime = System.currentTimeMillis();
+        LocationService.LocationInfo office = locationService.getAllowedLocation();
+
+        long afterId = 0;
+        int fetched;
+        do {
+            long chunkStart = afterId;
+            ChunkResult chunk = writeTransaction.execute(status -> {
+                ChunkResult result = new ChunkResult();
+                List<Attendance> sessions = nextChunk.apply(chunkStart);
+                result.fetched = sessions.size();
+
+                for (Attendance attendance : sessions) {
+                    result.lastId = attendance.getId();
+                    Closing closing = closingPolicy.apply(attendance);
+                    if (closing == null) {
+                        continue;
+                    }
+
+                    double lat = attendance.getCheckInLocationLat() != null ? attendance.getCheckInLocationLat() : office.getLatitude();
+                    double lng = attendance.getCheckInLocationLng() != null ? attendance.getCheckInLocationLng() : office.getLongitude();
+                    attendance.checkOut(closing.time, lat, lng, closing.reason);
+                    result.closed.add(attendance);
+                }
+
+                // Flushed as one JDBC batch at commit
+                attendanceRepository.saveAll(result.closed);
+                for (Attendance attendance : result.closed) {
+                    eventPublisher.publishEvent(
+                            AttendanceChangedEvent.of(AttendanceChangedEvent.Change.CHECKED_OUT, attendance));
+                }
+                return result;
+            });
+
+            fetched = chunk.fetched;
+            if (fetched > 0) {
+                afterId = chunk.lastId;
+                summary.chunks++;
+                for (Attendance attendance : chunk.closed) {
+                    summary.record(attendance.getCheckoutReason(), attendance.getWorkingHours());
+                }
+            }
+        } while (fetched == chunkSize);
+
+        summary.durationMillis = System.currentTimeMillis() - startTime;
+        return summary;
+    }
+
+    private RunSummary recordRun(RunSummary summary) {
+        summary.closedByReason.forEach((reason, count) -> totalClosed.get(reason).add(count));
+        lastRun = summary;
+        if (summary.getSessionsClosed() > 0 || summary.getTrigger() == Trigger.ADMIN) {
+            logger.info("Auto check-out ({}): closed {} session(s) {} in {} chunk(s), {} ms",
+                    summary.getTrigger(), summary.getSessionsClosed(), summary.getClosedByReason(),
+                    summary.getChunks(), summary.getDurationMillis());
+        }
+        return summary;
+    }
+
+    /**
+     * Sessions that started before this instant may be due; null when no rule is configured
+     */
+    private LocalDateTime dueThreshold(LocalDateTime now) {
+        LocalDateTime threshold = null;
+        if (maxSessionHours > 0) {
+            threshold = now.minusMinutes(Math.round(maxSessionHours * 60));
+        }
+        if (shiftEnd != null) {
+            LocalDateTime lastShiftEnd = now.toLocalDate().atTime(shiftEnd);
+            if (lastShiftEnd.isAfter(now)) {
+                lastShiftEnd = lastShiftEnd.minusDays(1);
+            }
+            if (threshold == null || lastShiftEnd.isAfter(threshold)) {
+                threshold = lastShiftEnd;
+            }
+        }
+        return threshold;
+    }
+
+    private Closing closingFor(LocalDateTime checkInTime, LocalDateTime now) {
+        if (checkInTime == null) {
+            return new Closing(now, Attendance.CheckoutReason.AUTO_MAX_DURATION);
+        }
+
+        Closing closing = null;
+        if (maxSessionHours > 0) {
+            closing = new Closing(checkInTime.plusMinutes(Math.round(maxSessionHours * 60)),
+                    Attendance.CheckoutReason.AUTO_MAX_DURATION);
+        }
+        if (shiftEnd != null) {
+            LocalDateTime nextShiftEnd = checkInTime.toLocalDate().atTime(shiftEnd);
+            if (!nextShiftEnd.isAfter(checkInTime)) {
+                nextShiftEnd = nextShiftEnd.plusDays(1);
+            }
+            if (closing == null || nextShiftEnd.isBefore(closing.time)) {
+                closing = new Closing(nextShiftEnd, Attendance.CheckoutReason.AUTO_SHIFT_END);
+            }
+        }
+        return closing != null && !closing.time.isAfter(now) ? closing : null;
+    }
+
+    private static class Closing {
+        private final LocalDateTime time;
+        private final Attendance.CheckoutReason reason;
+
+        Closing(LocalDateTime time, Attendance.CheckoutReason reason) {
+            this.time = time;
+            this.reason = reason;
+        }
+    }
+
+    private static class ChunkResult {
+        private int fetched;
+        private long lastId;
+        private final List<Attendance> closed = new ArrayList<>();
+    }
+
+    /**
+     * Outcome of one auto or bulk check-out run
+     */
+    public static class RunSummary {
+        private final Trigger trigger;
+        private final LocalDateTime startedAt;
+        private final Map<Attendance.CheckoutReason, Integer> closedByReason = new EnumMap<>(Attendance.CheckoutReason.class);
+        private int sessionsClosed;
+        private double hoursCredited;
+        private int chunks;
+        private long durationMillis;
+
+        RunSummary(Trigger trigger, LocalDateTime startedAt) {
+            this.trigger = trigger;
+            this.startedAt = startedAt;
+        }
+
+        void record(Attendance.CheckoutReason reason, Double workingHours) {
+            closedByReason.merge(reason, 1, Integer::sum);
+            sessionsClosed++;
+            hoursCredited += workingHours != null ? workingHours : 0.0;
+        }
+
+        public Trigger getTrigger() {
+            return trigger;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public Map<Attendance.CheckoutReason, Integer> getClosedByReason() {
+            return closedByReason;
+        }
+
+        public int getSessionsClosed() {
+            return sessionsClosed;
+        }
+
+        public double getHoursCredited() {
+            return hoursCredited;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.DashboardSummary;
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Admin dashboard tiles served from in-memory counters.
+ * Counters follow committed attendance and employee events and are periodically reconciled against
+ * the database; deltas that arrive while a reconciliation is reading are replayed on top of its result.
+ * The assembled summary is cached for a short time so concurrent viewers share one instance.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.cache-ttl-ms}")
+    private long cacheTtlMillis;
+
+    @Value("${app.dashboard.recent-activity-size}")
+    private int recentActivitySize;
+
+    // Guarded by "this"
+    private Counts counts = new Counts();
+    private Counts pendingDeltas;
+    private LocalDate countsDate = LocalDate.now();
+    private LocalDateTime lastReconciledAt;
+    private final Deque<DashboardSummary.RecentActivity> recentActivity = new ArrayDeque<>();
+
+    private volatile CachedSummary cachedSummary;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms}",
+               initialDelayString = "${app.dashboard.reconcile-interval-ms}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Current dashboard summary; rebuilt from the counters at most once per cache TTL
+     */
+    public DashboardSummary getSummary() {
+        CachedSummary cached = cachedSummary;
+        long now = System.nanoTime();
+        if (cached != null && now - cached.createdAtNanos < cacheTtlMillis * 1_000_000L) {
+            return cached.summary;
+        }
+
+        DashboardSummary summary;
+        synchronized (this) {
+            rollOverDayIfNeeded();
+            summary = new DashboardSummary(countsDate, counts.totalEmployees, counts.activeEmployees,
+                    counts.checkedIn, counts.checkInsToday, counts.checkOutsToday, counts.hoursToday,
+                    new ArrayList<>(recentActivity), LocalDateTime.now(), lastReconciledAt);
+        }
+        cachedSummary = new CachedSummary(summary, now);
+        return summary;
+    }
+
+    /**
+     * Open sessions from the live counters, for the metrics gauge
+     */
+    public synchronized long getCheckedInCount() {
+        return counts.checkedIn;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        boolean checkIn = event.getChange() == AttendanceChangedEvent.Change.CHECKED_IN;
+        double hours = event.getWorkingHours() != null ? event.getWorkingHours() : 0.0;
+
+        synchronized (this) {
+            applyDelta(delta -> {
+                if (checkIn) {
+                    delta.checkedIn++;
+                    delta.checkInsToday++;
+                } else {
+                    delta.checkedIn--;
+                    delta.checkOutsToday++;
+                    delta.hoursToday += hours;
+                }
+            });
+
+            recentActivity.addFirst(new DashboardSummary.RecentActivity(event.getAttendanceId(),
+                    event.getEmployeeId(), event.getEmployeeName(), checkIn ? "check_in" : "check_out",
+                    checkIn ? event.getCheckInTime() : event.getCheckOutTime()));
+            while (recentActivity.size() > recentActivitySize) {
+                recentActivity.removeLast();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        int count = event.getEmployeeIds().size();
+        switch (event.getChange()) {
+            case CREATED -> applyDeltaSynchronized(delta -> {
+                delta.totalEmployees += count;
+                delta.activeEmployees += count;
+            });
+            case ACTIVATED -> applyDeltaSynchronized(delta -> delta.activeEmployees += count);
+            case DEACTIVATED -> applyDeltaSynchronized(delta -> delta.activeEmployees -= count);
+            // Whether deleted employees were active (or checked in) is no longer known
+            case DELETED -> reconcile();
+        }
+    }
+
+    /**
+     * Replace the counters with fresh database counts
+     */
+    public void reconcile() {
+        LocalDate day;
+        synchronized (this) {
+            if (pendingDeltas != null) {
+                return;
+            }
+            rollOverDayIfNeeded();
+            day = countsDate;
+            pendingDeltas = new Counts();
+        }
+
+        Counts fresh = null;
+        List<DashboardSummary.RecentActivity> recent = null;
+        try {
+            LocalDateTime since = day.atStartOfDay();
+            fresh = readTransaction.execute(status -> {
+                Counts loaded = new Counts();
+                loaded.totalEmployees = employeeRepository.count();
+                loaded.activeEmployees = employeeRepository.countActiveEmployees();
+                loaded.checkedIn = attendanceRepository.countCurrentlyCheckedIn();
+                loaded.checkInsToday = attendanceRepository.countCheckInsSince(since);
+                loaded.checkOutsToday = attendanceRepository.countCheckOutsSince(since);
+                Double hours = attendanceRepository.sumWorkingHoursCheckedOutSince(since);
+                loaded.hoursToday = hours != null ? hours : 0.0;
+                return loaded;
+            });
+
+            recent = readTransaction.execute(status -> {
+                List<DashboardSummary.RecentActivity> activity = new ArrayList<>();
+                for (Attendance attendance : attendanceRepository.findRecentlyUpdated(PageRequest.of(0, recentActivitySize))) {
+                    activity.add(toRecentActivity(attendance));
+                }
+                return activity;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to reconcile dashboard counters: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                if (fresh != null && day.equals(countsDate)) {
+                    fresh.add(pendingDeltas);
+                    counts = fresh;
+                    lastReconciledAt = LocalDateTime.now();
+                    if (recentActivity.isEmpty() && recent != null) {
+                        recentActivity.addAll(recent);
+                    }
+                }
+                pendingDeltas = null;
+            }
+        }
+        cachedSummary = null;
+    }
+
+    private void applyDeltaSynchronized(Consumer<Counts> change) {
+        synchronized (this) {
+            applyDelta(change);
+        }
+    }
+
+    private void applyDelta(Consumer<Counts> change) {
+        rollOverDayIfNeeded();
+        change.accept(counts);
+        if (pendingDeltas != null) {
+            change.accept(pendingDeltas);
+        }
+    }
+
+    private void rollOverDayIfNeeded() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(countsDate)) {
+            // Open sessions carry over; the per-day tiles start from zero
+            counts.checkInsToday = 0;
+            counts.checkOutsToday = 0;
+            counts.hoursToday = 0.0;
+            countsDate = today;
+        }
+    }
+
+    private static DashboardSummary.RecentActivity toRecentActivity(Attendance attendance) {
+        boolean checkedOut = attendance.getStatus() == Attendance.AttendanceStatus.CHECKED_OUT;
+        return new DashboardSummary.RecentActivity(attendance.getId(), attendance.getEmployeeId(),
+                attendance.getEmployeeName(), checkedOut ? "check_out" : "check_in",
+                checkedOut ? attendance.getCheckOutTime() : attendance.getCheckInTime());
+    }
+
+    private static class Counts {
+        private long totalEmployees;
+        private long activeEmployees;
+        private long checkedIn;
+        private long checkInsToday;
+        private long checkOutsToday;
+        private double hoursToday;
+
+        void add(Counts other) {
+            totalEmployees += other.totalEmployees;
+            activeEmployees += other.activeEmployees;
+            checkedIn += other.checkedIn;
+            checkInsToday += other.checkInsToday;
+            checkOutsToday += other.checkOutsToday;
+            hoursToday += other.hoursToday;
+        }
+    }
+
+    private static class CachedSummary {
+        private final DashboardSummary summary;
+        private final long createdAtNanos;
+
+        CachedSummary(DashboardSummary summary, long createdAtNanos) {
+            this.summary = summary;
+            this.createdAtNanos = createdAtNanos;
+        }
+    }
+}
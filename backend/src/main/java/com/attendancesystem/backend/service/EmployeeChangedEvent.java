@@ -0,0 +1,30 @@
+package com.attendancesystem.backend.service;
+
+import java.util.List;
+
+/**
+ * Published when employees are created, (de)activated or deleted, so derived in-memory state can follow.
+ * Only changes that actually flip an employee's state are published.
+ */
+public class EmployeeChangedEvent {
+
+    public enum Change {
+        CREATED, ACTIVATED, DEACTIVATED, DELETED
+    }
+
+    private final Change change;
+    private final List<Long> employeeIds;
+
+    public EmployeeChangedEvent(Change change, List<Long> employeeIds) {
+        this.change = change;
+        this.employeeIds = employeeIds;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    public List<Long> getEmployeeIds() {
+        return employeeIds;
+    }
+}
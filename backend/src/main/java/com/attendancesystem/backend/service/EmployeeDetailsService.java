@@ -8,6 +8,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EmployeeDetailsService implements UserDetailsService {
@@ -15,6 +16,7 @@ public class EmployeeDetailsService implements UserDetailsService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Transactional(readOnly = true)
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Employee employee = employeeRepository.findByEmailAndIsActive(email, true)
@@ -23,6 +25,7 @@ public class EmployeeDetailsService implements UserDetailsService {
         return new EmployeeUserDetails(employee);
     }
 
+    @Transactional(readOnly = true)
     public UserDetails loadUserByEmployeeId(Long employeeId) throws UsernameNotFoundException {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new UsernameNotFoundException("Employee not found with ID: " + employeeId));
@@ -0,0 +1,159 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeePage;
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged employee listing backed by a constructor projection (no password hash or face template)
+ * and keyset pagination: each page continues after the (sort value, id) of the previous page's last row,
+ * so deep pages cost the same as the first one and rows inserted meanwhile do not shift the pages.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeListingService {
+
+    public enum SortField {
+        ID("id"), EMAIL("email"), FIRST_NAME("firstName"), LAST_NAME("lastName");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.employee-listing.default-page-size}")
+    private int defaultPageSize;
+
+    @Value("${app.employee-listing.max-page-size}")
+    private int maxPageSize;
+
+    /**
+     * Fetch one page. {@code cursor} is null for the first page; filters are optional.
+     */
+    public EmployeePage listEmployees(SortField sort, boolean descending, Boolean active, Employee.Role role,
+                                      Integer pageSize, String cursor) {
+        int size = pageSize == null ? defaultPageSize : Math.max(1, Math.min(pageSize, maxPageSize));
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.attendancesystem.backend.dto.EmployeeSummary(e.id, e.email, e.firstName, e.lastName, " +
+                "e.role, e.isActive, CASE WHEN e.faceEncoding IS NOT NULL THEN true ELSE false END, " +
+                "e.createdAt, e.updatedAt) FROM Employee e WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (active != null) {
+            jpql.append(" AND e.isActive = :active");
+            parameters.put("active", active);
+        }
+        if (role != null) {
+            jpql.append(" AND e.role = :role");
+            parameters.put("role", role);
+        }
+
+        String comparison = descending ? "<" : ">";
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = decodeCursor(cursor, sort, descending);
+            if (sort == SortField.ID) {
+                jpql.append(" AND e.id ").append(comparison).append(" :afterId");
+            } else {
+                String column = "e." + sort.property;
+                jpql.append(" AND (").append(column).append(' ').append(comparison).append(" :afterValue OR (")
+                        .append(column).append(" = :afterValue AND e.id ").append(comparison).append(" :afterId))");
+                parameters.put("afterValue", position.value);
+            }
+            parameters.put("afterId", position.id);
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ");
+        if (sort != SortField.ID) {
+            jpql.append("e.").append(sort.property).append(direction).append(", ");
+        }
+        jpql.append("e.id").append(direction);
+
+        TypedQuery<EmployeeSummary> query = entityManager.createQuery(jpql.toString(), EmployeeSummary.class);
+        parameters.forEach(query::setParameter);
+        // One extra row tells whether another page exists without a COUNT query
+        query.setMaxResults(size + 1);
+
+        List<EmployeeSummary> rows = new ArrayList<>(query.getResultList());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows.remove(size);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(sort, descending, rows.get(rows.size() - 1)) : null;
+        return new EmployeePage(rows, size, hasMore, nextCursor);
+    }
+
+    public static SortField parseSortField(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return SortField.ID;
+        }
+        for (SortField field : SortField.values()) {
+            if (field.property.equalsIgnoreCase(sort) || field.name().equalsIgnoreCase(sort)) {
+                return field;
+            }
+        }
+        throw new InvalidPageRequestException("Unsupported sort field: " + sort);
+    }
+
+    private static String encodeCursor(SortField sort, boolean descending, EmployeeSummary last) {
+        String value = switch (sort) {
+            case ID -> "";
+            case EMAIL -> last.getEmail();
+            case FIRST_NAME -> last.getFirstName();
+            case LAST_NAME -> last.getLastName();
+        };
+        String raw = sort.name() + ":" + (descending ? "desc" : "asc") + ":" + last.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor, SortField sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+
+        String expectedDirection = descending ? "desc" : "asc";
+        if (parts.length != 4 || !parts[0].equals(sort.name())
+                || !parts[1].equals(expectedDirection)) {
+            throw new InvalidPageRequestException("Cursor does not match the requested sort order");
+        }
+
+        try {
+            return new Cursor(Long.parseLong(parts[2]), parts[3]);
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+
+    private static class Cursor {
+        private final long id;
+        private final String value;
+
+        Cursor(long id, String value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
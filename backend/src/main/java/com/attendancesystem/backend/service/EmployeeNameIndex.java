@@ -0,0 +1,397 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory n-gram index over employee names for the admin search box.
+ * Every name is indexed by its character unigrams, bigrams and trigrams, so any query term of one
+ * or more characters has a gram that every name containing it must have. A query only scans the
+ * posting list of its rarest gram and verifies those candidates, so lookups stay well below a
+ * millisecond regardless of the number of employees, and never touch the database.
+ * <p>
+ * {@link EmployeeService}, the import and the purge keep the index current after each commit;
+ * a periodic rebuild from the database picks up anything changed elsewhere and drops tombstones.
+ */
+@Component
+public class EmployeeNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    // Pads unigrams and bigrams so they never collide with trigrams
+    private static final char PAD = '\u0001';
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexData data = new IndexData();
+    // Changes applied while a rebuild is loading, replayed onto the new index before it is swapped in
+    private List<Consumer<IndexData>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.employee-search.rebuild-interval-ms}",
+               initialDelayString = "${app.employee-search.rebuild-interval-ms}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to rebuild employee name index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from the database without blocking searches while rows are loaded
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData rebuilt = new IndexData();
+        boolean loaded = false;
+        try {
+            TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+            readTransaction.setReadOnly(true);
+            List<EmployeeSummary> employees = readTransaction.execute(status -> employeeRepository.findAllSummaries());
+            if (employees != null) {
+                employees.forEach(rebuilt::put);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pendingChanges.forEach(change -> change.accept(rebuilt));
+                    data = rebuilt;
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("Employee name index built with {} employee(s) in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Add or replace an employee once the surrounding transaction commits
+     */
+    public void indexAfterCommit(Employee employee) {
+        EmployeeSummary summary = EmployeeSummary.from(employee);
+        afterCommit(() -> index(summary));
+    }
+
+    /**
+     * Remove employees once the surrounding transaction commits
+     */
+    public void removeAfterCommit(Collection<Long> employeeIds) {
+        List<Long> ids = new ArrayList<>(employeeIds);
+        afterCommit(() -> remove(ids));
+    }
+
+    public void index(EmployeeSummary employee) {
+        apply(index -> index.put(employee));
+    }
+
+    public void indexAll(Collection<Employee> employees) {
+        List<EmployeeSummary> summaries = new ArrayList<>(employees.size());
+        employees.forEach(employee -> summaries.add(EmployeeSummary.from(employee)));
+        apply(index -> summaries.forEach(index::put));
+    }
+
+    public void remove(Collection<Long> employeeIds) {
+        apply(index -> employeeIds.forEach(index::remove));
+    }
+
+    /**
+     * Find employees whose name contains the query, best matches first.
+     * Exact names rank above full-name prefixes, then name-part prefixes, then infix matches.
+     */
+    public List<EmployeeSummary> search(String query, int limit) {
+        String[] terms = normalize(query).split(" ");
+        if (limit <= 0 || terms[0].isEmpty()) {
+            return List.of();
+        }
+        String phrase = String.join(" ", terms);
+
+        lock.readLock().lock();
+        try {
+            int[] posting = data.rarestPosting(terms);
+            if (posting == null) {
+                return List.of();
+            }
+
+            // Max-heap on rank keeps only the best "limit" matches
+            PriorityQueue<RankedMatch> best = new PriorityQueue<>(Math.min(limit, posting[0]) + 1,
+                    RankedMatch.ORDER.reversed());
+            for (int i = 1; i <= posting[0]; i++) {
+                Entry entry = data.entries[posting[i]];
+                if (entry == null || !entry.matchesAll(terms)) {
+                    continue;
+                }
+                best.add(new RankedMatch(entry, entry.rank(phrase)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            RankedMatch[] ranked = best.toArray(new RankedMatch[0]);
+            Arrays.sort(ranked, RankedMatch.ORDER);
+            List<EmployeeSummary> results = new ArrayList<>(ranked.length);
+            for (RankedMatch match : ranked) {
+                results.add(match.entry.employee);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static long gramKey(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Keys that every name containing the term must have: its trigrams, or the term itself when shorter
+     */
+    private static long[] gramKeys(String term) {
+        if (term.length() == 1) {
+            return new long[] {gramKey(PAD, PAD, term.charAt(0))};
+        }
+        if (term.length() == 2) {
+            return new long[] {gramKey(PAD, term.charAt(0), term.charAt(1))};
+        }
+        long[] keys = new long[term.length() - 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = gramKey(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+        }
+        return keys;
+    }
+
+    /**
+     * Mutable index state; only touched while holding the lock (or before being published)
+     */
+    private static class IndexData {
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private final Map<Long, int[]> postings = new HashMap<>();
+        private Entry[] entries = new Entry[1024];
+        private int nextSlot;
+
+        void put(EmployeeSummary employee) {
+            remove(employee.getId());
+
+            // Updates take a new slot; the old one stays as a tombstone until the next rebuild
+            if (nextSlot == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            int slot = nextSlot++;
+            Entry entry = new Entry(employee);
+            entries[slot] = entry;
+            slotsById.put(employee.getId(), slot);
+
+            for (long key : entry.indexKeys()) {
+                int[] posting = postings.get(key);
+                if (posting == null) {
+                    posting = new int[5];
+                } else if (posting[0] + 1 == posting.length) {
+                    posting = Arrays.copyOf(posting, posting.length * 2);
+                }
+                // Element 0 holds the size so postings can grow without a wrapper object
+                posting[++posting[0]] = slot;
+                postings.put(key, posting);
+            }
+        }
+
+        void remove(Long employeeId) {
+            Integer slot = slotsById.remove(employeeId);
+            if (slot != null) {
+                entries[slot] = null;
+            }
+        }
+
+        int size() {
+            return slotsById.size();
+        }
+
+        /**
+         * The smallest posting list among all terms' grams, or null if any gram is absent
+         */
+        int[] rarestPosting(String[] terms) {
+            int[] rarest = null;
+            for (String term : terms) {
+                for (long key : gramKeys(term)) {
+                    int[] posting = postings.get(key);
+                    if (posting == null) {
+                        return null;
+                    }
+                    if (rarest == null || posting[0] < rarest[0]) {
+                        rarest = posting;
+                    }
+                }
+            }
+            return rarest;
+        }
+    }
+
+    private static class Entry {
+        private final EmployeeSummary employee;
+        private final String fullName;
+        private final String[] nameParts;
+
+        Entry(EmployeeSummary employee) {
+            this.employee = employee;
+            String first = normalize(employee.getFirstName());
+            String last = normalize(employee.getLastName());
+            this.fullName = (first + " " + last).trim();
+            this.nameParts = fullName.split(" ");
+        }
+
+        long[] indexKeys() {
+            Set<Long> keys = new HashSet<>();
+            for (int i = 0; i + 2 < fullName.length(); i++) {
+                keys.add(gramKey(fullName.charAt(i), fullName.charAt(i + 1), fullName.charAt(i + 2)));
+            }
+            for (int i = 0; i < fullName.length(); i++) {
+                keys.add(gramKey(PAD, PAD, fullName.charAt(i)));
+                if (i + 1 < fullName.length()) {
+                    keys.add(gramKey(PAD, fullName.charAt(i), fullName.charAt(i + 1)));
+                }
+            }
+            long[] result = new long[keys.size()];
+            int i = 0;
+            for (Long key : keys) {
+                result[i++] = key;
+            }
+            return result;
+        }
+
+        boolean matchesAll(String[] terms) {
+            for (String term : terms) {
+                if (!fullName.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int rank(String phrase) {
+            if (fullName.equals(phrase)) {
+                return 0;
+            }
+            for (String part : nameParts) {
+                if (part.equals(phrase)) {
+                    return 1;
+                }
+            }
+            if (fullName.startsWith(phrase)) {
+                return 2;
+            }
+            return hasPartStartingWith(phrase) ? 3 : 4;
+        }
+
+        private boolean hasPartStartingWith(String prefix) {
+            for (String part : nameParts) {
+                if (part.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class RankedMatch {
+        static final Comparator<RankedMatch> ORDER = Comparator
+                .comparingInt((RankedMatch match) -> match.rank)
+                .thenComparingInt(match -> match.entry.fullName.length())
+                .thenComparing(match -> match.entry.fullName)
+                .thenComparing(match -> match.entry.employee.getId());
+
+        private final Entry entry;
+        private final int rank;
+
+        RankedMatch(Entry entry, int rank) {
+            this.entry = entry;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.repository.KioskPunchEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Permanent employee deletion with set-based DELETE statements.
+ * Attendance rows and kiosk punch events are removed in bounded chunks, each in its own short
+ * transaction, so the single SQLite writer is released between chunks and check-ins keep flowing.
+ * Whatever was committed for the employees after the last chunk is deleted in the same transaction
+ * as the employee rows; SQLite does not enforce the foreign keys, so nothing else would catch it.
+ */
+@Service
+public class EmployeePurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeePurgeService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private KioskPunchEventRepository kioskPunchEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.employee-purge.attendance-chunk-size}")
+    private int attendanceChunkSize;
+
+    @Value("${app.employee-purge.employee-batch-size}")
+    private int employeeBatchSize;
+
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService purgeExecutor;
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        // One purge at a time - they all compete for the same writer anyway
+        purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    /**
+     * Delete one employee and all of their attendance records and kiosk punches, chunk by chunk;
+     * returns the number of attendance records deleted
+     */
+    public long deleteEmployeePermanently(Long employeeId) {
+        PurgeJob job = new PurgeJob(null, 1);
+        deleteEmployees(List.of(employeeId), job);
+        return job.getAttendanceDeleted();
+    }
+
+    /**
+     * Start an asynchronous purge of many employees; progress is available through {@link #getJob(String)}
+     */
+    public PurgeJob startPurge(Collection<Long> employeeIds) {
+        LocalDateTime retentionCutoff = LocalDateTime.now().minusDays(1);
+        jobs.values().removeIf(existing -> existing.finishedAt != null && existing.finishedAt.isBefore(retentionCutoff));
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), ids.size());
+        jobs.put(job.getJobId(), job);
+        purgeExecutor.submit(() -> runPurge(job, ids));
+        logger.info("Employee purge {} queued for {} employee(s)", job.getJobId(), ids.size());
+        return job;
+    }
+
+    public Optional<PurgeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void runPurge(PurgeJob job, List<Long> ids) {
+        job.status = PurgeStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            for (int from = 0; from < ids.size(); from += employeeBatchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + employeeBatchSize, ids.size()));
+
+                deleteEmployees(batch, job);
+                employeeNameIndex.remove(batch);
+                job.employeesProcessed.addAndGet(batch.size());
+                logger.debug("Employee purge {}: {}/{} employees processed",
+                        job.getJobId(), job.getEmployeesProcessed(), job.getEmployeesTotal());
+            }
+            job.status = PurgeStatus.COMPLETED;
+            logger.info("Employee purge {} completed: {} employees, {} attendance records, {} kiosk punches deleted",
+                    job.getJobId(), job.getEmployeesDeleted(), job.getAttendanceDeleted(), job.getPunchEventsDeleted());
+
+        } catch (Exception e) {
+            job.status = PurgeStatus.FAILED;
+            job.error = e.getMessage();
+            logger.error("Employee purge {} failed: {}", job.getJobId(), e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            if (job.getEmployeesDeleted() > 0) {
+                eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Change.DELETED, ids));
+            }
+        }
+    }
+
+    private void deleteEmployees(List<Long> employeeIds, PurgeJob job) {
+        deleteInChunks(() -> attendanceRepository.deleteChunkByEmployeeIds(employeeIds, attendanceChunkSize),
+                job.attendanceDeleted);
+        deleteInChunks(() -> kioskPunchEventRepository.deleteChunkByEmployeeIds(employeeIds, attendanceChunkSize),
+                job.punchEventsDeleted);
+
+        // Rows committed since the last chunk go with the employees, so none are left orphaned
+        writeTransaction.executeWithoutResult(status -> {
+            job.attendanceDeleted.addAndGet(attendanceRepository.deleteByEmployeeIds(employeeIds));
+            job.punchEventsDeleted.addAndGet(kioskPunchEventRepository.deleteByEmployeeIds(employeeIds));
+            job.employeesDeleted.addAndGet(employeeRepository.deleteByIdIn(employeeIds));
+        });
+    }
+
+    private void deleteInChunks(IntSupplier deleteChunk, AtomicLong counter) {
+        int deleted;
+        do {
+            Integer result = writeTransaction.execute(status -> deleteChunk.getAsInt());
+            deleted = result != null ? result : 0;
+            counter.addAndGet(deleted);
+        } while (deleted > 0);
+    }
+
+    public enum PurgeStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Progress of a bulk purge
+     */
+    public static class PurgeJob {
+        private final String jobId;
+        private final int employeesTotal;
+        private final AtomicInteger employeesProcessed = new AtomicInteger();
+        private final AtomicInteger employeesDeleted = new AtomicInteger();
+        private final AtomicLong attendanceDeleted = new AtomicLong();
+        private final AtomicLong punchEventsDeleted = new AtomicLong();
+        private volatile PurgeStatus status = PurgeStatus.QUEUED;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        PurgeJob(String jobId, int employeesTotal) {
+            this.jobId = jobId;
+            this.employeesTotal = employeesTotal;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public int getEmployeesTotal() {
+            return employeesTotal;
+        }
+
+        public int getEmployeesProcessed() {
+            return employeesProcessed.get();
+        }
+
+        public int getEmployeesDeleted() {
+            return employeesDeleted.get();
+        }
+
+        public long getAttendanceDeleted() {
+            return attendanceDeleted.get();
+        }
+
+        public long getPunchEventsDeleted() {
+            return punchEventsDeleted.get();
+        }
+
+        public PurgeStatus getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+    }
+}
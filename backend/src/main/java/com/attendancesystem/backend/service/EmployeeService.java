@@ -1,16 +1,24 @@
 package com.attendancesystem.backend.service;
 
+import com.attendancesystem.backend.dto.EmployeeSummary;
 import com.attendancesystem.backend.model.Employee;
 import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.security.PasswordHashingRejectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,6 +33,21 @@ public class EmployeeService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EmployeePurgeService employeePurgeService;
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.employee-search.default-limit}")
+    private int defaultSearchLimit;
+
+    @Value("${app.employee-search.max-limit}")
+    private int maxSearchLimit;
+
     /**
      * Create a new employee
      */
@@ -44,9 +67,14 @@ public class EmployeeService {
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeNameIndex.indexAfterCommit(savedEmployee);
+            publishChange(EmployeeChangedEvent.Change.CREATED, savedEmployee.getId());
             logger.info("Employee created successfully: {}", savedEmployee.getEmail());
             return savedEmployee;
 
+        } catch (PasswordHashingRejectedException e) {
+            // Keep the 429 instead of turning a saturated hashing pool into a 500
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to create employee: {}", e.getMessage());
             throw new RuntimeException("Failed to create employee: " + e.getMessage());
@@ -80,9 +108,12 @@ public class EmployeeService {
             }
 
             Employee savedEmployee = employeeRepository.save(existingEmployee);
+            employeeNameIndex.indexAfterCommit(savedEmployee);
             logger.info("Employee updated successfully: {}", savedEmployee.getEmail());
             return savedEmployee;
 
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to update employee {}: {}", id, e.getMessage());
             throw new RuntimeException("Failed to update employee: " + e.getMessage());
@@ -92,6 +123,7 @@ public class EmployeeService {
     /**
      * Get employee by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Employee> getEmployeeById(Long id) {
         return employeeRepository.findById(id);
     }
@@ -99,6 +131,7 @@ public class EmployeeService {
     /**
      * Get employee by email
      */
+    @Transactional(readOnly = true)
     public Optional<Employee> getEmployeeByEmail(String email) {
         return employeeRepository.findByEmail(email);
     }
@@ -106,6 +139,7 @@ public class EmployeeService {
     /**
      * Get all active employees
      */
+    @Transactional(readOnly = true)
     public List<Employee> getAllActiveEmployees() {
         return employeeRepository.findByIsActive(true);
     }
@@ -113,6 +147,7 @@ public class EmployeeService {
     /**
      * Get all employees (including inactive)
      */
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
@@ -125,10 +160,15 @@ public class EmployeeService {
             Employee employee = employeeRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
 
+            boolean changed = employee.isActive();
             employee.setActive(false);
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeNameIndex.indexAfterCommit(savedEmployee);
+            if (changed) {
+                publishChange(EmployeeChangedEvent.Change.DEACTIVATED, savedEmployee.getId());
+            }
             logger.info("Employee deactivated: {}", savedEmployee.getEmail());
             return savedEmployee;
 
@@ -146,10 +186,15 @@ public class EmployeeService {
             Employee employee = employeeRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
 
+            boolean changed = !employee.isActive();
             employee.setActive(true);
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeNameIndex.indexAfterCommit(savedEmployee);
+            if (changed) {
+                publishChange(EmployeeChangedEvent.Change.ACTIVATED, savedEmployee.getId());
+            }
             logger.info("Employee activated: {}", savedEmployee.getEmail());
             return savedEmployee;
 
@@ -160,15 +205,19 @@ public class EmployeeService {
     }
 
     /**
-     * Delete employee permanently
+     * Delete employee permanently.
+     * Runs outside a transaction so attendance can be removed in short chunked transactions.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteEmployee(Long id) {
         try {
             Employee employee = employeeRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-            employeeRepository.delete(employee);
-            logger.info("Employee deleted permanently: {}", employee.getEmail());
+            long attendanceDeleted = employeePurgeService.deleteEmployeePermanently(id);
+            employeeNameIndex.remove(List.of(id));
+            publishChange(EmployeeChangedEvent.Change.DELETED, id);
+            logger.info("Employee deleted permanently: {} ({} attendance records)", employee.getEmail(), attendanceDeleted);
 
         } catch (Exception e) {
             logger.error("Failed to delete employee {}: {}", id, e.getMessage());
@@ -177,15 +226,41 @@ public class EmployeeService {
     }
 
     /**
-     * Search employees by name
+     * Search employees by name, best matches first, at most app.employee-search.max-limit of them
      */
+    @Transactional(readOnly = true)
     public List<Employee> searchEmployeesByName(String name) {
-        return employeeRepository.findByNameContainingIgnoreCase(name);
+        List<Long> ids = new ArrayList<>();
+        // The cap also bounds the IN list below; a one-letter query matches most of the company
+        for (EmployeeSummary summary : employeeNameIndex.search(name, maxSearchLimit)) {
+            ids.add(summary.getId());
+        }
+
+        Map<Long, Employee> employeesById = new HashMap<>();
+        employeeRepository.findAllById(ids).forEach(employee -> employeesById.put(employee.getId(), employee));
+
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Name search served entirely from the in-memory index, for search-as-you-type
+     */
+    public List<EmployeeSummary> searchEmployeeSummaries(String name, Integer limit) {
+        int effectiveLimit = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxSearchLimit));
+        return employeeNameIndex.search(name, effectiveLimit);
     }
 
     /**
      * Get employees by role
      */
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesByRole(Employee.Role role) {
         return employeeRepository.findByRole(role);
     }
@@ -193,6 +268,7 @@ public class EmployeeService {
     /**
      * Get active employees count
      */
+    @Transactional(readOnly = true)
     public long getActiveEmployeesCount() {
         return employeeRepository.countActiveEmployees();
     }
@@ -209,6 +285,7 @@ public class EmployeeService {
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeNameIndex.indexAfterCommit(savedEmployee);
             logger.info("Face encoding updated for employee: {}", savedEmployee.getEmail());
             return savedEmployee;
 
@@ -233,6 +310,8 @@ public class EmployeeService {
             logger.info("Password reset for employee: {}", savedEmployee.getEmail());
             return savedEmployee;
 
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to reset password for employee {}: {}", id, e.getMessage());
             throw new RuntimeException("Failed to reset password: " + e.getMessage());
@@ -256,8 +335,14 @@ public class EmployeeService {
             admin.setCreatedAt(LocalDateTime.now());
             admin.setUpdatedAt(LocalDateTime.now());
 
-            employeeRepository.save(admin);
+            Employee savedAdmin = employeeRepository.save(admin);
+            employeeNameIndex.indexAfterCommit(savedAdmin);
+            publishChange(EmployeeChangedEvent.Change.CREATED, savedAdmin.getId());
             logger.info("Default admin user created: admin@company.com");
         }
     }
-}
\ No newline at end of file
+
+    private void publishChange(EmployeeChangedEvent.Change change, Long employeeId) {
+        eventPublisher.publishEvent(new EmployeeChangedEvent(change, List.of(employeeId)));
+    }
+}
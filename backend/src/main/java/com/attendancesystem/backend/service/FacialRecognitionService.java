@@ -6,6 +6,7 @@ import org.opencv.imgproc.Imgproc;
 import org.opencv.objdetect.CascadeClassifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -16,6 +17,12 @@ import java.util.List;
 public class FacialRecognitionService {
 
     private static final Logger logger = LoggerFactory.getLogger(FacialRecognitionService.class);
+
+    // 80% similarity threshold
+    private static final double MATCH_THRESHOLD = 0.8;
+
+    @Autowired
+    private AttendanceMetrics metrics;
     
     private CascadeClassifier faceDetector;
 
@@ -40,8 +47,13 @@ public class FacialRecognitionService {
      * This is a simplified implementation - in production you'd use a proper face recognition library
      */
     public String extractFaceEncoding(String base64Image) {
+        AttendanceJfrEvents.FaceEncoding event = new AttendanceJfrEvents.FaceEncoding();
+        event.begin();
+        long stageStart = System.nanoTime();
+        String failureReason = "error";
         try {
             if (base64Image == null || base64Image.isEmpty()) {
+                failureReason = "empty_image";
                 throw new RuntimeException("Image data is empty");
             }
 
@@ -52,17 +64,27 @@ public class FacialRecognitionService {
 
             // Decode base64 image
             byte[] imageBytes = Base64.getDecoder().decode(base64Image);
+            event.imageBytes = imageBytes.length;
             
             // Convert to OpenCV Mat
             Mat imageMat = Imgcodecs.imdecode(new MatOfByte(imageBytes), Imgcodecs.IMREAD_COLOR);
             
             if (imageMat.empty()) {
+                failureReason = "decode_failed";
                 throw new RuntimeException("Failed to decode image");
             }
+            event.width = imageMat.cols();
+            event.height = imageMat.rows();
+            long now = metrics.stage(AttendanceMetrics.FACE, "decode", stageStart);
+            event.decodeDuration = now - stageStart;
+            stageStart = now;
 
             // Convert to grayscale for face detection
             Mat grayMat = new Mat();
             Imgproc.cvtColor(imageMat, grayMat, Imgproc.COLOR_BGR2GRAY);
+            now = metrics.stage(AttendanceMetrics.FACE, "grayscale", stageStart);
+            event.grayscaleDuration = now - stageStart;
+            stageStart = now;
 
             // Detect faces
             MatOfRect faces = new MatOfRect();
@@ -71,11 +93,17 @@ public class FacialRecognitionService {
             }
 
             Rect[] faceArray = faces.toArray();
+            event.faceCount = faceArray.length;
+            now = metrics.stage(AttendanceMetrics.FACE, "detect", stageStart);
+            event.detectDuration = now - stageStart;
+            stageStart = now;
             if (faceArray.length == 0) {
+                failureReason = "no_face";
                 throw new RuntimeException("No face detected in the image");
             }
 
             if (faceArray.length > 1) {
+                failureReason = "multiple_faces";
                 throw new RuntimeException("Multiple faces detected. Please ensure only one face is visible");
             }
 
@@ -96,12 +124,19 @@ public class FacialRecognitionService {
             grayMat.release();
             faceRegion.release();
             resizedFace.release();
+            now = metrics.stage(AttendanceMetrics.FACE, "encode", stageStart);
+            event.encodeDuration = now - stageStart;
+            event.outcome = "ok";
 
             return faceEncoding;
 
         } catch (Exception e) {
+            event.outcome = failureReason;
+            metrics.failure(AttendanceMetrics.FACE, failureReason);
             logger.error("Face encoding extraction failed: " + e.getMessage());
             throw new RuntimeException("Face recognition failed: " + e.getMessage());
+        } finally {
+            event.commit();
         }
     }
 
@@ -114,13 +149,25 @@ public class FacialRecognitionService {
                 return false;
             }
 
-            if (encoding1.equals(encoding2)) {
-                return true;
-            }
+            AttendanceJfrEvents.FaceComparison event = new AttendanceJfrEvents.FaceComparison();
+            event.begin();
+            long stageStart = System.nanoTime();
 
             // For production, implement proper face comparison algorithm
             // This is a simplified implementation
-            return calculateSimilarity(encoding1, encoding2) > 0.8; // 80% similarity threshold
+            double similarity = encoding1.equals(encoding2) ? 1.0 : calculateSimilarity(encoding1, encoding2);
+            boolean matched = similarity > MATCH_THRESHOLD;
+            metrics.stage(AttendanceMetrics.FACE, "compare", stageStart);
+            metrics.faceSimilarity(similarity);
+
+            if (event.shouldCommit()) {
+                event.similarity = similarity;
+                event.threshold = MATCH_THRESHOLD;
+                event.matched = matched;
+                event.encodingLength = encoding1.length();
+                event.commit();
+            }
+            return matched;
 
         } catch (Exception e) {
             logger.error("Face comparison failed: " + e.getMessage());
@@ -0,0 +1,423 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Site;
+import com.attendancesystem.backend.repository.SiteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * In-memory spatial index of site geofences.
+ * Sites are bucketed into a fixed lat/lng grid, so a lookup only touches the sites registered
+ * in the cell containing the point, independent of how many sites exist. Each candidate is first
+ * rejected by its precomputed bounding box; Haversine or point-in-polygon only runs for the rest.
+ * The index is an immutable snapshot swapped atomically on reload, so lookups never lock.
+ */
+@Component
+public class GeofenceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    private static final int MAX_CELLS_PER_SITE = 4096;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Value("${app.allowed-location.latitude}")
+    private double defaultLatitude;
+
+    @Value("${app.allowed-location.longitude}")
+    private double defaultLongitude;
+
+    @Value("${app.location-tolerance}")
+    private double defaultTolerance;
+
+    @Value("${app.geofence.cell-size-degrees}")
+    private double cellSizeDegrees;
+
+    private volatile Snapshot snapshot;
+    private volatile String loadedFingerprint;
+
+    @PostConstruct
+    public void init() {
+        // Until the database has been read, only the configured office is known
+        snapshot = buildSnapshot(List.of(defaultSite()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Pick up site changes made outside this instance (e.g. direct database edits)
+     */
+    @Scheduled(fixedDelayString = "${app.geofence.refresh-interval-ms}",
+               initialDelayString = "${app.geofence.refresh-interval-ms}")
+    public void reloadIfChanged() {
+        try {
+            if (!Objects.equals(fingerprint(), loadedFingerprint)) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to check geofence changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the index from the active sites in the database
+     */
+    public synchronized void reload() {
+        String fingerprint = fingerprint();
+        List<GeofenceSite> sites = new ArrayList<>();
+        for (Site site : siteRepository.findByIsActive(true)) {
+            try {
+                sites.add(toGeofenceSite(site));
+            } catch (Exception e) {
+                logger.error("Skipping site {} with invalid geofence: {}", site.getId(), e.getMessage());
+            }
+        }
+
+        if (sites.isEmpty()) {
+            sites.add(defaultSite());
+        }
+
+        snapshot = buildSnapshot(sites);
+        loadedFingerprint = fingerprint;
+        logger.info("Geofence index loaded with {} site(s)", sites.size());
+    }
+
+    /**
+     * Evaluate a point against all geofences in a single pass.
+     * Returns the closest containing site, or the nearest site (marked as outside) when none contains the point.
+     */
+    public GeofenceMatch evaluate(double latitude, double longitude) {
+        return evaluate(snapshot, latitude, longitude);
+    }
+
+    /**
+     * Evaluate many points against the same snapshot of the index
+     */
+    public GeofenceMatch[] evaluateAll(double[] latitudes, double[] longitudes) {
+        Snapshot current = snapshot;
+        GeofenceMatch[] results = new GeofenceMatch[latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            results[i] = evaluate(current, latitudes[i], longitudes[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Find the site whose geofence contains the point, preferring the closest one when several overlap
+     */
+    public Optional<GeofenceMatch> findContainingSite(double latitude, double longitude) {
+        GeofenceMatch match = evaluate(latitude, longitude);
+        return match.isInside() ? Optional.of(match) : Optional.empty();
+    }
+
+    public List<GeofenceSite> getSites() {
+        return List.of(snapshot.allSites);
+    }
+
+    /**
+     * Great-circle distance in kilometers using the Haversine formula
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private GeofenceMatch evaluate(Snapshot current, double latitude, double longitude) {
+        GeofenceMatch best = findClosestContaining(current.cells.get(current.cellKey(latitude, longitude)),
+                latitude, longitude, null);
+        best = findClosestContaining(current.oversizedSites, latitude, longitude, best);
+        if (best != null) {
+            return best;
+        }
+
+        // Outside every geofence: rank sites by a planar approximation and only run Haversine for the winner
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        GeofenceSite nearest = null;
+        double nearestScore = Double.MAX_VALUE;
+        for (GeofenceSite site : current.allSites) {
+            double dLat = site.getLatitude() - latitude;
+            double dLng = (site.getLongitude() - longitude) * cosLatitude;
+            double score = dLat * dLat + dLng * dLng;
+            if (score < nearestScore) {
+                nearestScore = score;
+                nearest = site;
+            }
+        }
+
+        return new GeofenceMatch(nearest, false,
+                distanceKm(latitude, longitude, nearest.getLatitude(), nearest.getLongitude()));
+    }
+
+    private GeofenceMatch findClosestContaining(GeofenceSite[] candidates, double latitude, double longitude,
+                                                GeofenceMatch best) {
+        if (candidates == null) {
+            return best;
+        }
+        for (GeofenceSite site : candidates) {
+            if (!site.boundingBoxContains(latitude, longitude)) {
+                continue;
+            }
+
+            double distance = distanceKm(latitude, longitude, site.getLatitude(), site.getLongitude());
+            boolean inside = site.isPolygon()
+                    ? site.polygonContains(latitude, longitude)
+                    : distance <= site.getRadiusKm();
+
+            if (inside && (best == null || distance < best.getDistanceKm())) {
+                best = new GeofenceMatch(site, true, distance);
+            }
+        }
+        return best;
+    }
+
+    private Snapshot buildSnapshot(List<GeofenceSite> sites) {
+        Map<Long, List<GeofenceSite>> cellLists = new HashMap<>();
+        List<GeofenceSite> oversized = new ArrayList<>();
+        Snapshot empty = new Snapshot(cellSizeDegrees, Map.of(), new GeofenceSite[0], new GeofenceSite[0]);
+
+        for (GeofenceSite site : sites) {
+            int minRow = empty.row(site.minLatitude);
+            int maxRow = empty.row(site.maxLatitude);
+            int minCol = empty.column(site.minLongitude);
+            int maxCol = empty.column(site.maxLongitude);
+
+            // Very large geofences are checked on every lookup instead of flooding the grid
+            if ((long) (maxRow - minRow + 1) * (maxCol - minCol + 1) > MAX_CELLS_PER_SITE) {
+                oversized.add(site);
+                continue;
+            }
+
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    cellLists.computeIfAbsent(empty.key(row, col), key -> new ArrayList<>()).add(site);
+                }
+            }
+        }
+
+        Map<Long, GeofenceSite[]> cells = new HashMap<>(cellLists.size() * 2);
+        cellLists.forEach((key, list) -> cells.put(key, list.toArray(new GeofenceSite[0])));
+
+        return new Snapshot(cellSizeDegrees, cells,
+                oversized.toArray(new GeofenceSite[0]), sites.toArray(new GeofenceSite[0]));
+    }
+
+    private GeofenceSite toGeofenceSite(Site site) {
+        if (site.getBoundary() == null || site.getBoundary().isBlank()) {
+            return GeofenceSite.circle(site.getId(), site.getName(),
+                    site.getLatitude(), site.getLongitude(), site.getRadiusKm());
+        }
+
+        String[] vertices = site.getBoundary().trim().split(";");
+        if (vertices.length < 3) {
+            throw new IllegalArgumentException("Polygon boundary needs at least 3 vertices");
+        }
+
+        double[] latitudes = new double[vertices.length];
+        double[] longitudes = new double[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            String[] parts = vertices[i].trim().split(",");
+            latitudes[i] = Double.parseDouble(parts[0].trim());
+            longitudes[i] = Double.parseDouble(parts[1].trim());
+        }
+
+        return GeofenceSite.polygon(site.getId(), site.getName(),
+                site.getLatitude(), site.getLongitude(), latitudes, longitudes);
+    }
+
+    private GeofenceSite defaultSite() {
+        return GeofenceSite.circle(null, "Main Office", defaultLatitude, defaultLongitude, defaultTolerance);
+    }
+
+    private String fingerprint() {
+        LocalDateTime latestUpdate = siteRepository.findLatestUpdate();
+        return siteRepository.count() + "@" + latestUpdate;
+    }
+
+    /**
+     * Immutable grid of sites, replaced as a whole on reload
+     */
+    private static class Snapshot {
+        private final double cellSize;
+        private final int columns;
+        private final Map<Long, GeofenceSite[]> cells;
+        private final GeofenceSite[] oversizedSites;
+        private final GeofenceSite[] allSites;
+
+        Snapshot(double cellSize, Map<Long, GeofenceSite[]> cells,
+                 GeofenceSite[] oversizedSites, GeofenceSite[] allSites) {
+            this.cellSize = cellSize;
+            this.columns = (int) Math.ceil(360.0 / cellSize) + 1;
+            this.cells = cells;
+            this.oversizedSites = oversizedSites;
+            this.allSites = allSites;
+        }
+
+        int row(double latitude) {
+            return (int) Math.floor((Math.max(-90.0, Math.min(90.0, latitude)) + 90.0) / cellSize);
+        }
+
+        int column(double longitude) {
+            return (int) Math.floor((Math.max(-180.0, Math.min(180.0, longitude)) + 180.0) / cellSize);
+        }
+
+        long key(int row, int column) {
+            return (long) row * columns + column;
+        }
+
+        long cellKey(double latitude, double longitude) {
+            return key(row(latitude), column(longitude));
+        }
+    }
+
+    /**
+     * Indexed site geofence, either a circle around the site center or a polygon boundary
+     */
+    public static class GeofenceSite {
+        private final Long siteId;
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        private final double[] polygonLatitudes;
+        private final double[] polygonLongitudes;
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+
+        private GeofenceSite(Long siteId, String name, double latitude, double longitude, double radiusKm,
+                             double[] polygonLatitudes, double[] polygonLongitudes,
+                             double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            this.siteId = siteId;
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.polygonLatitudes = polygonLatitudes;
+            this.polygonLongitudes = polygonLongitudes;
+            this.minLatitude = minLatitude;
+            this.maxLatitude = maxLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLongitude = maxLongitude;
+        }
+
+        public static GeofenceSite circle(Long siteId, String name, double latitude, double longitude, double radiusKm) {
+            double latSpan = radiusKm / KM_PER_DEGREE_LATITUDE;
+            double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+            double lngSpan = radiusKm / (KM_PER_DEGREE_LATITUDE * cosLat);
+            return new GeofenceSite(siteId, name, latitude, longitude, radiusKm, null, null,
+                    latitude - latSpan, latitude + latSpan, longitude - lngSpan, longitude + lngSpan);
+        }
+
+        public static GeofenceSite polygon(Long siteId, String name, double latitude, double longitude,
+                                           double[] polygonLatitudes, double[] polygonLongitudes) {
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (int i = 0; i < polygonLatitudes.length; i++) {
+                minLat = Math.min(minLat, polygonLatitudes[i]);
+                maxLat = Math.max(maxLat, polygonLatitudes[i]);
+                minLng = Math.min(minLng, polygonLongitudes[i]);
+                maxLng = Math.max(maxLng, polygonLongitudes[i]);
+            }
+            return new GeofenceSite(siteId, name, latitude, longitude, 0.0, polygonLatitudes, polygonLongitudes,
+                    minLat, maxLat, minLng, maxLng);
+        }
+
+        boolean boundingBoxContains(double lat, double lng) {
+            return lat >= minLatitude && lat <= maxLatitude && lng >= minLongitude && lng <= maxLongitude;
+        }
+
+        /**
+         * Ray-casting point-in-polygon test on the lat/lng plane
+         */
+        boolean polygonContains(double lat, double lng) {
+            boolean inside = false;
+            for (int i = 0, j = polygonLatitudes.length - 1; i < polygonLatitudes.length; j = i++) {
+                if ((polygonLatitudes[i] > lat) != (polygonLatitudes[j] > lat) &&
+                    lng < (polygonLongitudes[j] - polygonLongitudes[i]) * (lat - polygonLatitudes[i]) /
+                          (polygonLatitudes[j] - polygonLatitudes[i]) + polygonLongitudes[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        public boolean isPolygon() {
+            return polygonLatitudes != null;
+        }
+
+        public Long getSiteId() {
+            return siteId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public double getRadiusKm() {
+            return radiusKm;
+        }
+    }
+
+    /**
+     * Result of evaluating a point: the matched (or nearest) site and the distance to its center
+     */
+    public static class GeofenceMatch {
+        private final GeofenceSite site;
+        private final boolean inside;
+        private final double distanceKm;
+
+        public GeofenceMatch(GeofenceSite site, boolean inside, double distanceKm) {
+            this.site = site;
+            this.inside = inside;
+            this.distanceKm = distanceKm;
+        }
+
+        public GeofenceSite getSite() {
+            return site;
+        }
+
+        public boolean isInside() {
+            return inside;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.KioskSyncRequest;
+import com.attendancesystem.backend.dto.KioskSyncResponse;
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.model.KioskPunchEvent;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.repository.KioskPunchEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk upload of punches recorded by kiosks while offline.
+ * A batch is validated up front (structure, duplicates, employees, geofence and face data), then every
+ * accepted punch is applied in one write transaction with batched inserts and updates. Punches are
+ * replayed per employee in the order they happened, and each (kiosk, client event id) is stored so a
+ * re-upload after a lost response is answered with the original result instead of being applied twice.
+ * Stored ids are checked again inside the write transaction, which runs on the single writer
+ * connection, so a retry racing the original upload still resolves to DUPLICATE.
+ * <p>
+ * Punches that carry a face template computed on the kiosk are verified inline; punches that only carry
+ * a raw image are applied and verified later by a background job, which flags mismatches for review.
+ */
+@Service
+public class KioskSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KioskSyncService.class);
+
+    @Autowired
+    private KioskPunchEventRepository punchEventRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private FacialRecognitionService facialRecognitionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.kiosk-sync.max-batch-size}")
+    private int maxBatchSize;
+
+    @Value("${app.kiosk-sync.max-event-age-hours}")
+    private long maxEventAgeHours;
+
+    @Value("${app.kiosk-sync.max-clock-skew-seconds}")
+    private long maxClockSkewSeconds;
+
+    @Value("${app.kiosk-sync.face-verification-chunk-size}")
+    private int faceVerificationChunkSize;
+
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Validate and apply an ordered batch of punches from one kiosk; returns one result per punch, in request order
+     */
+    public KioskSyncResponse sync(String kioskId, List<KioskSyncRequest.PunchEvent> events) {
+        if (kioskId == null || kioskId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Kiosk ID is required");
+        }
+        if (events == null || events.isEmpty()) {
+            return new KioskSyncResponse(kioskId, 0);
+        }
+        if (events.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxBatchSize + " events per sync request");
+        }
+
+        long startTime = System.currentTimeMillis();
+        int count = events.size();
+        KioskSyncResponse.EventResult[] results = new KioskSyncResponse.EventResult[count];
+        PendingPunch[] punches = new PendingPunch[count];
+
+        // Structure, in-batch duplicates and time window
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            KioskSyncRequest.PunchEvent event = events.get(i);
+            String clientEventId = event.getClientEventId();
+            if (clientEventId == null || clientEventId.isBlank()) {
+                results[i] = result(null, KioskSyncResponse.Status.REJECTED, "clientEventId is required", null, null);
+            } else if (!seenIds.add(clientEventId)) {
+                results[i] = result(clientEventId, KioskSyncResponse.Status.DUPLICATE, "Repeated in this batch", null, null);
+            } else {
+                punches[i] = new PendingPunch(i, event);
+                String problem = structuralProblem(event, now);
+                if (problem != null) {
+                    punches[i].reject(problem);
+                }
+            }
+        }
+
+        // Punches already uploaded earlier get their original outcome back
+        Map<String, KioskPunchEvent> alreadyStored = new HashMap<>();
+        List<KioskPunchEvent> stored = readTransaction.execute(
+                status -> punchEventRepository.findByKioskIdAndClientEventIdIn(kioskId, seenIds));
+        if (stored != null) {
+            stored.forEach(punch -> alreadyStored.put(punch.getClientEventId(), punch));
+        }
+        for (int i = 0; i < count; i++) {
+            if (punches[i] == null) {
+                continue;
+            }
+            KioskPunchEvent original = alreadyStored.get(punches[i].event.getClientEventId());
+            if (original != null) {
+                results[i] = duplicateResult(original);
+                punches[i] = null;
+            }
+        }
+
+        // Employees, geofence and face data, all outside the write transaction
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        for (PendingPunch punch : punches) {
+            if (punch != null && punch.isAccepted()) {
+                employeeIds.add(punch.event.getEmployeeId());
+            }
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        List<Employee> loaded = readTransaction.execute(status -> employeeRepository.findAllById(employeeIds));
+        if (loaded != null) {
+            loaded.forEach(employee -> employees.put(employee.getId(), employee));
+        }
+        validateLocations(punches);
+        for (PendingPunch punch : punches) {
+            if (punch != null && punch.isAccepted()) {
+                checkEmployeeAndFace(punch, employees.get(punch.event.getEmployeeId()));
+            }
+        }
+
+        List<PendingPunch> toStore = new ArrayList<>();
+        for (PendingPunch punch : punches) {
+            if (punch != null) {
+                toStore.add(punch);
+            }
+        }
+        if (!toStore.isEmpty()) {
+            writeTransaction.executeWithoutResult(status -> apply(kioskId, toStore));
+        }
+
+        KioskSyncResponse response = new KioskSyncResponse(kioskId, count);
+        for (int i = 0; i < count; i++) {
+            if (results[i] == null) {
+                PendingPunch punch = punches[i];
+                results[i] = punch.storedEarlier != null
+                        ? duplicateResult(punch.storedEarlier)
+                        : punch.isAccepted()
+                        ? result(punch.event.getClientEventId(), KioskSyncResponse.Status.APPLIED, null,
+                                 punch.attendance.getId(), punch.faceVerification)
+                        : result(punch.event.getClientEventId(), KioskSyncResponse.Status.REJECTED, punch.rejection,
+                                 null, punch.faceVerification);
+            }
+            response.addResult(results[i]);
+        }
+
+        logger.info("Kiosk {} synced {} event(s): {} applied, {} duplicate, {} rejected in {} ms", kioskId, count,
+                response.getApplied(), response.getDuplicates(), response.getRejected(),
+                System.currentTimeMillis() - startTime);
+        return response;
+    }
+
+    /**
+     * Replay accepted punches per employee in time order and store every punch, in one write transaction
+     */
+    private void apply(String kioskId, List<PendingPunch> candidates) {
+        // A concurrent upload of the same events may have committed since the lookup before validation
+        Set<String> clientEventIds = new HashSet<>();
+        candidates.forEach(punch -> clientEventIds.add(punch.event.getClientEventId()));
+        Map<String, KioskPunchEvent> storedMeanwhile = new HashMap<>();
+        punchEventRepository.findByKioskIdAndClientEventIdIn(kioskId, clientEventIds)
+                .forEach(stored -> storedMeanwhile.put(stored.getClientEventId(), stored));
+        List<PendingPunch> punches = new ArrayList<>(candidates.size());
+        for (PendingPunch punch : candidates) {
+            KioskPunchEvent stored = storedMeanwhile.get(punch.event.getClientEventId());
+            if (stored != null) {
+                punch.storedEarlier = stored;
+            } else {
+                punches.add(punch);
+            }
+        }
+
+        Set<Long> employeeIds = new HashSet<>();
+        for (PendingPunch punch : punches) {
+            if (punch.isAccepted()) {
+                employeeIds.add(punch.event.getEmployeeId());
+            }
+        }
+
+        // Current state is read inside the write transaction so concurrent online punches cannot interleave
+        Map<Long, Employee> employees = new HashMap<>();
+        Map<Long, Attendance> openSessions = new HashMap<>();
+        Map<Long, LocalDateTime> latestPunch = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getId(), employee));
+            attendanceRepository.findOpenSessionsByEmployeeIds(employeeIds)
+                    .forEach(attendance -> openSessions.put(attendance.getEmployeeId(), attendance));
+            for (Object[] row : attendanceRepository.findLatestPunchTimes(employeeIds)) {
+                latestPunch.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+
+        List<PendingPunch> ordered = new ArrayList<>(punches);
+        ordered.removeIf(punch -> !punch.isAccepted());
+        ordered.sort(Comparator.comparing((PendingPunch punch) -> punch.event.getOccurredAt())
+                .thenComparingInt(punch -> punch.index));
+
+        Map<Attendance, Boolean> touched = new LinkedHashMap<>();
+        List<PendingPunch> applied = new ArrayList<>();
+        for (PendingPunch punch : ordered) {
+            Long employeeId = punch.event.getEmployeeId();
+            LocalDateTime occurredAt = punch.event.getOccurredAt();
+            LocalDateTime latest = latestPunch.get(employeeId);
+            if (latest != null && occurredAt.isBefore(latest)) {
+                punch.reject("Out of order: a later punch is already recorded for this employee");
+                continue;
+            }
+
+            Attendance open = openSessions.get(employeeId);
+            if (punch.event.getType() == KioskPunchEvent.PunchType.CHECK_IN) {
+                if (open != null) {
+                    punch.reject("Employee is already checked in");
+                    continue;
+                }
+                Attendance attendance = new Attendance(employees.get(employeeId), occurredAt,
+                        punch.event.getLatitude(), punch.event.getLongitude());
+                openSessions.put(employeeId, attendance);
+                punch.attendance = attendance;
+            } else {
+                if (open == null) {
+                    punch.reject("No active check-in found");
+                    continue;
+                }
+                open.checkOut(occurredAt, punch.event.getLatitude(), punch.event.getLongitude(),
+                        Attendance.CheckoutReason.EMPLOYEE);
+                openSessions.remove(employeeId);
+                punch.attendance = open;
+            }
+            latestPunch.put(employeeId, occurredAt);
+            touched.put(punch.attendance, Boolean.TRUE);
+            applied.add(punch);
+        }
+
+        // IDs come from the block allocator, so these flush as JDBC batches
+        attendanceRepository.saveAll(touched.keySet());
+
+        List<KioskPunchEvent> rows = new ArrayList<>(punches.size());
+        for (PendingPunch punch : punches) {
+            KioskPunchEvent row = new KioskPunchEvent();
+            row.setKioskId(kioskId);
+            row.setClientEventId(punch.event.getClientEventId());
+            row.setEmployeeId(punch.event.getEmployeeId());
+            row.setPunchType(punch.event.getType());
+            row.setOccurredAt(punch.event.getOccurredAt());
+            row.setLatitude(punch.event.getLatitude());
+            row.setLongitude(punch.event.getLongitude());
+            row.setOutcome(punch.isAccepted() ? KioskPunchEvent.Outcome.APPLIED : KioskPunchEvent.Outcome.REJECTED);
+            row.setMessage(punch.rejection);
+            row.setFaceVerification(punch.faceVerification);
+            if (punch.isAccepted()) {
+                row.setAttendanceId(punch.attendance.getId());
+                if (punch.faceVerification == KioskPunchEvent.FaceVerification.PENDING) {
+                    row.setPendingFaceImage(punch.event.getFaceImage());
+                }
+            }
+            rows.add(row);
+        }
+        punchEventRepository.saveAll(rows);
+
+        for (PendingPunch punch : applied) {
+            AttendanceChangedEvent.Change change = punch.event.getType() == KioskPunchEvent.PunchType.CHECK_IN
+                    ? AttendanceChangedEvent.Change.CHECKED_IN
+                    : AttendanceChangedEvent.Change.CHECKED_OUT;
+            eventPublisher.publishEvent(AttendanceChangedEvent.of(change, punch.attendance));
+        }
+    }
+
+    /**
+     * Verify raw face images that kiosks uploaded without an on-device template
+     */
+    @Scheduled(fixedDelayString = "${app.kiosk-sync.face-verification-interval-ms}")
+    public void verifyPendingFaces() {
+        try {
+            long afterId = 0;
+            List<KioskPunchEvent> pending;
+            do {
+                long chunkStart = afterId;
+                pending = readTransaction.execute(status -> punchEventRepository.findPendingFaceVerification(
+                        chunkStart, PageRequest.of(0, faceVerificationChunkSize)));
+                if (pending == null || pending.isEmpty()) {
+                    return;
+                }
+                afterId = pending.get(pending.size() - 1).getId();
+
+                Set<Long> employeeIds = new HashSet<>();
+                pending.forEach(punch -> employeeIds.add(punch.getEmployeeId()));
+                Map<Long, String> encodings = new HashMap<>();
+                List<Employee> employees = readTransaction.execute(status -> employeeRepository.findAllById(employeeIds));
+                if (employees != null) {
+                    employees.forEach(employee -> encodings.put(employee.getId(), employee.getFaceEncoding()));
+                }
+
+                // Image processing happens before the write transaction so the writer is held only for the updates
+                int failed = 0;
+                for (KioskPunchEvent punch : pending) {
+                    String encoding = encodings.get(punch.getEmployeeId());
+                    boolean match = encoding != null && punch.getPendingFaceImage() != null
+                            && facialRecognitionService.verifyFace(punch.getPendingFaceImage(), encoding);
+                    punch.setFaceVerification(match ? KioskPunchEvent.FaceVerification.VERIFIED
+                                                    : KioskPunchEvent.FaceVerification.FAILED);
+                    punch.setPendingFaceImage(null);
+                    if (!match) {
+                        failed++;
+                    }
+                }
+
+                List<KioskPunchEvent> verified = pending;
+                writeTransaction.executeWithoutResult(status -> punchEventRepository.saveAll(verified));
+                if (failed > 0) {
+                    logger.warn("{} offline kiosk punch(es) failed deferred face verification", failed);
+                }
+            } while (pending.size() == faceVerificationChunkSize);
+
+        } catch (Exception e) {
+            logger.error("Deferred face verification failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Most recent punches whose deferred face verification failed, for admin review
+     */
+    public List<KioskPunchEvent> getFailedFaceVerifications(int limit) {
+        return readTransaction.execute(status -> punchEventRepository.findFailedFaceVerification(PageRequest.of(0, limit)));
+    }
+
+    private String structuralProblem(KioskSyncRequest.PunchEvent event, LocalDateTime now) {
+        if (event.getEmployeeId() == null) {
+            return "employeeId is required";
+        }
+        if (event.getType() == null) {
+            return "type must be CHECK_IN or CHECK_OUT";
+        }
+        if (event.getOccurredAt() == null) {
+            return "occurredAt is required";
+        }
+        if (event.getOccurredAt().isAfter(now.plusSeconds(maxClockSkewSeconds))) {
+            return "occurredAt is in the future";
+        }
+        if (event.getOccurredAt().isBefore(now.minusHours(maxEventAgeHours))) {
+            return "occurredAt is older than " + maxEventAgeHours + " hours";
+        }
+        if (event.getLatitude() == null || event.getLongitude() == null) {
+            return "latitude and longitude are required";
+        }
+        return null;
+    }
+
+    private void validateLocations(PendingPunch[] punches) {
+        List<PendingPunch> located = new ArrayList<>();
+        for (PendingPunch punch : punches) {
+            if (punch != null && punch.isAccepted()) {
+                located.add(punch);
+            }
+        }
+
+        double[] latitudes = new double[located.size()];
+        double[] longitudes = new double[located.size()];
+        for (int i = 0; i < located.size(); i++) {
+            latitudes[i] = located.get(i).event.getLatitude();
+            longitudes[i] = located.get(i).event.getLongitude();
+        }
+
+        List<LocationService.LocationValidation> validations = locationService.validateAll(latitudes, longitudes);
+        for (int i = 0; i < located.size(); i++) {
+            LocationService.LocationValidation validation = validations.get(i);
+            if (validation.getVerdict() == LocationService.LocationValidation.Verdict.INVALID_COORDINATES) {
+                located.get(i).reject("Invalid GPS coordinates provided");
+            } else if (!validation.isValid()) {
+                located.get(i).reject(String.format("Location verification failed: %.2f km away from office",
+                        validation.getDistanceKm()));
+            }
+        }
+    }
+
+    private void checkEmployeeAndFace(PendingPunch punch, Employee employee) {
+        if (employee == null) {
+            punch.reject("Employee not found");
+            return;
+        }
+        if (!employee.isActive()) {
+            punch.reject("Employee account is disabled");
+            return;
+        }
+
+        String storedEncoding = employee.getFaceEncoding();
+        if (storedEncoding == null || storedEncoding.isEmpty()) {
+            punch.faceVerification = KioskPunchEvent.FaceVerification.NOT_REQUIRED;
+        } else if (hasText(punch.event.getFaceEncoding())) {
+            if (facialRecognitionService.compareFaces(punch.event.getFaceEncoding(), storedEncoding)) {
+                punch.faceVerification = KioskPunchEvent.FaceVerification.VERIFIED_ON_DEVICE;
+            } else {
+                punch.faceVerification = KioskPunchEvent.FaceVerification.FAILED;
+                punch.reject("Face verification failed");
+            }
+        } else if (hasText(punch.event.getFaceImage())) {
+            punch.faceVerification = KioskPunchEvent.FaceVerification.PENDING;
+        } else {
+            punch.reject("Face data is required for this employee");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static KioskSyncResponse.EventResult duplicateResult(KioskPunchEvent original) {
+        return result(original.getClientEventId(), KioskSyncResponse.Status.DUPLICATE,
+                "Already synced: " + original.getOutcome() + (original.getMessage() != null ? " - " + original.getMessage() : ""),
+                original.getAttendanceId(), original.getFaceVerification());
+    }
+
+    private static KioskSyncResponse.EventResult result(String clientEventId, KioskSyncResponse.Status status,
+                                                        String message, Long attendanceId,
+                                                        KioskPunchEvent.FaceVerification faceVerification) {
+        return new KioskSyncResponse.EventResult(clientEventId, status, message, attendanceId, faceVerification);
+    }
+
+    private static class PendingPunch {
+        private final int index;
+        private final KioskSyncRequest.PunchEvent event;
+        private String rejection;
+        private KioskPunchEvent.FaceVerification faceVerification;
+        private Attendance attendance;
+        // Set when the same event was stored by a concurrent upload
+        private KioskPunchEvent storedEarlier;
+
+        PendingPunch(int index, KioskSyncRequest.PunchEvent event) {
+            this.index = index;
+            this.event = event;
+        }
+
+        boolean isAccepted() {
+            return rejection == null;
+        }
+
+        void reject(String reason) {
+            if (rejection == null) {
+                rejection = reason;
+            }
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.attendancesystem.backend.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 @Service
 public class LocationService {
 
@@ -19,51 +24,73 @@ public class LocationService {
     @Value("${app.location-tolerance}")
     private double locationTolerance;
 
+    @Autowired
+    private GeofenceIndex geofenceIndex;
+
     /**
-     * Verify if the provided location is within allowed range of the office
+     * Verify if the provided location is within the geofence of any site
      */
     public boolean isLocationValid(double latitude, double longitude) {
+        return validate(latitude, longitude).isValid();
+    }
+
+    /**
+     * Find the site whose geofence contains the provided location, if any
+     */
+    public Optional<GeofenceIndex.GeofenceMatch> findSite(double latitude, double longitude) {
+        if (!areCoordinatesValid(latitude, longitude)) {
+            return Optional.empty();
+        }
+        return geofenceIndex.findContainingSite(latitude, longitude);
+    }
+
+    /**
+     * Validate a location in a single evaluation, returning site, distance and verdict together
+     */
+    public LocationValidation validate(double latitude, double longitude) {
         try {
-            if (latitude == 0.0 && longitude == 0.0) {
-                logger.warn("Invalid GPS coordinates received: 0.0, 0.0");
-                return false;
+            if (!areCoordinatesValid(latitude, longitude)) {
+                logger.warn("Invalid GPS coordinates received: {}, {}", latitude, longitude);
+                return LocationValidation.invalidCoordinates();
             }
 
-            double distance = calculateDistance(latitude, longitude, allowedLatitude, allowedLongitude);
-            boolean isValid = distance <= locationTolerance;
-            
-            logger.info("Location validation - Distance: {} km, Tolerance: {} km, Valid: {}", 
-                       distance, locationTolerance, isValid);
-            
-            return isValid;
+            LocationValidation validation = LocationValidation.of(geofenceIndex.evaluate(latitude, longitude));
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Location validation - Site: {}, Distance: {} km, Verdict: {}",
+                        validation.getSiteName(), validation.getDistanceKm(), validation.getVerdict());
+            }
+
+            return validation;
         } catch (Exception e) {
             logger.error("Error validating location: " + e.getMessage());
-            return false;
+            return LocationValidation.invalidCoordinates();
         }
     }
 
     /**
-     * Calculate distance between two GPS coordinates using Haversine formula
+     * Validate many locations at once against the same geofence snapshot (e.g. offline sync uploads)
      */
-    public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int EARTH_RADIUS = 6371; // Earth's radius in kilometers
-
-        // Convert latitude and longitude from degrees to radians
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-
-        // Convert latitudes to radians
-        double rLat1 = Math.toRadians(lat1);
-        double rLat2 = Math.toRadians(lat2);
-
-        // Apply Haversine formula
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                   Math.cos(rLat1) * Math.cos(rLat2) *
-                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+    public List<LocationValidation> validateAll(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+        }
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        GeofenceIndex.GeofenceMatch[] matches = geofenceIndex.evaluateAll(latitudes, longitudes);
+        List<LocationValidation> results = new ArrayList<>(matches.length);
+        for (int i = 0; i < matches.length; i++) {
+            results.add(areCoordinatesValid(latitudes[i], longitudes[i])
+                    ? LocationValidation.of(matches[i])
+                    : LocationValidation.invalidCoordinates());
+        }
+        return results;
+    }
 
-        return EARTH_RADIUS * c; // Distance in kilometers
+    /**
+     * Calculate distance between two GPS coordinates using Haversine formula
+     */
+    public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        return GeofenceIndex.distanceKm(lat1, lon1, lat2, lon2);
     }
 
     /**
@@ -74,7 +101,7 @@ public class LocationService {
     }
 
     /**
-     * Validate location with custom tolerance
+     * Validate location against the nearest site with custom tolerance
      */
     public boolean isLocationValid(double latitude, double longitude, double customTolerance) {
         try {
@@ -82,8 +109,7 @@ public class LocationService {
                 return false;
             }
 
-            double distance = calculateDistance(latitude, longitude, allowedLatitude, allowedLongitude);
-            return distance <= customTolerance;
+            return getDistanceFromOffice(latitude, longitude) <= customTolerance;
         } catch (Exception e) {
             logger.error("Error validating location with custom tolerance: " + e.getMessage());
             return false;
@@ -91,10 +117,10 @@ public class LocationService {
     }
 
     /**
-     * Get distance from office location
+     * Get distance from the nearest site
      */
     public double getDistanceFromOffice(double latitude, double longitude) {
-        return calculateDistance(latitude, longitude, allowedLatitude, allowedLongitude);
+        return geofenceIndex.evaluate(latitude, longitude).getDistanceKm();
     }
 
     /**
@@ -132,4 +158,60 @@ public class LocationService {
             return tolerance;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of validating a location against the site geofences
+     */
+    public static class LocationValidation {
+        private final Verdict verdict;
+        private final Long siteId;
+        private final String siteName;
+        private final double distanceKm;
+
+        private LocationValidation(Verdict verdict, Long siteId, String siteName, double distanceKm) {
+            this.verdict = verdict;
+            this.siteId = siteId;
+            this.siteName = siteName;
+            this.distanceKm = distanceKm;
+        }
+
+        static LocationValidation of(GeofenceIndex.GeofenceMatch match) {
+            return new LocationValidation(match.isInside() ? Verdict.INSIDE_SITE : Verdict.OUTSIDE_SITES,
+                    match.getSite().getSiteId(), match.getSite().getName(), match.getDistanceKm());
+        }
+
+        static LocationValidation invalidCoordinates() {
+            return new LocationValidation(Verdict.INVALID_COORDINATES, null, null, Double.NaN);
+        }
+
+        public boolean isValid() {
+            return verdict == Verdict.INSIDE_SITE;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        /**
+         * Matched site when valid, otherwise the nearest site
+         */
+        public Long getSiteId() {
+            return siteId;
+        }
+
+        public String getSiteName() {
+            return siteName;
+        }
+
+        /**
+         * Distance in kilometers to the center of the matched (or nearest) site
+         */
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public enum Verdict {
+            INSIDE_SITE, OUTSIDE_SITES, INVALID_COORDINATES
+        }
+    }
+}
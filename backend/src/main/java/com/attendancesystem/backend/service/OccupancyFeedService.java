@@ -0,0 +1,430 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.OccupantView;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live occupancy feed for admin dashboards over Server-Sent Events.
+ * The set of checked-in employees is kept in memory and updated from committed attendance events,
+ * so dashboards never query the database. Every change is serialized once and queued for all
+ * subscribers; idle connections hold no thread, only a periodic heartbeat touches them.
+ * <p>
+ * All state changes run on a single feed thread, which keeps event order identical for every
+ * subscriber and guarantees a new subscriber's snapshot is queued before any later delta. The feed
+ * thread never writes to a socket: each subscriber has a bounded queue drained by a small sender
+ * pool. A subscriber whose queue fills up, or whose write has been stuck past the write timeout,
+ * is dropped and reconnects to a fresh snapshot, so one stalled client cannot hold up the others.
+ * A stalled write keeps its sender thread until the container's socket write timeout fires, so the
+ * pool is sized for a few stuck clients at once.
+ */
+@Service
+public class OccupancyFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyFeedService.class);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.occupancy-feed.emitter-timeout-ms}")
+    private long emitterTimeoutMillis;
+
+    @Value("${app.occupancy-feed.max-subscribers}")
+    private int maxSubscribers;
+
+    @Value("${app.occupancy-feed.subscriber-queue-capacity}")
+    private int subscriberQueueCapacity;
+
+    @Value("${app.occupancy-feed.write-timeout-ms}")
+    private long writeTimeoutMillis;
+
+    @Value("${app.occupancy-feed.sender-threads}")
+    private int senderThreads;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Only touched on the feed thread
+    private final Map<Long, OccupantView> occupants = new LinkedHashMap<>();
+    private long sequence;
+    // Published by the feed thread after every change, for readers on other threads
+    private volatile Snapshot latestSnapshot = new Snapshot(0, new ArrayList<>());
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    private ExecutorService feedExecutor;
+    private ExecutorService senderExecutor;
+    private TransactionTemplate readTransaction;
+    private long writeTimeoutNanos;
+
+    @PostConstruct
+    public void init() {
+        feedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        senderExecutor = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.close(null));
+        feedExecutor.shutdownNow();
+        senderExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        feedExecutor.execute(this::resync);
+    }
+
+    /**
+     * Re-read occupancy from the database to correct drift from changes made outside this service
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy-feed.resync-interval-ms}",
+               initialDelayString = "${app.occupancy-feed.resync-interval-ms}")
+    public void scheduledResync() {
+        feedExecutor.execute(this::resync);
+    }
+
+    /**
+     * Keep idle connections open, and drop subscribers whose current write has stalled
+     */
+    @Scheduled(fixedRateString = "${app.occupancy-feed.heartbeat-interval-ms}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now)) {
+                subscriber.close("write stalled for more than " + writeTimeoutMillis + " ms");
+            }
+        }
+        if (!subscribers.isEmpty()) {
+            feedExecutor.execute(() -> {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(SseEmitter.event().comment("heartbeat"));
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        feedExecutor.execute(() -> {
+            OccupantView occupant = new OccupantView(event.getAttendanceId(), event.getEmployeeId(),
+                    event.getEmployeeName(), event.getCheckInTime());
+            if (event.getChange() == AttendanceChangedEvent.Change.CHECKED_IN) {
+                occupants.put(event.getEmployeeId(), occupant);
+            } else {
+                occupants.remove(event.getEmployeeId());
+            }
+
+            sequence++;
+            latestSnapshot = currentSnapshot();
+            broadcast(event.getChange() == AttendanceChangedEvent.Change.CHECKED_IN ? "check-in" : "check-out",
+                    new Delta(sequence, event.getChange(), occupant, occupants.size()));
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        // Deleting an employee also deletes any open session, which produces no attendance event
+        if (event.getChange() == EmployeeChangedEvent.Change.DELETED) {
+            feedExecutor.execute(this::resync);
+        }
+    }
+
+    /**
+     * Register a dashboard; it first receives a snapshot, then one event per check-in or check-out
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live dashboard connections");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::gone);
+        emitter.onTimeout(subscriber::gone);
+        emitter.onError(error -> subscriber.gone());
+
+        feedExecutor.execute(() -> {
+            if (subscriber.offer(SseEmitter.event().id(String.valueOf(sequence)).name("snapshot")
+                    .data(toJson(currentSnapshot())))) {
+                subscribers.add(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Current occupancy without a database query
+     */
+    public Snapshot getSnapshot() {
+        return latestSnapshot;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Subscribers dropped for falling behind or stalling a write
+     */
+    public long getDroppedSubscriberCount() {
+        return droppedSubscribers.sum();
+    }
+
+    private void resync() {
+        try {
+            List<OccupantView> current = readTransaction.execute(status -> attendanceRepository.findCurrentOccupants());
+            Map<Long, OccupantView> reloaded = new LinkedHashMap<>();
+            if (current != null) {
+                current.forEach(occupant -> reloaded.put(occupant.getEmployeeId(), occupant));
+            }
+
+            boolean changed = !reloaded.keySet().equals(occupants.keySet());
+            occupants.clear();
+            occupants.putAll(reloaded);
+            if (changed) {
+                sequence++;
+            }
+            latestSnapshot = currentSnapshot();
+
+            if (changed) {
+                logger.info("Occupancy feed resynchronized: {} employee(s) checked in", occupants.size());
+                broadcast("snapshot", latestSnapshot);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to resynchronize occupancy feed: " + e.getMessage());
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        return new Snapshot(sequence, new ArrayList<>(occupants.values()));
+    }
+
+    private void broadcast(String eventName, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // Serialize once for all subscribers
+        String json = toJson(payload);
+        String id = String.valueOf(sequence);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().id(id).name(eventName).data(json));
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize occupancy event: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One dashboard connection with its own bounded queue. At most one sender drains it at a time,
+     * so its events are written in order; only that sender completes the emitter, because
+     * completing it from another thread would wait for a stalled write to finish.
+     */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean completed;
+        // Start of the write in progress, 0 when idle
+        private volatile long sendStartedNanos;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        }
+
+        /**
+         * Queue an event without blocking; a full queue drops the subscriber
+         */
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return false;
+            }
+            if (!queue.offer(event)) {
+                close("more than " + subscriberQueueCapacity + " events behind");
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedNanos;
+            return started != 0 && now - started > writeTimeoutNanos;
+        }
+
+        /**
+         * Stop feeding this subscriber; the sender completes the emitter once its current write returns
+         */
+        void close(String reason) {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                if (reason != null) {
+                    droppedSubscribers.increment();
+                    logger.warn("Dropping occupancy feed subscriber: {}", reason);
+                }
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * The container already finished the response (completion, timeout or client error)
+         */
+        void gone() {
+            completed = true;
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+            }
+            queue.clear();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senderExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    sendStartedNanos = System.nanoTime();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; drop it without affecting the others
+                        close(null);
+                    } finally {
+                        sendStartedNanos = 0;
+                    }
+                }
+                if (closed.get() && !completed) {
+                    completed = true;
+                    queue.clear();
+                    emitter.complete();
+                }
+            } finally {
+                draining.set(false);
+                // An event or a close may have arrived after the loop last looked
+                if (closed.get() ? !completed : !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+
+    public static class Snapshot {
+        private final long sequence;
+        private final int count;
+        private final List<OccupantView> occupants;
+
+        Snapshot(long sequence, List<OccupantView> occupants) {
+            this.sequence = sequence;
+            this.count = occupants.size();
+            this.occupants = occupants;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<OccupantView> getOccupants() {
+            return occupants;
+        }
+    }
+
+    public static class Delta {
+        private final long sequence;
+        private final AttendanceChangedEvent.Change change;
+        private final OccupantView occupant;
+        private final int count;
+
+        Delta(long sequence, AttendanceChangedEvent.Change change, OccupantView occupant, int count) {
+            this.sequence = sequence;
+            this.change = change;
+            this.occupant = occupant;
+            this.count = count;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public AttendanceChangedEvent.Change getChange() {
+            return change;
+        }
+
+        public OccupantView getOccupant() {
+            return occupant;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeeAttendanceReport;
+import com.attendancesystem.backend.model.PayrollReport;
+import com.attendancesystem.backend.model.PayrollReportContent;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.repository.PayrollReportContentRepository;
+import com.attendancesystem.backend.repository.PayrollReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Month-end payroll reports computed in the background and stored once finished.
+ * Active employees are split into chunks; each chunk is one set-based report query, and chunks run
+ * on a fork-join pool no wider than the reader connection pool, so a large run never starves other
+ * readers and never touches the writer until the finished report is saved.
+ * <p>
+ * A finished month is served from its stored gzip CSV; asking again returns the same report unless
+ * a regeneration is requested. Progress of a running report is kept in memory.
+ */
+@Service
+public class PayrollReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollReportService.class);
+
+    @Autowired
+    private PayrollReportRepository payrollReportRepository;
+
+    @Autowired
+    private PayrollReportContentRepository contentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceReportService attendanceReportService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.payroll.parallelism}")
+    private int parallelism;
+
+    @Value("${app.payroll.chunk-size}")
+    private int chunkSize;
+
+    private final Map<Long, PayrollReport> running = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> progress = new ConcurrentHashMap<>();
+    private ExecutorService jobExecutor;
+    private ForkJoinPool chunkPool;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+        // One report at a time; the parallelism is inside each report
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payroll-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        chunkPool = new ForkJoinPool(parallelism);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        chunkPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Integer failed = writeTransaction.execute(status -> payrollReportRepository.failUnfinished("Interrupted by restart"));
+        if (failed != null && failed > 0) {
+            logger.warn("Marked {} unfinished payroll report(s) as failed after restart", failed);
+        }
+    }
+
+    /**
+     * Queue a report for the month, or return the stored (or already running) one
+     */
+    public synchronized PayrollReport requestReport(YearMonth period, boolean regenerate) {
+        String key = period.toString();
+        for (PayrollReport report : running.values()) {
+            if (report.getPeriod().equals(key)) {
+                return withProgress(report);
+            }
+        }
+        if (!regenerate) {
+            Optional<PayrollReport> stored = readTransaction.execute(status ->
+                    payrollReportRepository.findFirstByPeriodAndStatusOrderByCompletedAtDesc(key, PayrollReport.Status.COMPLETED));
+            if (stored != null && stored.isPresent()) {
+                return stored.get();
+            }
+        }
+
+        PayrollReport report = writeTransaction.execute(status -> payrollReportRepository.save(new PayrollReport(key)));
+        running.put(report.getId(), report);
+        progress.put(report.getId(), new AtomicInteger());
+        jobExecutor.submit(() -> run(report, period));
+        logger.info("Payroll report {} queued for {}", report.getId(), key);
+        return report;
+    }
+
+    public Optional<PayrollReport> getReport(Long reportId) {
+        PayrollReport active = running.get(reportId);
+        if (active != null) {
+            return Optional.of(withProgress(active));
+        }
+        return readTransaction.execute(status -> payrollReportRepository.findById(reportId));
+    }
+
+    public List<PayrollReport> getRecentReports(int limit) {
+        List<PayrollReport> reports = readTransaction.execute(status -> payrollReportRepository.findRecent(PageRequest.of(0, limit)));
+        List<PayrollReport> results = new ArrayList<>();
+        if (reports != null) {
+            for (PayrollReport report : reports) {
+                PayrollReport active = running.get(report.getId());
+                results.add(active != null ? withProgress(active) : report);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Stored gzip-compressed CSV of a completed report
+     */
+    public Optional<byte[]> getReportContent(Long reportId) {
+        return readTransaction.execute(status -> contentRepository.findById(reportId).map(PayrollReportContent::getCsvGzip));
+    }
+
+    private void run(PayrollReport report, YearMonth period) {
+        long startTime = System.currentTimeMillis();
+        report.setStatus(PayrollReport.Status.RUNNING);
+        report.setStartedAt(LocalDateTime.now());
+        try {
+            writeTransaction.executeWithoutResult(status -> payrollReportRepository.save(report));
+
+            List<Long> employeeIds = readTransaction.execute(status -> employeeRepository.findActiveEmployeeIds());
+            List<List<Long>> chunks = new ArrayList<>();
+            if (employeeIds != null) {
+                for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+                    chunks.add(employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size())));
+                }
+            }
+            report.setEmployeeCount(employeeIds != null ? employeeIds.size() : 0);
+
+            List<EmployeeAttendanceReport>[] results = computeChunks(period, chunks, progress.get(report.getId()));
+            byte[] csv = toGzipCsv(period, results, report);
+
+            report.setContentSize(csv.length);
+            report.setStatus(PayrollReport.Status.COMPLETED);
+            report.setCompletedAt(LocalDateTime.now());
+            writeTransaction.executeWithoutResult(status -> {
+                payrollReportRepository.save(report);
+                contentRepository.save(new PayrollReportContent(report.getId(), csv));
+            });
+            logger.info("Payroll report {} for {} completed: {} employee(s), {} chunk(s), {} bytes in {} ms",
+                    report.getId(), period, report.getEmployeeCount(), chunks.size(), csv.length,
+                    System.currentTimeMillis() - startTime);
+
+        } catch (Exception e) {
+            report.setStatus(PayrollReport.Status.FAILED);
+            report.setError(e.getMessage());
+            report.setCompletedAt(LocalDateTime.now());
+            logger.error("Payroll report {} for {} failed: {}", report.getId(), period, e.getMessage());
+            try {
+                writeTransaction.executeWithoutResult(status -> payrollReportRepository.save(report));
+            } catch (Exception saveError) {
+                logger.error("Failed to record payroll report failure: " + saveError.getMessage());
+            }
+        } finally {
+            running.remove(report.getId());
+            progress.remove(report.getId());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmployeeAttendanceReport>[] computeChunks(YearMonth period, List<List<Long>> chunks, AtomicInteger processed) {
+        List<EmployeeAttendanceReport>[] results = new List[chunks.size()];
+        if (!chunks.isEmpty()) {
+            chunkPool.invoke(new ChunkTask(period, chunks, results, processed, 0, chunks.size()));
+        }
+        return results;
+    }
+
+    private byte[] toGzipCsv(YearMonth period, List<EmployeeAttendanceReport>[] results, PayrollReport report) throws IOException {
+        double totalHours = 0.0;
+        double overtimeHours = 0.0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            writer.write("period,employee_id,name,email,days_present,completed_sessions,open_sessions,"
+                    + "total_hours,regular_hours,overtime_hours,late_arrivals\n");
+            for (List<EmployeeAttendanceReport> chunk : results) {
+                for (EmployeeAttendanceReport line : chunk) {
+                    double regular = line.getTotalHours() - line.getOvertimeHours();
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%s,%s,%d,%d,%d,%.2f,%.2f,%.2f,%d\n",
+                            period, line.getEmployeeId(), csvField(line.getEmployeeName()), csvField(line.getEmail()),
+                            line.getDaysPresent(), line.getCompletedSessions(),
+                            line.getSessions() - line.getCompletedSessions(), line.getTotalHours(), regular,
+                            line.getOvertimeHours(), line.getLateArrivals()));
+                    totalHours += line.getTotalHours();
+                    overtimeHours += line.getOvertimeHours();
+                }
+            }
+        }
+        report.setTotalHours(totalHours);
+        report.setOvertimeHours(overtimeHours);
+        return bytes.toByteArray();
+    }
+
+    private PayrollReport withProgress(PayrollReport report) {
+        AtomicInteger processed = progress.get(report.getId());
+        report.setProcessedEmployees(processed != null ? processed.get() : 0);
+        return report;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.contains(",") || value.contains("\"") || value.contains("\n")
+                ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    /**
+     * Splits the chunk range in halves until a single chunk remains, which is one report query
+     */
+    private class ChunkTask extends RecursiveAction {
+        private final YearMonth period;
+        private final List<List<Long>> chunks;
+        private final List<EmployeeAttendanceReport>[] results;
+        private final AtomicInteger processed;
+        private final int from;
+        private final int to;
+
+        ChunkTask(YearMonth period, List<List<Long>> chunks, List<EmployeeAttendanceReport>[] results,
+                  AtomicInteger processed, int from, int to) {
+            this.period = period;
+            this.chunks = chunks;
+            this.results = results;
+            this.processed = processed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                List<Long> ids = chunks.get(from);
+                results[from] = attendanceReportService.getEmployeeReports(period.atDay(1), period.atEndOfMonth(), ids);
+                processed.addAndGet(ids.size());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(period, chunks, results, processed, from, mid),
+                      new ChunkTask(period, chunks, results, processed, mid, to));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.attendancesystem.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Stage timings of the request being handled on the current thread, for the Server-Timing header
+ * and the slow-request log. Each thread reuses one instance, so recording a stage is an array add
+ * with no allocation and no locking. Stages recorded outside a timed request are ignored.
+ */
+public final class RequestTiming {
+
+    public enum Stage {
+        AUTH("auth"), LOOKUP("lookup"), FACE("face"), LOCATION("location"), DB("db");
+
+        private final String headerName;
+
+        Stage(String headerName) {
+            this.headerName = headerName;
+        }
+
+        public String getHeaderName() {
+            return headerName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private long startNanos;
+    private boolean active;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * Start timing a request on this thread
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = CURRENT.get();
+        Arrays.fill(timing.stageNanos, 0L);
+        timing.startNanos = System.nanoTime();
+        timing.active = true;
+        return timing;
+    }
+
+    public static void record(Stage stage, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.stageNanos[stage.ordinal()] += nanos;
+        }
+    }
+
+    public void finish() {
+        active = false;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long[] copyStageNanos() {
+        return stageNanos.clone();
+    }
+
+    /**
+     * Server-Timing header value, e.g. "auth;dur=1.2, face;dur=84.0, total;dur=97.3"; stages
+     * that did not run are left out
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos > 0) {
+                appendMetric(header, stage.headerName, nanos);
+            }
+        }
+        appendMetric(header, "total", getElapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        // Milliseconds with one decimal, without String.format
+        long tenths = nanos / 100_000L;
+        header.append(name).append(";dur=").append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
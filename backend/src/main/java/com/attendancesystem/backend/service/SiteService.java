@@ -0,0 +1,153 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Site;
+import com.attendancesystem.backend.repository.SiteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class SiteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteService.class);
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private GeofenceIndex geofenceIndex;
+
+    /**
+     * Create a new site geofence
+     */
+    public Site createSite(Site site) {
+        try {
+            validateGeofence(site);
+            site.setActive(true);
+            site.setCreatedAt(LocalDateTime.now());
+            site.setUpdatedAt(LocalDateTime.now());
+
+            Site savedSite = siteRepository.save(site);
+            reloadIndexAfterCommit();
+            logger.info("Site created successfully: {}", savedSite.getName());
+            return savedSite;
+
+        } catch (Exception e) {
+            logger.error("Failed to create site: {}", e.getMessage());
+            throw new RuntimeException("Failed to create site: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Update an existing site geofence
+     */
+    public Site updateSite(Long id, Site updatedSite) {
+        try {
+            Site existingSite = siteRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Site not found"));
+            validateGeofence(updatedSite);
+
+            existingSite.setName(updatedSite.getName());
+            existingSite.setLatitude(updatedSite.getLatitude());
+            existingSite.setLongitude(updatedSite.getLongitude());
+            existingSite.setRadiusKm(updatedSite.getRadiusKm());
+            existingSite.setBoundary(updatedSite.getBoundary());
+            existingSite.setActive(updatedSite.isActive());
+            existingSite.setUpdatedAt(LocalDateTime.now());
+
+            Site savedSite = siteRepository.save(existingSite);
+            reloadIndexAfterCommit();
+            logger.info("Site updated successfully: {}", savedSite.getName());
+            return savedSite;
+
+        } catch (Exception e) {
+            logger.error("Failed to update site {}: {}", id, e.getMessage());
+            throw new RuntimeException("Failed to update site: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete a site geofence
+     */
+    public void deleteSite(Long id) {
+        try {
+            Site site = siteRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Site not found"));
+
+            siteRepository.delete(site);
+            reloadIndexAfterCommit();
+            logger.info("Site deleted: {}", site.getName());
+
+        } catch (Exception e) {
+            logger.error("Failed to delete site {}: {}", id, e.getMessage());
+            throw new RuntimeException("Failed to delete site: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get site by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Site> getSiteById(Long id) {
+        return siteRepository.findById(id);
+    }
+
+    /**
+     * Get all sites (including inactive)
+     */
+    @Transactional(readOnly = true)
+    public List<Site> getAllSites() {
+        return siteRepository.findAll();
+    }
+
+    /**
+     * A site needs either a positive radius or a polygon boundary with at least three vertices
+     */
+    private void validateGeofence(Site site) {
+        if (site.getBoundary() != null && !site.getBoundary().isBlank()) {
+            String[] vertices = site.getBoundary().trim().split(";");
+            if (vertices.length < 3) {
+                throw new RuntimeException("Site boundary must have at least 3 vertices");
+            }
+            for (String vertex : vertices) {
+                String[] parts = vertex.trim().split(",");
+                if (parts.length != 2) {
+                    throw new RuntimeException("Invalid boundary vertex: " + vertex);
+                }
+                try {
+                    Double.parseDouble(parts[0].trim());
+                    Double.parseDouble(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("Invalid boundary vertex: " + vertex);
+                }
+            }
+        } else if (site.getRadiusKm() == null || site.getRadiusKm() <= 0) {
+            throw new RuntimeException("Site requires a positive radius or a polygon boundary");
+        }
+    }
+
+    /**
+     * Rebuild the geofence index once the current transaction has committed
+     */
+    private void reloadIndexAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    geofenceIndex.reload();
+                }
+            });
+        } else {
+            geofenceIndex.reload();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.attendancesystem.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of recent requests slower than the threshold, with their stage breakdown.
+ * Requests under the threshold cost one comparison; a slow one claims a slot with an atomic
+ * increment and overwrites the oldest entry, so recording never locks.
+ */
+@Component
+public class SlowRequestLog {
+
+    @Value("${app.request-timing.slow-threshold-ms}")
+    private long slowThresholdMs;
+
+    @Value("${app.request-timing.slow-capacity}")
+    private int capacity;
+
+    private long slowThresholdNanos;
+    private AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong cursor = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        slowThresholdNanos = slowThresholdMs * 1_000_000L;
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(String method, String path, int status, RequestTiming timing) {
+        long elapsedNanos = timing.getElapsedNanos();
+        if (elapsedNanos < slowThresholdNanos) {
+            return;
+        }
+        int slot = (int) (cursor.getAndIncrement() % capacity);
+        slots.set(slot, new SlowRequest(method, path, status, LocalDateTime.now(), elapsedNanos, timing.copyStageNanos()));
+    }
+
+    /**
+     * Slow requests still in the buffer, slowest first
+     */
+    public List<SlowRequest> getSlowest(int limit) {
+        List<SlowRequest> requests = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            SlowRequest request = slots.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparingLong((SlowRequest request) -> request.totalNanos).reversed());
+        return requests.size() > limit ? new ArrayList<>(requests.subList(0, limit)) : requests;
+    }
+
+    public long getRecordedCount() {
+        return cursor.get();
+    }
+
+    public static class SlowRequest {
+        private final String method;
+        private final String path;
+        private final int status;
+        private final LocalDateTime completedAt;
+        private final long totalNanos;
+        private final long[] stageNanos;
+
+        SlowRequest(String method, String path, int status, LocalDateTime completedAt, long totalNanos, long[] stageNanos) {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.completedAt = completedAt;
+            this.totalNanos = totalNanos;
+            this.stageNanos = stageNanos;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public LocalDateTime getCompletedAt() {
+            return completedAt;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        /**
+         * Milliseconds per stage that ran, in pipeline order
+         */
+        public Map<String, Double> getStageMillis() {
+            Map<String, Double> stages = new LinkedHashMap<>();
+            for (RequestTiming.Stage stage : RequestTiming.Stage.values()) {
+                long nanos = stageNanos[stage.ordinal()];
+                if (nanos > 0) {
+                    stages.put(stage.getHeaderName(), nanos / 1_000_000.0);
+                }
+            }
+            return stages;
+        }
+    }
+}
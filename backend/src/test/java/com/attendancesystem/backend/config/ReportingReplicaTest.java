@@ -0,0 +1,71 @@
+package com.attendancesystem.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportingReplicaTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsRetiredPoolsOpenWhileTheirConnectionsAreInUse() throws Exception {
+        SQLiteDataSource source = new SQLiteDataSource();
+        source.setUrl("jdbc:sqlite:" + directory.resolve("live.db"));
+        try (Connection connection = source.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE attendance (id INTEGER PRIMARY KEY)");
+            statement.execute("INSERT INTO attendance VALUES (1), (2), (3)");
+        }
+
+        Path replicas = directory.resolve("replicas");
+        ReportingReplica replica = new ReportingReplica(source, replicas, 2, 1000, 60_000);
+        try {
+            replica.refresh();
+            try (Connection report = replica.getConnection()) {
+                // Two refreshes retire the generation this report is reading from
+                Thread.sleep(2);
+                replica.refresh();
+                Thread.sleep(2);
+                replica.refresh();
+                assertEquals(3, count(report));
+                // The report's generation, the one retired just now, and the current one
+                assertEquals(3, replicaFiles(replicas));
+            }
+
+            Thread.sleep(2);
+            replica.refresh();
+            // Only the current generation and the one retired by this refresh remain
+            assertEquals(2, replicaFiles(replicas));
+            try (Connection report = replica.getConnection()) {
+                assertEquals(3, count(report));
+            }
+        } finally {
+            replica.close();
+        }
+        assertEquals(0, replicaFiles(replicas));
+    }
+
+    private static int count(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM attendance")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static long replicaFiles(Path replicas) throws Exception {
+        try (Stream<Path> files = Files.list(replicas)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("replica-")).count();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.attendancesystem.backend.config;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.KeyValue;
+import org.hibernate.mapping.RootClass;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SequenceTableIdGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("ids.db"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE items (item_id INTEGER PRIMARY KEY)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    void handsOutConsecutiveIdsOneBlockAtATime() throws Exception {
+        SequenceTableIdGenerator generator = generator(3);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), generate(generator, 7));
+        // Three blocks reserved: 1-3, 4-6 and 7-9
+        assertEquals(10, storedNext());
+    }
+
+    @Test
+    void startsAboveExistingRowsAndReservedBlocks() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO items VALUES (41)");
+        }
+        assertEquals(List.of(42L, 43L), generate(generator(5), 2));
+
+        // After a restart the unused rest of the reserved block is skipped
+        assertEquals(List.of(47L), generate(generator(5), 1));
+        assertEquals(52, storedNext());
+    }
+
+    @Test
+    void neverReusesIdsFromARolledBackReservation() throws Exception {
+        SequenceTableIdGenerator generator = generator(3);
+        connection.setAutoCommit(false);
+        assertEquals(List.of(1L), generate(generator, 1));
+        connection.rollback();
+        connection.setAutoCommit(true);
+        assertEquals(0, storedNext());
+
+        assertEquals(List.of(2L, 3L, 4L), generate(generator, 3));
+        assertEquals(7, storedNext());
+    }
+
+    private SequenceTableIdGenerator generator(int allocationSize) {
+        Table table = mock(Table.class);
+        when(table.getName()).thenReturn("items");
+        KeyValue identifier = mock(KeyValue.class);
+        when(identifier.getColumns()).thenReturn(List.of(new Column("item_id")));
+        RootClass entity = mock(RootClass.class);
+        when(entity.getTable()).thenReturn(table);
+        when(entity.getIdentifier()).thenReturn(identifier);
+
+        ConnectionProvider connectionProvider = mock(ConnectionProvider.class);
+        try {
+            when(connectionProvider.getConnection()).thenReturn(connection);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        when(serviceRegistry.getService(ConnectionProvider.class)).thenReturn(connectionProvider);
+
+        CustomIdGeneratorCreationContext context = mock(CustomIdGeneratorCreationContext.class);
+        when(context.getRootClass()).thenReturn(entity);
+        when(context.getServiceRegistry()).thenReturn(serviceRegistry);
+        return new SequenceTableIdGenerator(config(allocationSize), null, context);
+    }
+
+    private List<Long> generate(SequenceTableIdGenerator generator, int count) {
+        SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class, RETURNS_DEEP_STUBS);
+        when(session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection()).thenReturn(connection);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) generator.generate(session, null));
+        }
+        return ids;
+    }
+
+    private long storedNext() throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COALESCE(MAX(next_val), 0) FROM id_sequences WHERE sequence_name = 'items'")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static SequenceTableId config(int allocationSize) {
+        return new SequenceTableId() {
+            @Override
+            public String name() {
+                return "";
+            }
+
+            @Override
+            public int allocationSize() {
+                return allocationSize;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return SequenceTableId.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.attendancesystem.backend.security;
+
+import com.attendancesystem.backend.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceRateLimitFilterTest {
+
+    private AttendanceRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AttendanceRateLimitFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "pathPrefix", "/api/attendance/");
+        ReflectionTestUtils.setField(filter, "employeeCapacity", 1);
+        ReflectionTestUtils.setField(filter, "employeeRefillPerMinute", 0.001);
+        ReflectionTestUtils.setField(filter, "kioskCapacity", 3);
+        ReflectionTestUtils.setField(filter, "kioskRefillPerMinute", 0.001);
+        ReflectionTestUtils.setField(filter, "maxKioskBuckets", 4);
+        ReflectionTestUtils.setField(filter, "syncCapacity", 2);
+        ReflectionTestUtils.setField(filter, "syncRefillPerMinute", 0.001);
+        ReflectionTestUtils.setField(filter, "idleEvictionMs", 600_000L);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unauthenticatedClientsCannotRotateKioskIds() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post("/api/attendance/check-in", "10.0.0.1", "kiosk-" + i));
+        }
+        assertEquals(429, post("/api/attendance/check-in", "10.0.0.1", "kiosk-99"));
+        assertEquals(1, filter.getTrackedBucketCount());
+    }
+
+    @Test
+    void newClientsShareTheOverflowBucketOnceTheMapIsFull() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(200, post("/api/attendance/check-in", "10.0.0." + i, null));
+        }
+        for (int i = 4; i < 7; i++) {
+            assertEquals(200, post("/api/attendance/check-in", "10.0.0." + i, null));
+        }
+        assertEquals(429, post("/api/attendance/check-in", "10.0.1.1", null));
+        assertEquals(5, filter.getTrackedBucketCount());
+    }
+
+    @Test
+    void syncUsesItsOwnBucketInsteadOfTheEmployeeBucket() throws Exception {
+        authenticate(1L);
+        assertEquals(200, post("/api/attendance/sync", "10.0.0.1", "kiosk-1"));
+        assertEquals(200, post("/api/attendance/sync", "10.0.0.1", "kiosk-2"));
+        // The admin's own employee bucket is untouched by the uploads
+        assertEquals(200, post("/api/attendance/check-in", "10.0.0.1", "kiosk-1"));
+        assertEquals(429, post("/api/attendance/check-in", "10.0.0.1", "kiosk-1"));
+        // Kiosk 2 still has client tokens but has used up its sync bucket
+        assertEquals(200, post("/api/attendance/sync", "10.0.0.1", "kiosk-2"));
+        assertEquals(429, post("/api/attendance/sync", "10.0.0.1", "kiosk-2"));
+        assertTrue(filter.getKioskRejections() > 0);
+    }
+
+    private int post(String uri, String remoteAddress, String kioskId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddress);
+        if (kioskId != null) {
+            request.addHeader(AttendanceRateLimitFilter.KIOSK_ID_HEADER, kioskId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static void authenticate(Long employeeId) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        employee.setRole(Employee.Role.ADMIN);
+        EmployeeUserDetails userDetails = new EmployeeUserDetails(employee);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
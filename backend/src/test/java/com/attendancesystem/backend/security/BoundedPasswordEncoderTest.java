@@ -0,0 +1,142 @@
+package com.attendancesystem.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void timedOutCallersGetRejectedAndQueuedWorkIsSkipped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger encoded = new AtomicInteger();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(release, encoded), 1, 1, 100, 1);
+        try {
+            Thread first = new Thread(() -> assertThrows(PasswordHashingRejectedException.class,
+                    () -> encoder.encode("first")));
+            first.start();
+            // Wait until the only worker is busy with the first password
+            while (encoder.getActiveCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            // Queued behind it, times out and is cancelled before it starts
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("second"));
+            first.join();
+            assertEquals(2, encoder.getRejectedCount());
+
+            release.countDown();
+            assertEquals("encoded:third", encoder.encode("third"));
+            assertEquals(2, encoded.get());
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(release, new AtomicInteger()), 1, 1, 10_000, 1);
+        try {
+            new Thread(() -> encoder.encode("running")).start();
+            new Thread(() -> encoder.encode("queued")).start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (encoder.getQueueDepth() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("rejected"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void bulkEncodingLeavesLoginsTheirShareOfThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger encoded = new AtomicInteger();
+        PasswordEncoder gated = new PasswordEncoder() {
+            private final BlockingEncoder bulk = new BlockingEncoder(release, encoded);
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString().startsWith("bulk") ? bulk.encode(rawPassword) : "login:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(gated, 2, 4, 1_000, 1);
+        try {
+            List<String> result = new ArrayList<>();
+            Thread bulk = new Thread(() -> result.addAll(encoder.encodeAll(List.of("bulk-1", "bulk-2", "bulk-3"))));
+            bulk.start();
+            while (encoder.getActiveCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            // One bulk hash is stuck; the other thread still serves logins and nothing else is queued
+            assertEquals("login:alice", encoder.encode("alice"));
+            assertEquals(0, encoder.getQueueDepth());
+
+            release.countDown();
+            bulk.join();
+            assertEquals(List.of("encoded:bulk-1", "encoded:bulk-2", "encoded:bulk-3"), result);
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    /**
+     * Stands in for BCrypt: ignores interruption and finishes only when released
+     */
+    private static class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch release;
+        private final AtomicInteger encoded;
+
+        BlockingEncoder(CountDownLatch release, AtomicInteger encoded) {
+            this.release = release;
+            this.encoded = encoded;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            encoded.incrementAndGet();
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.attendancesystem.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void grantsTheBurstThenOneTokenPerEmissionInterval() {
+        long start = 1_000 * SECOND;
+        // Five tokens, refilled at one every ten seconds
+        TokenBucket bucket = new TokenBucket(5, 6, start);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(start));
+        }
+        assertEquals(10 * SECOND, bucket.tryAcquire(start));
+        // A refused request does not consume anything
+        assertEquals(4 * SECOND, bucket.tryAcquire(start + 6 * SECOND));
+
+        assertEquals(0, bucket.tryAcquire(start + 10 * SECOND));
+        assertEquals(10 * SECOND, bucket.tryAcquire(start + 10 * SECOND));
+    }
+
+    @Test
+    void refillsUpToCapacityOnly() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(3, 60, start);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(start));
+        }
+
+        long muchLater = start + 3_600 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(muchLater));
+        }
+        assertEquals(SECOND, bucket.tryAcquire(muchLater));
+    }
+
+    @Test
+    void isIdleOnceFullyRefilledForTheIdleTime() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(2, 6, start);
+        bucket.tryAcquire(start);
+        bucket.tryAcquire(start);
+
+        // Refilled at start + 20 s
+        assertFalse(bucket.isIdle(start + 25 * SECOND, 10 * SECOND));
+        assertTrue(bucket.isIdle(start + 31 * SECOND, 10 * SECOND));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(50, 1, now);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (bucket.tryAcquire(now) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(50, granted.get());
+    }
+}
@@ -0,0 +1,136 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceArchiveServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(6);
+
+    @TempDir
+    Path directory;
+
+    private AttendanceRepository attendanceRepository;
+    private EmployeeRepository employeeRepository;
+    private AttendanceArchiveService archiveService;
+    private List<Attendance> rows;
+
+    @BeforeEach
+    void setUp() {
+        attendanceRepository = mock(AttendanceRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+
+        archiveService = new AttendanceArchiveService();
+        ReflectionTestUtils.setField(archiveService, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(archiveService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(archiveService, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(archiveService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(archiveService, "directoryProperty", directory.toString());
+        ReflectionTestUtils.setField(archiveService, "retainMonths", 3);
+        ReflectionTestUtils.setField(archiveService, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiveService, "cachedSegments", 4);
+        ReflectionTestUtils.setField(archiveService, "historyMonths", 12);
+        archiveService.init();
+
+        LocalDateTime start = MONTH.atDay(1).atStartOfDay();
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            LocalDateTime checkIn = start.plusDays(id).plusHours(9);
+            rows.add(closed(id, 100 + id, checkIn));
+        }
+        when(attendanceRepository.findEarliestCheckInTime()).thenReturn(start.plusDays(1));
+        when(attendanceRepository.findCheckedInBetween(eq(start), eq(start.plusMonths(1)), eq(0L), any()))
+                .thenReturn(rows);
+        when(attendanceRepository.deleteByIds(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
+    }
+
+    @Test
+    void keepsRowsUpdatedAfterTheyWereRead() {
+        // Row 2 gets a new check-out between the archival read and the delete; row 5 is deleted meanwhile
+        when(attendanceRepository.findCheckOutAndUpdateTimesByIds(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> current = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                Attendance row = rows.get((int) (id - 1));
+                if (id == 2) {
+                    current.add(new Object[] {id, row.getCheckOutTime().plusHours(1), row.getUpdatedAt().plusDays(200)});
+                } else if (id != 5) {
+                    current.add(new Object[] {id, row.getCheckOutTime(), row.getUpdatedAt()});
+                }
+            }
+            return current;
+        });
+
+        archiveService.archiveClosedMonths();
+
+        verify(attendanceRepository).deleteByIds(List.of(1L));
+        verify(attendanceRepository).deleteByIds(List.of(3L, 4L));
+        verify(attendanceRepository, times(2)).deleteByIds(anyCollection());
+        assertEquals(5, archiveService.getSegments().get(0).getRowCount());
+    }
+
+    @Test
+    void loadsEmployeesOfArchivedRowsInChunks() {
+        when(attendanceRepository.findCheckOutAndUpdateTimesByIds(anyCollection())).thenReturn(List.of());
+        archiveService.archiveClosedMonths();
+        when(employeeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                employees.add(employee(id));
+            }
+            return employees;
+        });
+
+        List<Attendance> archived = archiveService.findArchived(null, null, null);
+
+        assertEquals(5, archived.size());
+        assertEquals(5L, archived.get(0).getId());
+        // Five distinct employees with a chunk size of two
+        verify(employeeRepository, times(3)).findAllById(any());
+    }
+
+    private static Attendance closed(long id, long employeeId, LocalDateTime checkIn) {
+        Attendance attendance = new Attendance();
+        attendance.setId(id);
+        attendance.setEmployee(employee(employeeId));
+        attendance.setCheckInTime(checkIn);
+        attendance.setCheckOutTime(checkIn.plusHours(8));
+        attendance.setWorkingHours(8.0);
+        attendance.setStatus(Attendance.AttendanceStatus.CHECKED_OUT);
+        attendance.setCheckoutReason(Attendance.CheckoutReason.EMPLOYEE);
+        attendance.setCreatedAt(checkIn);
+        attendance.setUpdatedAt(checkIn.plusHours(8));
+        return attendance;
+    }
+
+    private static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,99 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeeAttendanceReport;
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttendanceReportServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    @Test
+    void countsArchivedRowsStillInTheDatabaseOnce() {
+        AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+        AttendanceArchiveService archiveService = mock(AttendanceArchiveService.class);
+
+        AttendanceReportService reportService = new AttendanceReportService();
+        ReflectionTestUtils.setField(reportService, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(reportService, "archiveService", archiveService);
+        ReflectionTestUtils.setField(reportService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(reportService, "lateAfterProperty", "09:15");
+        ReflectionTestUtils.setField(reportService, "standardDailyHours", 8.0);
+        reportService.init();
+
+        LocalDateTime march = MONTH.atDay(1).atStartOfDay();
+        LocalDateTime april = march.plusMonths(1);
+        LocalDateTime corrected = march.plusDays(4).plusHours(10);
+        LocalDateTime afternoon = march.plusDays(4).plusHours(15);
+
+        // Archived March, where row 2 was corrected to 9 hours after it was copied into the segment
+        List<Attendance> segmentRows = new ArrayList<>();
+        segmentRows.add(archived(1L, march.plusDays(3).plusHours(9)));
+        segmentRows.add(archived(2L, corrected));
+        segmentRows.add(archived(3L, march.plusDays(5).plusHours(9)));
+        AttendanceArchiveService.SegmentInfo info = new AttendanceArchiveService.SegmentInfo();
+        info.setMonth(MONTH.toString());
+        when(archiveService.segmentsOverlapping(any(), any())).thenReturn(List.of(info));
+        when(archiveService.loadSegment(info)).thenReturn(AttendanceSegment.of(MONTH, segmentRows));
+
+        // Rows 2 and 4 are still in the hot table for March; row 5 is in the live month
+        when(attendanceRepository.findReportRowsBetween(any(), any())).thenReturn(List.of(
+                new Object[] {2L, 7L, corrected, 9.0},
+                new Object[] {4L, 7L, afternoon, 2.0}));
+        when(attendanceRepository.streamReportRowsForEmployees(any(), any(), anyCollection())).thenReturn(Stream.of(
+                reportRow(corrected, 9.0),
+                reportRow(afternoon, 2.0),
+                reportRow(april.plusHours(9), 8.0)));
+
+        List<EmployeeAttendanceReport> reports = reportService.getEmployeeReports(
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 30), List.of(7L));
+
+        assertEquals(1, reports.size());
+        EmployeeAttendanceReport report = reports.get(0);
+        assertEquals("Anna Smith", report.getEmployeeName());
+        assertEquals(5, report.getSessions());
+        assertEquals(35.0, report.getTotalHours(), 1e-9);
+        assertEquals(4, report.getDaysPresent());
+        // Only the corrected day started late, and its two sessions add up to 11 hours
+        assertEquals(1, report.getLateArrivals());
+        assertEquals(3.0, report.getOvertimeHours(), 1e-9);
+    }
+
+    private static Object[] reportRow(LocalDateTime checkIn, Double workingHours) {
+        return new Object[] {7L, "Anna", "Smith", "anna@company.com", Employee.Role.EMPLOYEE, checkIn, workingHours};
+    }
+
+    private static Attendance archived(long id, LocalDateTime checkIn) {
+        Employee employee = new Employee();
+        employee.setId(7L);
+
+        Attendance attendance = new Attendance();
+        attendance.setId(id);
+        attendance.setEmployee(employee);
+        attendance.setCheckInTime(checkIn);
+        attendance.setCheckOutTime(checkIn.plusHours(8));
+        attendance.setWorkingHours(8.0);
+        attendance.setStatus(Attendance.AttendanceStatus.CHECKED_OUT);
+        attendance.setCheckoutReason(Attendance.CheckoutReason.EMPLOYEE);
+        attendance.setCreatedAt(checkIn);
+        attendance.setUpdatedAt(checkIn.plusHours(8));
+        return attendance;
+    }
+}
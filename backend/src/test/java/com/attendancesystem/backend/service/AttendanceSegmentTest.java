@@ -0,0 +1,127 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AttendanceSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripPreservesEveryColumn() throws Exception {
+        List<Attendance> rows = new ArrayList<>();
+        LocalDateTime start = MONTH.atDay(1).atStartOfDay();
+        // Ids out of check-in order and far apart give negative and multi-byte deltas
+        rows.add(row(900_000_000_000L, 7L, start.plusHours(9).plusNanos(123_000_000),
+                start.plusHours(17).plusMinutes(30), 8.5, Attendance.CheckoutReason.EMPLOYEE));
+        rows.add(row(3L, 1L, start.plusDays(1).plusHours(8), null, null, null));
+        rows.add(row(42L, 7L, start.plusDays(2).plusHours(22), start.plusDays(3).plusHours(6), 8.0,
+                Attendance.CheckoutReason.AUTO_SHIFT_END));
+        rows.add(row(41L, 1L, start.plusDays(2).plusHours(22), start.plusDays(2).plusHours(22), 0.0,
+                Attendance.CheckoutReason.ADMIN_FORCED));
+        // Updated before check-in: a negative relative offset
+        Attendance backdated = row(5L, Long.MAX_VALUE / 2, start.plusDays(30).plusHours(23), null, null, null);
+        backdated.setUpdatedAt(start.minusDays(10));
+        rows.add(backdated);
+
+        AttendanceSegment segment = AttendanceSegment.of(MONTH, rows);
+        Path file = directory.resolve("segment.seg");
+        segment.write(file);
+        AttendanceSegment read = AttendanceSegment.read(file);
+
+        assertEquals(MONTH, read.getMonth());
+        assertEquals(rows.size(), read.size());
+        for (int row = 0; row < read.size(); row++) {
+            Attendance expected = segment.toAttendance(row, null);
+            Attendance actual = read.toAttendance(row, null);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(segment.getEmployeeId(row), read.getEmployeeId(row));
+            assertEquals(expected.getCheckInTime(), actual.getCheckInTime());
+            assertEquals(expected.getCheckOutTime(), actual.getCheckOutTime());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+            assertEquals(expected.getCheckInLocationLat(), actual.getCheckInLocationLat());
+            assertEquals(expected.getCheckInLocationLng(), actual.getCheckInLocationLng());
+            assertEquals(expected.getCheckOutLocationLat(), actual.getCheckOutLocationLat());
+            assertEquals(expected.getCheckOutLocationLng(), actual.getCheckOutLocationLng());
+            assertEquals(expected.getWorkingHours(), actual.getWorkingHours());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getCheckoutReason(), actual.getCheckoutReason());
+        }
+
+        Attendance first = read.toAttendance(0, null);
+        assertEquals(900_000_000_000L, first.getId());
+        assertEquals(start.plusHours(9).plusNanos(123_000_000), first.getCheckInTime());
+        assertEquals(8.5, first.getWorkingHours());
+
+        Attendance open = read.toAttendance(1, null);
+        assertNull(open.getCheckOutTime());
+        assertNull(open.getWorkingHours());
+        assertNull(open.getCheckOutLocationLat());
+        assertNull(open.getCheckoutReason());
+
+        assertEquals(start.minusDays(10), read.toAttendance(4, null).getUpdatedAt());
+    }
+
+    @Test
+    void indexesRowsByEmployeeInCheckInOrder() throws Exception {
+        LocalDateTime start = MONTH.atDay(1).atStartOfDay();
+        List<Attendance> rows = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            rows.add(row(100L + day, day % 3, start.plusDays(day).plusHours(9), start.plusDays(day).plusHours(17),
+                    8.0, Attendance.CheckoutReason.EMPLOYEE));
+        }
+
+        Path file = directory.resolve("indexed.seg");
+        AttendanceSegment.of(MONTH, rows).write(file);
+        AttendanceSegment read = AttendanceSegment.read(file);
+
+        assertArrayEquals(new int[] {0, 3, 6, 9}, read.rowsOf(0L));
+        assertArrayEquals(new int[] {1, 4, 7}, read.rowsOf(1L));
+        assertArrayEquals(new int[0], read.rowsOf(99L));
+
+        assertEquals(2, read.lowerBound(AttendanceSegment.toMillis(start.plusDays(2))));
+        assertEquals(3, read.upperBound(AttendanceSegment.toMillis(start.plusDays(2).plusHours(9))));
+        assertEquals(10, read.upperBound(Long.MAX_VALUE));
+    }
+
+    private static Attendance row(long id, long employeeId, LocalDateTime checkIn, LocalDateTime checkOut,
+                                  Double workingHours, Attendance.CheckoutReason reason) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+
+        Attendance attendance = new Attendance();
+        attendance.setId(id);
+        attendance.setEmployee(employee);
+        attendance.setCheckInTime(checkIn);
+        attendance.setCheckOutTime(checkOut);
+        attendance.setCheckInLocationLat(40.7128);
+        attendance.setCheckInLocationLng(-74.0060);
+        if (checkOut != null) {
+            attendance.setCheckOutLocationLat(40.7129);
+            attendance.setCheckOutLocationLng(-74.0061);
+        }
+        attendance.setWorkingHours(workingHours);
+        attendance.setStatus(checkOut != null ? Attendance.AttendanceStatus.CHECKED_OUT
+                : Attendance.AttendanceStatus.CHECKED_IN);
+        attendance.setCheckoutReason(reason);
+        attendance.setCreatedAt(checkIn);
+        attendance.setUpdatedAt(checkOut != null ? checkOut : checkIn);
+        return attendance;
+    }
+}
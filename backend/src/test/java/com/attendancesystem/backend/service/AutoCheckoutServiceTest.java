@@ -0,0 +1,108 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutoCheckoutServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 5, 12, 0);
+
+    @Test
+    void closesAtTheEarlierOfMaximumDurationAndNextShiftEnd() {
+        AutoCheckoutService service = service(12, "18:00", 100);
+
+        // Shift end comes first on the day of check-in
+        assertClosing(service, NOW.minusDays(1).withHour(8), NOW.minusDays(1).withHour(18),
+                Attendance.CheckoutReason.AUTO_SHIFT_END);
+        // Checked in after the shift end: the maximum duration comes before the next one
+        assertClosing(service, NOW.minusDays(1).withHour(19), NOW.withHour(7),
+                Attendance.CheckoutReason.AUTO_MAX_DURATION);
+        // Checked in exactly at a shift end: that shift end does not count
+        assertClosing(service, NOW.minusDays(1).withHour(18), NOW.withHour(6),
+                Attendance.CheckoutReason.AUTO_MAX_DURATION);
+        // A missing check-in time is closed now
+        assertClosing(service, null, NOW, Attendance.CheckoutReason.AUTO_MAX_DURATION);
+
+        // Neither rule has passed yet
+        assertNull(ReflectionTestUtils.invokeMethod(service, "closingFor", NOW.withHour(8), NOW));
+        assertNull(ReflectionTestUtils.invokeMethod(service, "closingFor", NOW.withHour(1), NOW));
+
+        AutoCheckoutService maxOnly = service(10, "", 100);
+        assertClosing(maxOnly, NOW.withHour(1), NOW.withHour(11), Attendance.CheckoutReason.AUTO_MAX_DURATION);
+        AutoCheckoutService shiftOnly = service(0, "06:30", 100);
+        assertClosing(shiftOnly, NOW.minusDays(1).withHour(20), NOW.withHour(6).withMinute(30),
+                Attendance.CheckoutReason.AUTO_SHIFT_END);
+    }
+
+    @Test
+    void closesDueSessionsChunkByChunk() {
+        AutoCheckoutService service = service(8, "", 2);
+        AttendanceRepository attendanceRepository =
+                (AttendanceRepository) ReflectionTestUtils.getField(service, "attendanceRepository");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Attendance> open = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            Attendance attendance = new Attendance(employee, now.minusHours(9 + id), 40.7128, -74.0060);
+            attendance.setId(id);
+            open.add(attendance);
+        }
+        when(attendanceRepository.findOpenSessionsStartedBefore(any(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            return open.stream().filter(attendance -> attendance.getId() > afterId).limit(2).toList();
+        });
+
+        AutoCheckoutService.RunSummary summary = service.closeStaleSessions();
+
+        assertEquals(3, summary.getSessionsClosed());
+        assertEquals(2, summary.getChunks());
+        assertEquals(24.0, summary.getHoursCredited(), 0.01);
+        for (Attendance attendance : open) {
+            assertEquals(attendance.getCheckInTime().plusHours(8), attendance.getCheckOutTime());
+            assertEquals(Attendance.CheckoutReason.AUTO_MAX_DURATION, attendance.getCheckoutReason());
+        }
+        assertEquals(3, service.getTotalClosed(Attendance.CheckoutReason.AUTO_MAX_DURATION));
+    }
+
+    private static AutoCheckoutService service(double maxSessionHours, String shiftEnd, int chunkSize) {
+        LocationService locationService = mock(LocationService.class);
+        when(locationService.getAllowedLocation()).thenReturn(new LocationService.LocationInfo(40.7128, -74.0060, 0.001));
+
+        AutoCheckoutService service = new AutoCheckoutService();
+        ReflectionTestUtils.setField(service, "attendanceRepository", mock(AttendanceRepository.class));
+        ReflectionTestUtils.setField(service, "locationService", locationService);
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxSessionHours", maxSessionHours);
+        ReflectionTestUtils.setField(service, "shiftEndProperty", shiftEnd);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        service.init();
+        return service;
+    }
+
+    private static void assertClosing(AutoCheckoutService service, LocalDateTime checkIn,
+                                      LocalDateTime expectedTime, Attendance.CheckoutReason expectedReason) {
+        Object closing = ReflectionTestUtils.invokeMethod(service, "closingFor", checkIn, NOW);
+        assertEquals(expectedTime, ReflectionTestUtils.getField(closing, "time"));
+        assertEquals(expectedReason, ReflectionTestUtils.getField(closing, "reason"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeePage;
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeListingServiceTest {
+
+    @Test
+    void nextCursorContinuesAfterTheLastRowOfThePage() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EmployeeListingService listingService = listingService(entityManager);
+
+        // A value containing the cursor separator must survive the round trip
+        TypedQuery<EmployeeSummary> firstQuery = query(entityManager, new HashMap<>(), List.of(
+                summary(7L, "Adams"), summary(3L, "Baker:Jones"), summary(9L, "Clark")));
+        EmployeePage first = listingService.listEmployees(EmployeeListingService.SortField.LAST_NAME,
+                false, null, null, 2, null);
+
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertNotNull(first.getNextCursor());
+        verify(firstQuery).setMaxResults(3);
+
+        Map<String, Object> parameters = new HashMap<>();
+        query(entityManager, parameters, List.of(summary(9L, "Clark")));
+        EmployeePage second = listingService.listEmployees(EmployeeListingService.SortField.LAST_NAME,
+                false, null, null, 2, first.getNextCursor());
+
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+        assertEquals("Baker:Jones", parameters.get("afterValue"));
+        assertEquals(3L, parameters.get("afterId"));
+
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(2)).createQuery(jpql.capture(), eq(EmployeeSummary.class));
+        assertTrue(jpql.getValue().contains(
+                "AND (e.lastName > :afterValue OR (e.lastName = :afterValue AND e.id > :afterId))"));
+        assertTrue(jpql.getValue().endsWith("ORDER BY e.lastName ASC, e.id ASC"));
+    }
+
+    @Test
+    void rejectsCursorsFromAnotherSortOrder() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EmployeeListingService listingService = listingService(entityManager);
+
+        query(entityManager, new HashMap<>(), List.of(summary(1L, "Adams"), summary(2L, "Baker")));
+        String cursor = listingService.listEmployees(EmployeeListingService.SortField.ID,
+                false, null, null, 1, null).getNextCursor();
+
+        assertThrows(InvalidPageRequestException.class, () -> listingService.listEmployees(
+                EmployeeListingService.SortField.ID, true, null, null, 1, cursor));
+        assertThrows(InvalidPageRequestException.class, () -> listingService.listEmployees(
+                EmployeeListingService.SortField.EMAIL, false, null, null, 1, cursor));
+        assertThrows(InvalidPageRequestException.class, () -> listingService.listEmployees(
+                EmployeeListingService.SortField.ID, false, null, null, 1, "not a cursor!"));
+    }
+
+    private static EmployeeListingService listingService(EntityManager entityManager) {
+        EmployeeListingService listingService = new EmployeeListingService();
+        ReflectionTestUtils.setField(listingService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(listingService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(listingService, "maxPageSize", 200);
+        return listingService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<EmployeeSummary> query(EntityManager entityManager, Map<String, Object> parameters,
+                                                     List<EmployeeSummary> rows) {
+        TypedQuery<EmployeeSummary> query = mock(TypedQuery.class);
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return query;
+        });
+        when(query.getResultList()).thenReturn(rows);
+        when(entityManager.createQuery(anyString(), eq(EmployeeSummary.class))).thenReturn(query);
+        return query;
+    }
+
+    private static EmployeeSummary summary(long id, String lastName) {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 9, 0);
+        return new EmployeeSummary(id, "employee" + id + "@company.com", "First", lastName,
+                Employee.Role.EMPLOYEE, true, false, now, now);
+    }
+}
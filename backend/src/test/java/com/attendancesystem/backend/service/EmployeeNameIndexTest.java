@@ -0,0 +1,81 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeNameIndexTest {
+
+    @Test
+    void ranksWholePartsThenPrefixesThenInfixes() {
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        index.index(summary(1L, "Ann", "Lee"));
+        index.index(summary(2L, "Annabel", "Smith"));
+        index.index(summary(3L, "Lee", "Annika"));
+        index.index(summary(4L, "Joanne", "Lee"));
+        index.index(summary(5L, "Bob", "Stone"));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.search("ANN", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("ann", 2)));
+        // Every term must match anywhere; the phrase "lee ann" prefixes Lee Annika's full name
+        assertEquals(List.of(3L, 1L, 4L), ids(index.search("  lee   ann ", 10)));
+        assertEquals(List.of(5L, 2L), ids(index.search("b", 10)));
+        assertEquals(List.of(), ids(index.search("annx", 10)));
+        assertEquals(List.of(), ids(index.search(" ", 10)));
+
+        // Renames replace the old entry; removals drop it
+        index.index(summary(4L, "Zed", "Zulu"));
+        index.remove(List.of(2L));
+        assertEquals(List.of(1L, 3L), ids(index.search("ann", 10)));
+        assertEquals(List.of(4L), ids(index.search("zulu", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeWhileLoading() {
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        ReflectionTestUtils.setField(index, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+        index.index(summary(1L, "Ann", "Lee"));
+
+        when(employeeRepository.findAllSummaries()).thenAnswer(invocation -> {
+            // Committed after the rebuild's snapshot was taken
+            index.index(summary(99L, "Ann", "New"));
+            index.remove(List.of(1L));
+            index.index(summary(2L, "Anna", "Renamed"));
+            return List.of(summary(1L, "Ann", "Lee"), summary(2L, "Anna", "Old"), summary(3L, "Lee", "Annika"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(99L, 2L, 3L), ids(index.search("ann", 10)));
+        assertEquals(List.of(), ids(index.search("old", 10)));
+        assertEquals(3, index.size());
+
+        // Changes after the rebuild are no longer queued for replay
+        index.remove(List.of(99L));
+        assertEquals(List.of(2L, 3L), ids(index.search("ann", 10)));
+    }
+
+    private static EmployeeSummary summary(Long id, String firstName, String lastName) {
+        return new EmployeeSummary(id, "e" + id + "@company.com", firstName, lastName,
+                Employee.Role.EMPLOYEE, true, false, null, null);
+    }
+
+    private static List<Long> ids(List<EmployeeSummary> employees) {
+        List<Long> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+}
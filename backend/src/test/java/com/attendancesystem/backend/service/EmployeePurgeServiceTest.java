@@ -0,0 +1,63 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.repository.KioskPunchEventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeePurgeServiceTest {
+
+    @Test
+    void deletesLateRowsAndPunchesInTheEmployeeTransaction() {
+        AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+        KioskPunchEventRepository kioskPunchEventRepository = mock(KioskPunchEventRepository.class);
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        TransactionStatus finalTransaction = mock(TransactionStatus.class);
+
+        EmployeePurgeService purgeService = new EmployeePurgeService();
+        ReflectionTestUtils.setField(purgeService, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(purgeService, "kioskPunchEventRepository", kioskPunchEventRepository);
+        ReflectionTestUtils.setField(purgeService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(purgeService, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(purgeService, "attendanceChunkSize", 100);
+        ReflectionTestUtils.setField(purgeService, "employeeBatchSize", 10);
+        purgeService.init();
+
+        List<Long> ids = List.of(7L);
+        when(attendanceRepository.deleteChunkByEmployeeIds(ids, 100)).thenReturn(100, 40, 0);
+        when(kioskPunchEventRepository.deleteChunkByEmployeeIds(ids, 100)).thenReturn(3, 0);
+        // A check-in and a kiosk punch committed after the last chunk
+        when(attendanceRepository.deleteByEmployeeIds(ids)).thenReturn(1);
+        when(kioskPunchEventRepository.deleteByEmployeeIds(ids)).thenReturn(1);
+        when(employeeRepository.deleteByIdIn(ids)).thenReturn(1);
+        // Five chunk transactions, then the final one
+        TransactionStatus chunkTransaction = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(chunkTransaction, chunkTransaction,
+                chunkTransaction, chunkTransaction, chunkTransaction, finalTransaction);
+
+        try {
+            assertEquals(141, purgeService.deleteEmployeePermanently(7L));
+        } finally {
+            purgeService.shutdown();
+        }
+
+        InOrder order = inOrder(transactionManager, attendanceRepository, kioskPunchEventRepository, employeeRepository);
+        order.verify(attendanceRepository).deleteByEmployeeIds(ids);
+        order.verify(kioskPunchEventRepository).deleteByEmployeeIds(ids);
+        order.verify(employeeRepository).deleteByIdIn(ids);
+        order.verify(transactionManager).commit(finalTransaction);
+    }
+}
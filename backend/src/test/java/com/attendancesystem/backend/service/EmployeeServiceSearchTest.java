@@ -0,0 +1,76 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.EmployeeSummary;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeServiceSearchTest {
+
+    private static final int MAX_LIMIT = 200;
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeNameIndex nameIndex = new EmployeeNameIndex();
+        for (long id = 1; id <= 5000; id++) {
+            nameIndex.index(new EmployeeSummary(id, "e" + id + "@company.com", "Anna", "Smith" + id,
+                    Employee.Role.EMPLOYEE, true, false, null, null));
+        }
+
+        employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                Employee employee = new Employee();
+                employee.setId(id);
+                employees.add(employee);
+            }
+            return employees;
+        });
+
+        employeeService = new EmployeeService();
+        ReflectionTestUtils.setField(employeeService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(employeeService, "employeeNameIndex", nameIndex);
+        ReflectionTestUtils.setField(employeeService, "maxSearchLimit", MAX_LIMIT);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void oneCharacterQueryLoadsAtMostTheMaxLimit() {
+        List<Employee> results = employeeService.searchEmployeesByName("a");
+
+        assertEquals(MAX_LIMIT, results.size());
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(employeeRepository).findAllById(ids.capture());
+        int bound = 0;
+        for (Long ignored : ids.getValue()) {
+            bound++;
+        }
+        assertEquals(MAX_LIMIT, bound);
+    }
+
+    @Test
+    void keepsIndexOrder() {
+        List<Employee> results = employeeService.searchEmployeesByName("smith12");
+
+        // "smith12" is a whole name part, ranked before the longer names it prefixes
+        assertEquals(12L, results.get(0).getId());
+        // smith12, smith120..129 and smith1200..1299
+        assertEquals(111, results.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.model.Site;
+import com.attendancesystem.backend.repository.SiteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeofenceIndexTest {
+
+    // L-shaped site: the north-east quarter of its bounding box is outside the boundary
+    private static final String L_SHAPE = "40.80,-73.95; 40.80,-73.94; 40.805,-73.94; "
+            + "40.805,-73.945; 40.81,-73.945; 40.81,-73.95";
+
+    @Test
+    void usesTheConfiguredOfficeUntilSitesAreLoaded() {
+        GeofenceIndex index = geofenceIndex(mock(SiteRepository.class));
+
+        GeofenceIndex.GeofenceMatch match = index.evaluate(40.7128, -74.0060);
+        assertTrue(match.isInside());
+        assertEquals("Main Office", match.getSite().getName());
+        assertFalse(index.evaluate(40.7228, -74.0060).isInside());
+    }
+
+    @Test
+    void matchesCirclesPolygonsAndOversizedSites() {
+        SiteRepository siteRepository = mock(SiteRepository.class);
+        when(siteRepository.findByIsActive(true)).thenReturn(List.of(
+                site(1L, 40.7128, -74.0060, 0.5, null),
+                site(2L, 40.7138, -74.0060, 0.5, null),
+                site(3L, 40.8025, -73.945, null, L_SHAPE),
+                // Spans far more than the per-site cell limit, so it is checked outside the grid
+                site(4L, 35.0, -100.0, 500.0, null),
+                site(5L, 10.0, 10.0, null, "10.0,10.0; 10.1,10.1")));
+        GeofenceIndex index = geofenceIndex(siteRepository);
+        index.reload();
+
+        // The site with too few polygon vertices is skipped rather than failing the reload
+        assertEquals(4, index.getSites().size());
+
+        assertEquals(1L, index.evaluate(40.7110, -74.0060).getSite().getSiteId());
+        // Inside both overlapping circles: the closer center wins
+        assertEquals(2L, index.evaluate(40.7136, -74.0060).getSite().getSiteId());
+
+        GeofenceIndex.GeofenceMatch southArm = index.evaluate(40.802, -73.942);
+        GeofenceIndex.GeofenceMatch westArm = index.evaluate(40.808, -73.948);
+        assertTrue(southArm.isInside());
+        assertTrue(westArm.isInside());
+        assertEquals(3L, westArm.getSite().getSiteId());
+
+        GeofenceIndex.GeofenceMatch notch = index.evaluate(40.808, -73.942);
+        assertFalse(notch.isInside());
+        assertEquals(3L, notch.getSite().getSiteId());
+        assertEquals(GeofenceIndex.distanceKm(40.808, -73.942, 40.8025, -73.945), notch.getDistanceKm(), 1e-9);
+        assertTrue(index.findContainingSite(40.808, -73.942).isEmpty());
+
+        GeofenceIndex.GeofenceMatch oversized = index.evaluate(36.0, -99.0);
+        assertTrue(oversized.isInside());
+        assertEquals(4L, oversized.getSite().getSiteId());
+
+        GeofenceIndex.GeofenceMatch[] batch = index.evaluateAll(
+                new double[] {40.7110, 40.808, 36.0}, new double[] {-74.0060, -73.942, -99.0});
+        assertTrue(batch[0].isInside());
+        assertFalse(batch[1].isInside());
+        assertEquals(4L, batch[2].getSite().getSiteId());
+    }
+
+    private static GeofenceIndex geofenceIndex(SiteRepository siteRepository) {
+        GeofenceIndex index = new GeofenceIndex();
+        ReflectionTestUtils.setField(index, "siteRepository", siteRepository);
+        ReflectionTestUtils.setField(index, "defaultLatitude", 40.7128);
+        ReflectionTestUtils.setField(index, "defaultLongitude", -74.0060);
+        ReflectionTestUtils.setField(index, "defaultTolerance", 0.1);
+        ReflectionTestUtils.setField(index, "cellSizeDegrees", 0.01);
+        index.init();
+        return index;
+    }
+
+    private static Site site(Long id, double latitude, double longitude, Double radiusKm, String boundary) {
+        Site site = new Site();
+        site.setId(id);
+        site.setName("Site " + id);
+        site.setLatitude(latitude);
+        site.setLongitude(longitude);
+        site.setRadiusKm(radiusKm);
+        site.setBoundary(boundary);
+        site.setActive(true);
+        return site;
+    }
+}
@@ -0,0 +1,150 @@
+package com.attendancesystem.backend.service;
+
+import com.attendancesystem.backend.dto.KioskSyncRequest;
+import com.attendancesystem.backend.dto.KioskSyncResponse;
+import com.attendancesystem.backend.model.Attendance;
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.model.KioskPunchEvent;
+import com.attendancesystem.backend.repository.AttendanceRepository;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.repository.KioskPunchEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KioskSyncServiceTest {
+
+    private static final String KIOSK = "kiosk-1";
+
+    @Test
+    void replaysPunchesInTimeOrderAndAnswersRepeatsAsDuplicates() {
+        KioskPunchEventRepository punchEventRepository = mock(KioskPunchEventRepository.class);
+        AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        LocationService locationService = mock(LocationService.class);
+
+        KioskSyncService syncService = new KioskSyncService();
+        ReflectionTestUtils.setField(syncService, "punchEventRepository", punchEventRepository);
+        ReflectionTestUtils.setField(syncService, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(syncService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(syncService, "locationService", locationService);
+        ReflectionTestUtils.setField(syncService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(syncService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(syncService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(syncService, "maxEventAgeHours", 72L);
+        ReflectionTestUtils.setField(syncService, "maxClockSkewSeconds", 120L);
+        syncService.init();
+
+        LocalDateTime base = LocalDateTime.now().minusHours(6).truncatedTo(ChronoUnit.HOURS);
+
+        // "c" was uploaded before, and the server already has a later punch for employee 2
+        KioskPunchEvent storedC = new KioskPunchEvent();
+        storedC.setKioskId(KIOSK);
+        storedC.setClientEventId("c");
+        storedC.setOutcome(KioskPunchEvent.Outcome.APPLIED);
+        storedC.setAttendanceId(500L);
+        when(punchEventRepository.findByKioskIdAndClientEventIdIn(eq(KIOSK), anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(1).contains("c") ? List.of(storedC) : List.of());
+        when(employeeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                Employee employee = new Employee();
+                employee.setId(id);
+                employee.setActive(true);
+                employees.add(employee);
+            }
+            return employees;
+        });
+        LocationService.LocationValidation inside = mock(LocationService.LocationValidation.class);
+        when(inside.isValid()).thenReturn(true);
+        when(inside.getVerdict()).thenReturn(LocationService.LocationValidation.Verdict.INSIDE_SITE);
+        when(locationService.validateAll(any(), any())).thenAnswer(invocation -> {
+            List<LocationService.LocationValidation> validations = new ArrayList<>();
+            for (int i = 0; i < invocation.<double[]>getArgument(0).length; i++) {
+                validations.add(inside);
+            }
+            return validations;
+        });
+        when(attendanceRepository.findOpenSessionsByEmployeeIds(anyCollection())).thenReturn(List.of());
+        when(attendanceRepository.findLatestPunchTimes(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[] {2L, base.plusMinutes(90)}));
+        AtomicLong nextId = new AtomicLong(1000);
+        List<Attendance> saved = new ArrayList<>();
+        when(attendanceRepository.saveAll(any())).thenAnswer(invocation -> {
+            for (Attendance attendance : invocation.<Iterable<Attendance>>getArgument(0)) {
+                if (attendance.getId() == null) {
+                    attendance.setId(nextId.incrementAndGet());
+                }
+                saved.add(attendance);
+            }
+            return saved;
+        });
+
+        List<KioskSyncRequest.PunchEvent> events = List.of(
+                punch("a", 1L, KioskPunchEvent.PunchType.CHECK_OUT, base.plusHours(4)),
+                punch("b", 1L, KioskPunchEvent.PunchType.CHECK_IN, base.plusHours(2)),
+                punch("a", 1L, KioskPunchEvent.PunchType.CHECK_OUT, base.plusHours(4)),
+                punch("c", 2L, KioskPunchEvent.PunchType.CHECK_IN, base.plusHours(3)),
+                punch("d", 2L, KioskPunchEvent.PunchType.CHECK_IN, base.plusHours(1)),
+                punch("e", 1L, KioskPunchEvent.PunchType.CHECK_IN, base.plusHours(5)),
+                punch("f", 3L, KioskPunchEvent.PunchType.CHECK_OUT, base.plusHours(1)));
+
+        KioskSyncResponse response = syncService.sync(KIOSK, events);
+        List<KioskSyncResponse.EventResult> results = response.getResults();
+
+        // Results come back in request order, though punches were applied in time order
+        assertEquals(7, results.size());
+        assertEquals(KioskSyncResponse.Status.APPLIED, results.get(0).getStatus());
+        assertEquals(KioskSyncResponse.Status.APPLIED, results.get(1).getStatus());
+        assertEquals(results.get(1).getAttendanceId(), results.get(0).getAttendanceId());
+        assertEquals(KioskSyncResponse.Status.DUPLICATE, results.get(2).getStatus());
+        assertEquals(KioskSyncResponse.Status.DUPLICATE, results.get(3).getStatus());
+        assertEquals(500L, results.get(3).getAttendanceId());
+        assertEquals(KioskSyncResponse.Status.REJECTED, results.get(4).getStatus());
+        assertEquals("Out of order: a later punch is already recorded for this employee", results.get(4).getMessage());
+        assertEquals(KioskSyncResponse.Status.APPLIED, results.get(5).getStatus());
+        assertNotNull(results.get(5).getAttendanceId());
+        assertEquals(KioskSyncResponse.Status.REJECTED, results.get(6).getStatus());
+        assertEquals("No active check-in found", results.get(6).getMessage());
+        assertEquals(3, response.getApplied());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(2, response.getRejected());
+
+        // Employee 1: a closed session from b to a, then a new open one from e
+        Attendance closed = saved.stream().filter(a -> a.getId().equals(results.get(0).getAttendanceId())).findFirst().orElseThrow();
+        assertEquals(base.plusHours(2), closed.getCheckInTime());
+        assertEquals(base.plusHours(4), closed.getCheckOutTime());
+        Attendance open = saved.stream().filter(a -> a.getId().equals(results.get(5).getAttendanceId())).findFirst().orElseThrow();
+        assertEquals(base.plusHours(5), open.getCheckInTime());
+        assertNull(open.getCheckOutTime());
+    }
+
+    private static KioskSyncRequest.PunchEvent punch(String clientEventId, Long employeeId,
+                                                     KioskPunchEvent.PunchType type, LocalDateTime occurredAt) {
+        KioskSyncRequest.PunchEvent event = new KioskSyncRequest.PunchEvent();
+        event.setClientEventId(clientEventId);
+        event.setEmployeeId(employeeId);
+        event.setType(type);
+        event.setOccurredAt(occurredAt);
+        event.setLatitude(40.7128);
+        event.setLongitude(-74.0060);
+        return event;
+    }
+}
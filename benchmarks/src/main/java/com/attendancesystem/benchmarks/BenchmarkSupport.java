@@ -0,0 +1,97 @@
+package com.attendancesystem.benchmarks;
+
+import com.attendancesystem.backend.service.AttendanceMetrics;
+import com.attendancesystem.backend.service.FacialRecognitionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.opencv.objdetect.CascadeClassifier;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Builds services outside Spring and provides fixture data.
+ * <p>
+ * System properties:
+ * <ul>
+ *   <li>bench.cascade - Haar cascade XML for face detection (e.g. haarcascade_frontalface_default.xml);
+ *       required by the extraction benchmark, since the application's default classifier is empty</li>
+ *   <li>bench.fixtures - directory with photos of exactly one face named WIDTHxHEIGHT.jpg
+ *       (e.g. 640x480.jpg), one per benchmarked resolution</li>
+ * </ul>
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static AttendanceMetrics metrics() {
+        AttendanceMetrics metrics = new AttendanceMetrics();
+        ReflectionTestUtils.setField(metrics, "registry", new SimpleMeterRegistry());
+        metrics.init();
+        return metrics;
+    }
+
+    static FacialRecognitionService facialRecognitionService() {
+        FacialRecognitionService service = new FacialRecognitionService();
+        ReflectionTestUtils.setField(service, "metrics", metrics());
+        service.init();
+
+        String cascade = System.getProperty("bench.cascade");
+        if (hasCascade()) {
+            CascadeClassifier detector = new CascadeClassifier(cascade);
+            if (detector.empty()) {
+                throw new IllegalStateException("Could not load Haar cascade " + cascade);
+            }
+            ReflectionTestUtils.setField(service, "faceDetector", detector);
+        }
+        return service;
+    }
+
+    static boolean hasCascade() {
+        return System.getProperty("bench.cascade") != null;
+    }
+
+    /**
+     * Base64 face photo at the given resolution ("640x480") from bench.fixtures
+     */
+    static String fixtureImage(String resolution) throws IOException {
+        String fixtures = System.getProperty("bench.fixtures");
+        if (fixtures == null) {
+            throw new IllegalStateException("Face fixtures are required: -Dbench.fixtures=<dir with " + resolution + ".jpg>");
+        }
+        Path file = Paths.get(fixtures, resolution + ".jpg");
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("Missing face fixture " + file);
+        }
+        return Base64.getEncoder().encodeToString(Files.readAllBytes(file));
+    }
+
+    /**
+     * Encoding in the application's format (64 comma-separated pixel samples)
+     */
+    static String syntheticEncoding(Random random) {
+        StringBuilder encoding = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            encoding.append(String.format(Locale.ROOT, "%.2f,", random.nextDouble() * 255.0));
+        }
+        return encoding.toString();
+    }
+
+    /**
+     * Copy of the encoding with each sample moved by up to the given amount, as a second capture would be
+     */
+    static String perturb(String encoding, Random random, double amount) {
+        StringBuilder perturbed = new StringBuilder();
+        for (String value : encoding.split(",")) {
+            double sample = Double.parseDouble(value) + (random.nextDouble() * 2 - 1) * amount;
+            perturbed.append(String.format(Locale.ROOT, "%.2f,", Math.max(0.0, Math.min(255.0, sample))));
+        }
+        return perturbed.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.attendancesystem.benchmarks;
+
+import com.attendancesystem.backend.service.FacialRecognitionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Face pipeline: encoding extraction per image resolution, and encoding comparison.
+ * Extraction needs a Haar cascade (bench.cascade) and a face photo per resolution (bench.fixtures);
+ * its setup fails without them rather than timing the no-face or no-detector failure path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FaceRecognitionBenchmark {
+
+    private FacialRecognitionService service;
+    private String storedEncoding;
+    private String matchingEncoding;
+    private String differentEncoding;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkSupport.facialRecognitionService();
+
+        Random random = new Random(42);
+        storedEncoding = BenchmarkSupport.syntheticEncoding(random);
+        matchingEncoding = BenchmarkSupport.perturb(storedEncoding, random, 10.0);
+        differentEncoding = BenchmarkSupport.syntheticEncoding(random);
+    }
+
+    /**
+     * Decode, grayscale, detect and encode a photo with exactly one face
+     */
+    @Benchmark
+    public String extractFaceEncoding(Extraction extraction) {
+        return extraction.service.extractFaceEncoding(extraction.image);
+    }
+
+    @Benchmark
+    public boolean compareFacesMatching() {
+        return service.compareFaces(matchingEncoding, storedEncoding);
+    }
+
+    @Benchmark
+    public boolean compareFacesDifferent() {
+        return service.compareFaces(differentEncoding, storedEncoding);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Extraction {
+
+        @Param({"320x240", "640x480", "1280x720", "1920x1080"})
+        private String resolution;
+
+        private FacialRecognitionService service;
+        private String image;
+
+        @Setup
+        public void setUp() throws IOException {
+            service = BenchmarkSupport.facialRecognitionService();
+            if (!BenchmarkSupport.hasCascade()) {
+                throw new IllegalStateException("extractFaceEncoding needs -Dbench.cascade=<haarcascade_frontalface_default.xml>");
+            }
+            image = BenchmarkSupport.fixtureImage(resolution);
+
+            // Fail here, not per operation, if the photo does not take the success path
+            service.extractFaceEncoding(image);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.attendancesystem.benchmarks;
+
+import com.attendancesystem.backend.model.Site;
+import com.attendancesystem.backend.repository.SiteRepository;
+import com.attendancesystem.backend.service.GeofenceIndex;
+import com.attendancesystem.backend.service.LocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geofence check for a check-in location, against indexes of different sizes.
+ * Points are a fixed mix of inside (near a site) and outside locations, visited in turn.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeofenceBenchmark {
+
+    private static final double CENTER_LATITUDE = 40.7128;
+    private static final double CENTER_LONGITUDE = -74.0060;
+    private static final int POINTS = 1024;
+
+    @Param({"1", "50", "500"})
+    private int siteCount;
+
+    private LocationService locationService;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Site> sites = new ArrayList<>();
+        int perRow = (int) Math.ceil(Math.sqrt(siteCount));
+        for (int i = 0; i < siteCount; i++) {
+            // Grid of 200 m sites spaced about 2 km apart
+            Site site = new Site("Site " + i, CENTER_LATITUDE + (i / perRow) * 0.02,
+                    CENTER_LONGITUDE + (i % perRow) * 0.02, 0.2);
+            site.setId((long) i + 1);
+            site.setUpdatedAt(LocalDateTime.now());
+            sites.add(site);
+        }
+
+        GeofenceIndex geofenceIndex = new GeofenceIndex();
+        ReflectionTestUtils.setField(geofenceIndex, "siteRepository", siteRepository(sites));
+        ReflectionTestUtils.setField(geofenceIndex, "defaultLatitude", CENTER_LATITUDE);
+        ReflectionTestUtils.setField(geofenceIndex, "defaultLongitude", CENTER_LONGITUDE);
+        ReflectionTestUtils.setField(geofenceIndex, "defaultTolerance", 0.001);
+        ReflectionTestUtils.setField(geofenceIndex, "cellSizeDegrees", 0.01);
+        geofenceIndex.init();
+        geofenceIndex.reload();
+
+        locationService = new LocationService();
+        ReflectionTestUtils.setField(locationService, "geofenceIndex", geofenceIndex);
+
+        Random random = new Random(7);
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            Site site = sites.get(random.nextInt(sites.size()));
+            // Half within about 100 m of a site, half up to about 5 km away
+            double spread = i % 2 == 0 ? 0.001 : 0.05;
+            latitudes[i] = site.getLatitude() + (random.nextDouble() * 2 - 1) * spread;
+            longitudes[i] = site.getLongitude() + (random.nextDouble() * 2 - 1) * spread;
+        }
+    }
+
+    @Benchmark
+    public boolean isLocationValid() {
+        int i = next;
+        next = (i + 1) & (POINTS - 1);
+        return locationService.isLocationValid(latitudes[i], longitudes[i]);
+    }
+
+    /**
+     * Repository stand-in serving the generated sites to the index
+     */
+    private static SiteRepository siteRepository(List<Site> sites) {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        return (SiteRepository) Proxy.newProxyInstance(SiteRepository.class.getClassLoader(),
+                new Class<?>[] {SiteRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByIsActive" -> sites;
+                    case "findLatestUpdate" -> updatedAt;
+                    case "count" -> (long) sites.size();
+                    case "toString" -> "BenchmarkSiteRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
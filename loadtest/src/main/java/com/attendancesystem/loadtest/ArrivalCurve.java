@@ -0,0 +1,105 @@
+package com.attendancesystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Piecewise-linear arrival rate over the run, e.g. "0:1,20:10,40:25,60:25,80:10,100:1" ramps from
+ * 1 to 25 requests per second, holds the peak for 20 seconds and ramps back down. Arrivals are a
+ * Poisson process following the curve, so bursts occur as they would at a real shift change.
+ */
+final class ArrivalCurve {
+
+    private final double[] seconds;
+    private final double[] rates;
+    private final double peakRate;
+
+    private ArrivalCurve(double[] seconds, double[] rates) {
+        this.seconds = seconds;
+        this.rates = rates;
+        this.peakRate = Arrays.stream(rates).max().orElse(0);
+    }
+
+    static ArrivalCurve parse(String spec) {
+        String[] points = spec.split(",");
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Arrival curve needs at least two points: " + spec);
+        }
+        double[] seconds = new double[points.length];
+        double[] rates = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            String[] point = points[i].trim().split(":");
+            if (point.length != 2) {
+                throw new IllegalArgumentException("Arrival curve points are second:rate, got '" + points[i] + "'");
+            }
+            seconds[i] = Double.parseDouble(point[0]);
+            rates[i] = Double.parseDouble(point[1]);
+            if (rates[i] < 0 || (i > 0 && seconds[i] <= seconds[i - 1])) {
+                throw new IllegalArgumentException("Arrival curve needs increasing times and non-negative rates: " + spec);
+            }
+        }
+        if (seconds[0] != 0) {
+            throw new IllegalArgumentException("Arrival curve must start at second 0: " + spec);
+        }
+        ArrivalCurve curve = new ArrivalCurve(seconds, rates);
+        if (curve.peakRate <= 0) {
+            throw new IllegalArgumentException("Arrival curve has no arrivals: " + spec);
+        }
+        return curve;
+    }
+
+    double getDurationSeconds() {
+        return seconds[seconds.length - 1];
+    }
+
+    double getPeakRate() {
+        return peakRate;
+    }
+
+    double rateAt(double second) {
+        if (second <= 0) {
+            return rates[0];
+        }
+        for (int i = 1; i < seconds.length; i++) {
+            if (second <= seconds[i]) {
+                double fraction = (second - seconds[i - 1]) / (seconds[i] - seconds[i - 1]);
+                return rates[i - 1] + fraction * (rates[i] - rates[i - 1]);
+            }
+        }
+        return rates[rates.length - 1];
+    }
+
+    /**
+     * Expected number of arrivals (area under the curve)
+     */
+    double expectedArrivals() {
+        double total = 0;
+        for (int i = 1; i < seconds.length; i++) {
+            total += (seconds[i] - seconds[i - 1]) * (rates[i - 1] + rates[i]) / 2;
+        }
+        return total;
+    }
+
+    /**
+     * Arrival offsets from the start in nanoseconds, drawn by thinning a Poisson process at the peak rate
+     */
+    long[] arrivals(Random random) {
+        long[] offsets = new long[(int) Math.ceil(expectedArrivals() * 1.2) + 16];
+        int count = 0;
+        double duration = getDurationSeconds();
+        double second = 0;
+        while (true) {
+            second += -Math.log(1 - random.nextDouble()) / peakRate;
+            if (second >= duration) {
+                break;
+            }
+            if (random.nextDouble() * peakRate < rateAt(second)) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = (long) (second * 1_000_000_000L);
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+}
@@ -0,0 +1,79 @@
+package com.attendancesystem.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop request dispatcher: each call is sent at its scheduled offset whether or not earlier
+ * calls have answered. Latency is measured from the scheduled time, so when the server (or the
+ * in-flight cap) falls behind, the queueing shows up in the numbers instead of silently slowing
+ * the arrival rate.
+ */
+final class Dispatcher {
+
+    private final HttpClient client;
+    private final int maxInFlight;
+
+    Dispatcher(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Send the calls (sorted by offset) and wait for every response
+     */
+    void run(List<ScheduledCall> calls, LoadReport.Phase phase) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        CountDownLatch done = new CountDownLatch(calls.size());
+        long start = System.nanoTime();
+        phase.started(start);
+
+        for (ScheduledCall call : calls) {
+            long intended = start + call.offsetNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            permits.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(call.request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long completed = System.nanoTime();
+                        permits.release();
+                        try {
+                            phase.record(call.operation, intended, sent, completed, response, error);
+                            if (response != null && response.statusCode() / 100 == 2 && call.onSuccess != null) {
+                                call.onSuccess.accept(response);
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+        }
+        done.await();
+        phase.finished(System.nanoTime());
+    }
+
+    /**
+     * One request with its operation name and offset from the start of the phase
+     */
+    static final class ScheduledCall {
+        private final String operation;
+        private final long offsetNanos;
+        private final HttpRequest request;
+        private final Consumer<HttpResponse<String>> onSuccess;
+
+        ScheduledCall(String operation, long offsetNanos, HttpRequest request, Consumer<HttpResponse<String>> onSuccess) {
+            this.operation = operation;
+            this.offsetNanos = offsetNanos;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+    }
+}
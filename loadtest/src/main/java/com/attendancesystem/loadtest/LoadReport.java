@@ -0,0 +1,250 @@
+package com.attendancesystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Collects one sample per request and prints throughput, latency percentiles, an error breakdown
+ * and, for paced phases, a per-window timeline showing where p99 crosses the target.
+ */
+final class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NUMBERS = Pattern.compile("\\d+(\\.\\d+)?");
+    private static final int MAX_MESSAGE_LENGTH = 120;
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.95, 0.99, 0.999};
+
+    private final int windowSeconds;
+    private final long p99TargetMs;
+    private final List<Phase> phases = new ArrayList<>();
+
+    LoadReport(int windowSeconds, long p99TargetMs) {
+        this.windowSeconds = windowSeconds;
+        this.p99TargetMs = p99TargetMs;
+    }
+
+    /**
+     * A paced phase measures latency from each request's scheduled time; an unpaced one
+     * (sent as fast as the in-flight cap allows) from when it was actually sent
+     */
+    Phase phase(String name, boolean paced) {
+        Phase phase = new Phase(name, paced);
+        phases.add(phase);
+        return phase;
+    }
+
+    void print(PrintStream out) {
+        for (Phase phase : phases) {
+            phase.print(out);
+        }
+    }
+
+    private static String errorKey(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            return "transport " + cause.getClass().getSimpleName();
+        }
+        String message = null;
+        try {
+            JsonNode body = MAPPER.readTree(response.body());
+            if (body != null && body.hasNonNull("message")) {
+                message = body.get("message").asText();
+            } else if (body != null && body.hasNonNull("error")) {
+                message = body.get("error").asText();
+            }
+        } catch (Exception e) {
+            message = response.body();
+        }
+        if (message == null || message.isBlank()) {
+            return String.valueOf(response.statusCode());
+        }
+        // Fold numbers (distances, retry seconds) so variants of one error group together
+        message = NUMBERS.matcher(message).replaceAll("#");
+        if (message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH) + "...";
+        }
+        return response.statusCode() + " " + message;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Value at the given percentile of sorted values (nearest rank)
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static final class Sample {
+        private final String operation;
+        private final long offsetNanos;
+        private final long completedOffsetNanos;
+        private final long latencyNanos;
+        private final long serviceNanos;
+        private final String error;
+
+        Sample(String operation, long offsetNanos, long completedOffsetNanos, long latencyNanos, long serviceNanos, String error) {
+            this.operation = operation;
+            this.offsetNanos = offsetNanos;
+            this.completedOffsetNanos = completedOffsetNanos;
+            this.latencyNanos = latencyNanos;
+            this.serviceNanos = serviceNanos;
+            this.error = error;
+        }
+
+        boolean isOk() {
+            return error == null;
+        }
+    }
+
+    final class Phase {
+        private final String name;
+        private final boolean paced;
+        private final ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+        private long startNanos;
+        private long endNanos;
+
+        private Phase(String name, boolean paced) {
+            this.name = name;
+            this.paced = paced;
+        }
+
+        void started(long nanos) {
+            startNanos = nanos;
+        }
+
+        void finished(long nanos) {
+            endNanos = nanos;
+        }
+
+        void record(String operation, long intended, long sent, long completed,
+                    HttpResponse<String> response, Throwable error) {
+            String errorKey = error == null && response.statusCode() / 100 == 2 ? null : errorKey(response, error);
+            long latency = paced ? completed - intended : completed - sent;
+            samples.add(new Sample(operation, intended - startNanos, completed - startNanos,
+                    latency, completed - sent, errorKey));
+        }
+
+        long getErrorCount() {
+            return samples.stream().filter(sample -> !sample.isOk()).count();
+        }
+
+        private void print(PrintStream out) {
+            List<Sample> all = new ArrayList<>(samples);
+            double seconds = (endNanos - startNanos) / 1_000_000_000.0;
+            out.printf(Locale.ROOT, "%n== %s: %d request(s) in %.1f s, latency from %s ==%n",
+                    name, all.size(), seconds, paced ? "scheduled time" : "send");
+
+            Map<String, List<Sample>> byOperation = new TreeMap<>();
+            all.forEach(sample -> byOperation.computeIfAbsent(sample.operation, key -> new ArrayList<>()).add(sample));
+            if (byOperation.size() > 1) {
+                byOperation.put("(all)", all);
+            }
+
+            out.printf(Locale.ROOT, "%-10s %8s %8s %9s %8s %8s %8s %8s %8s %8s %10s%n", "operation", "count", "ok",
+                    "ok/s", "p50", "p90", "p95", "p99", "p99.9", "max", "svc p99");
+            for (Map.Entry<String, List<Sample>> entry : byOperation.entrySet()) {
+                List<Sample> operationSamples = entry.getValue();
+                long ok = operationSamples.stream().filter(Sample::isOk).count();
+                long[] latencies = operationSamples.stream().mapToLong(sample -> sample.latencyNanos).sorted().toArray();
+                long[] service = operationSamples.stream().mapToLong(sample -> sample.serviceNanos).sorted().toArray();
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-10s %8d %8d %9.1f",
+                        entry.getKey(), operationSamples.size(), ok, seconds > 0 ? ok / seconds : 0));
+                for (double percentile : PERCENTILES) {
+                    line.append(String.format(Locale.ROOT, " %8s", millis(percentile(latencies, percentile))));
+                }
+                line.append(String.format(Locale.ROOT, " %8s %10s",
+                        millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0),
+                        millis(percentile(service, 0.99))));
+                out.println(line);
+            }
+            out.println("(milliseconds)");
+
+            printErrors(out, all);
+            if (paced) {
+                printWindows(out, all);
+            }
+        }
+
+        private void printErrors(PrintStream out, List<Sample> all) {
+            Map<String, Long> errors = new LinkedHashMap<>();
+            all.stream()
+                    .filter(sample -> !sample.isOk())
+                    .forEach(sample -> errors.merge(sample.operation + "  " + sample.error, 1L, Long::sum));
+            if (errors.isEmpty()) {
+                out.println("errors: none");
+                return;
+            }
+            out.println("errors:");
+            errors.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> out.printf(Locale.ROOT, "%8d  %s%n", entry.getValue(), entry.getKey()));
+        }
+
+        private void printWindows(PrintStream out, List<Sample> all) {
+            long windowNanos = windowSeconds * 1_000_000_000L;
+            int windows = (int) ((endNanos - startNanos) / windowNanos) + 1;
+            List<List<Sample>> scheduled = new ArrayList<>(windows);
+            long[] completedOk = new long[windows];
+            for (int i = 0; i < windows; i++) {
+                scheduled.add(new ArrayList<>());
+            }
+            for (Sample sample : all) {
+                scheduled.get((int) Math.min(windows - 1, sample.offsetNanos / windowNanos)).add(sample);
+                if (sample.isOk()) {
+                    completedOk[(int) Math.min(windows - 1, sample.completedOffsetNanos / windowNanos)]++;
+                }
+            }
+
+            out.printf(Locale.ROOT, "%n%-11s %10s %10s %9s %9s %8s%n", "window", "offered/s", "ok done/s", "p50", "p99", "errors");
+            double bestSustained = 0;
+            String firstBreach = null;
+            long targetNanos = p99TargetMs * 1_000_000L;
+            for (int i = 0; i < windows; i++) {
+                List<Sample> window = scheduled.get(i);
+                if (window.isEmpty() && completedOk[i] == 0) {
+                    continue;
+                }
+                long[] latencies = window.stream().mapToLong(sample -> sample.latencyNanos).sorted().toArray();
+                long errors = window.stream().filter(sample -> !sample.isOk()).count();
+                double offered = window.size() / (double) windowSeconds;
+                long p99 = percentile(latencies, 0.99);
+                out.printf(Locale.ROOT, "%4d-%-4d s %10.1f %10.1f %9s %9s %8d%n", i * windowSeconds, (i + 1) * windowSeconds,
+                        offered, completedOk[i] / (double) windowSeconds,
+                        millis(percentile(latencies, 0.50)), millis(p99), errors);
+                if (window.isEmpty()) {
+                    continue;
+                }
+                if (p99 <= targetNanos && errors * 100 < window.size()) {
+                    bestSustained = Math.max(bestSustained, offered);
+                } else if (firstBreach == null) {
+                    firstBreach = String.format(Locale.ROOT, "%.1f req/s offered (window %d-%d s, p99 %s ms, %d error(s))",
+                            offered, i * windowSeconds, (i + 1) * windowSeconds, millis(p99), errors);
+                }
+            }
+
+            out.printf(Locale.ROOT, "%nhighest window rate with p99 <= %d ms and < 1%% errors: %.1f req/s%n",
+                    p99TargetMs, bestSustained);
+            out.println(firstBreach != null
+                    ? "first window over target: " + firstBreach
+                    : "no window exceeded the target; raise loadtest.curve to find the limit");
+        }
+    }
+}
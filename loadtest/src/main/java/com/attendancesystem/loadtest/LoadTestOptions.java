@@ -0,0 +1,131 @@
+package com.attendancesystem.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Load test settings, read from system properties so they sit apart from the application
+ * properties passed as --key=value arguments.
+ * <ul>
+ *   <li>loadtest.curve - arrival rate over time as "second:requests-per-second" points, linear in between</li>
+ *   <li>loadtest.check-in-share - fraction of arrivals that are check-ins; the rest check out the previous shift</li>
+ *   <li>loadtest.employees - employees to seed; defaults to one per arrival, more only grows the tables</li>
+ *   <li>loadtest.kiosks - kiosks the staff are spread over (X-Kiosk-Id, each with its own rate limit bucket)</li>
+ *   <li>loadtest.max-in-flight - cap on outstanding requests; past it arrivals queue and the wait counts as latency</li>
+ *   <li>loadtest.login-concurrency - parallel logins while signing the staff in</li>
+ *   <li>loadtest.request-timeout-ms - per-request timeout</li>
+ *   <li>loadtest.cascade - Haar cascade XML; with loadtest.fixtures enables face enrollment and verification</li>
+ *   <li>loadtest.fixtures - directory of face photos (one face each), shared out round-robin</li>
+ *   <li>loadtest.dir - directory for the SQLite file and replica snapshots; a temporary one is removed afterwards</li>
+ *   <li>loadtest.seed - random seed for the arrival schedule</li>
+ *   <li>loadtest.window-s - width of the report's time windows</li>
+ *   <li>loadtest.p99-target-ms - p99 a window must stay under to count as sustained</li>
+ * </ul>
+ */
+final class LoadTestOptions {
+
+    private final ArrivalCurve curve;
+    private final double checkInShare;
+    private final int employees;
+    private final int kiosks;
+    private final int maxInFlight;
+    private final int loginConcurrency;
+    private final long requestTimeoutMs;
+    private final String cascade;
+    private final Path fixtures;
+    private final Path directory;
+    private final long seed;
+    private final int windowSeconds;
+    private final long p99TargetMs;
+
+    private LoadTestOptions() {
+        curve = ArrivalCurve.parse(System.getProperty("loadtest.curve", "0:1,20:10,40:25,60:25,80:10,100:1"));
+        checkInShare = Double.parseDouble(System.getProperty("loadtest.check-in-share", "0.5"));
+        employees = Integer.getInteger("loadtest.employees", 0);
+        kiosks = Integer.getInteger("loadtest.kiosks", 50);
+        maxInFlight = Integer.getInteger("loadtest.max-in-flight", 256);
+        loginConcurrency = Integer.getInteger("loadtest.login-concurrency", 32);
+        requestTimeoutMs = Long.getLong("loadtest.request-timeout-ms", 30000L);
+        cascade = System.getProperty("loadtest.cascade");
+        String fixtureDirectory = System.getProperty("loadtest.fixtures");
+        fixtures = fixtureDirectory != null ? Paths.get(fixtureDirectory) : null;
+        String workDirectory = System.getProperty("loadtest.dir");
+        directory = workDirectory != null ? Paths.get(workDirectory) : null;
+        seed = Long.getLong("loadtest.seed", 42L);
+        windowSeconds = Integer.getInteger("loadtest.window-s", 5);
+        p99TargetMs = Long.getLong("loadtest.p99-target-ms", 1000L);
+
+        if (checkInShare < 0 || checkInShare > 1) {
+            throw new IllegalArgumentException("loadtest.check-in-share must be between 0 and 1");
+        }
+        if (kiosks < 1 || maxInFlight < 1 || loginConcurrency < 1 || windowSeconds < 1) {
+            throw new IllegalArgumentException("loadtest.kiosks, max-in-flight, login-concurrency and window-s must be positive");
+        }
+        if ((cascade == null) != (fixtures == null)) {
+            throw new IllegalArgumentException("loadtest.cascade and loadtest.fixtures must be given together");
+        }
+    }
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions();
+    }
+
+    ArrivalCurve getCurve() {
+        return curve;
+    }
+
+    double getCheckInShare() {
+        return checkInShare;
+    }
+
+    int getEmployees() {
+        return employees;
+    }
+
+    int getKiosks() {
+        return kiosks;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    int getLoginConcurrency() {
+        return loginConcurrency;
+    }
+
+    long getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    String getCascade() {
+        return cascade;
+    }
+
+    Path getFixtures() {
+        return fixtures;
+    }
+
+    boolean isFaceVerification() {
+        return cascade != null;
+    }
+
+    /**
+     * Working directory, or null for a temporary one
+     */
+    Path getDirectory() {
+        return directory;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    long getP99TargetMs() {
+        return p99TargetMs;
+    }
+}
@@ -0,0 +1,222 @@
+package com.attendancesystem.loadtest;
+
+import com.attendancesystem.backend.EmployeeAttendanceApplication;
+import com.attendancesystem.backend.security.AttendanceRateLimitFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Shift-change load test. Boots the application in this JVM on a random port against a fresh
+ * SQLite file, seeds the staff, logs every active employee in over HTTP through the real security
+ * filter chain, checks the outgoing shift in (untimed, paced under the kiosk rate limits), then
+ * replays the arrival curve: incoming employees check in while the outgoing shift checks out.
+ * <p>
+ * Settings are loadtest.* system properties (see {@link LoadTestOptions}); program arguments are
+ * application properties, e.g. --app.rate-limit.enabled=false. The prod profile is active unless
+ * overridden. Exits non-zero when a request failed.
+ */
+public class ShiftChangeLoadTest {
+
+    private static final String CHECK_IN = "check-in";
+    private static final String CHECK_OUT = "check-out";
+    private static final String LOGIN = "login";
+
+    // Outgoing-shift check-ins per kiosk per second, under the kiosk bucket's sustained refill
+    private static final double WARM_UP_RATE_PER_KIOSK = 4.0;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ArrivalCurve curve = options.getCurve();
+        Random random = new Random(options.getSeed());
+        long[] arrivals = curve.arrivals(random);
+        boolean[] checkIns = new boolean[arrivals.length];
+        int checkInCount = 0;
+        for (int i = 0; i < arrivals.length; i++) {
+            checkIns[i] = random.nextDouble() < options.getCheckInShare();
+            checkInCount += checkIns[i] ? 1 : 0;
+        }
+        int employeeCount = options.getEmployees() > 0 ? options.getEmployees() : arrivals.length;
+        if (employeeCount < arrivals.length) {
+            throw new IllegalArgumentException("loadtest.employees=" + employeeCount + " is fewer than the "
+                    + arrivals.length + " arrivals the curve produces; each employee acts once");
+        }
+        System.out.printf(Locale.ROOT, "Plan: %d arrival(s) over %.0f s (peak %.1f/s): %d check-in(s), %d check-out(s); "
+                        + "%d employee(s) over %d kiosk(s); face verification %s%n",
+                arrivals.length, curve.getDurationSeconds(), curve.getPeakRate(), checkInCount,
+                arrivals.length - checkInCount, employeeCount, options.getKiosks(),
+                options.isFaceVerification() ? "on" : "off (no loadtest.cascade)");
+
+        boolean temporaryDirectory = options.getDirectory() == null;
+        Path directory = temporaryDirectory ? Files.createTempDirectory("loadtest-") : options.getDirectory();
+        Files.createDirectories(directory);
+
+        int exitCode;
+        ConfigurableApplicationContext context = boot(directory, args);
+        try {
+            exitCode = run(context, options, arrivals, checkIns, employeeCount);
+        } finally {
+            context.close();
+            if (temporaryDirectory) {
+                deleteRecursively(directory);
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext context, LoadTestOptions options,
+                           long[] arrivals, boolean[] checkIns, int employeeCount) throws Exception {
+        Environment environment = context.getEnvironment();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String baseUrl = "http://127.0.0.1:" + port + environment.getProperty("server.servlet.context-path", "");
+        double latitude = environment.getRequiredProperty("app.allowed-location.latitude", Double.class);
+        double longitude = environment.getRequiredProperty("app.allowed-location.longitude", Double.class);
+
+        ShiftSeeder seeder = new ShiftSeeder(context, options);
+        seeder.prepareFaces();
+        long seedStart = System.nanoTime();
+        List<SyntheticEmployee> staff = seeder.seed(employeeCount);
+        System.out.printf(Locale.ROOT, "Seeded %d employee(s) in %.1f s%n", staff.size(),
+                (System.nanoTime() - seedStart) / 1_000_000_000.0);
+
+        // Each arrival is a distinct employee; the idle rest only add table rows
+        List<SyntheticEmployee> active = new ArrayList<>(staff.subList(0, arrivals.length));
+        Collections.shuffle(active, new Random(options.getSeed()));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Duration timeout = Duration.ofMillis(options.getRequestTimeoutMs());
+        LoadReport report = new LoadReport(options.getWindowSeconds(), options.getP99TargetMs());
+
+        // Log everyone in as fast as the login concurrency allows
+        List<Dispatcher.ScheduledCall> logins = new ArrayList<>(active.size());
+        for (SyntheticEmployee employee : active) {
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("email", employee.getEmail());
+            body.put("password", ShiftSeeder.PASSWORD);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                    .build();
+            logins.add(new Dispatcher.ScheduledCall(LOGIN, 0, request,
+                    response -> employee.setToken(token(response))));
+        }
+        new Dispatcher(client, options.getLoginConcurrency()).run(logins, report.phase("login", false));
+
+        Dispatcher dispatcher = new Dispatcher(client, options.getMaxInFlight());
+
+        // Outgoing shift is on site before the change starts
+        List<Dispatcher.ScheduledCall> warmUp = new ArrayList<>();
+        double warmUpRate = WARM_UP_RATE_PER_KIOSK * options.getKiosks();
+        for (int i = 0; i < arrivals.length; i++) {
+            if (!checkIns[i]) {
+                long offset = (long) (warmUp.size() / warmUpRate * 1_000_000_000L);
+                warmUp.add(attendanceCall(CHECK_IN, offset, active.get(i), baseUrl, timeout, latitude, longitude));
+            }
+        }
+        if (!warmUp.isEmpty()) {
+            dispatcher.run(warmUp, report.phase("outgoing shift check-in (warm-up)", false));
+        }
+
+        List<Dispatcher.ScheduledCall> shiftChange = new ArrayList<>(arrivals.length);
+        for (int i = 0; i < arrivals.length; i++) {
+            shiftChange.add(attendanceCall(checkIns[i] ? CHECK_IN : CHECK_OUT, arrivals[i], active.get(i),
+                    baseUrl, timeout, latitude, longitude));
+        }
+        LoadReport.Phase measured = report.phase("shift change", true);
+        dispatcher.run(shiftChange, measured);
+
+        report.print(System.out);
+        return measured.getErrorCount() == 0 ? 0 : 1;
+    }
+
+    private static Dispatcher.ScheduledCall attendanceCall(String operation, long offsetNanos, SyntheticEmployee employee,
+                                                           String baseUrl, Duration timeout,
+                                                           double latitude, double longitude) throws JsonProcessingException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("faceImage", employee.getFaceImage());
+        body.put("latitude", latitude);
+        body.put("longitude", longitude);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/attendance/" + operation))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header(AttendanceRateLimitFilter.KIOSK_ID_HEADER, employee.getKioskId())
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+        // Employees whose login failed still arrive; the rejection shows up in the error breakdown
+        if (employee.getToken() != null) {
+            request.header("Authorization", "Bearer " + employee.getToken());
+        }
+        return new Dispatcher.ScheduledCall(operation, offsetNanos, request.build(), null);
+    }
+
+    /**
+     * Start the application with the load test's defaults for any property not given as an argument
+     */
+    private static ConfigurableApplicationContext boot(Path directory, String[] args) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("spring.profiles.active", "prod");
+        defaults.put("spring.datasource.url", "jdbc:sqlite:" + directory.resolve("attendance_system.db").toAbsolutePath());
+        defaults.put("app.reporting-replica.directory", directory.resolve("replica").toAbsolutePath().toString());
+        defaults.put("server.port", "0");
+        defaults.put("management.server.port", "0");
+        defaults.put("server.error.include-message", "always");
+        defaults.put("spring.main.banner-mode", "off");
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        defaults.forEach((key, value) -> {
+            if (Stream.of(args).noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+                arguments.add("--" + key + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(EmployeeAttendanceApplication.class)
+                .headless(true)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    private static String token(HttpResponse<String> response) {
+        try {
+            return MAPPER.readTree(response.body()).get("token").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable login response: " + e.getMessage(), e);
+        }
+    }
+
+    private static String json(Object value) throws JsonProcessingException {
+        return MAPPER.writeValueAsString(value);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
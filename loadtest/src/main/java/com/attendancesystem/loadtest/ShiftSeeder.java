@@ -0,0 +1,133 @@
+package com.attendancesystem.loadtest;
+
+import com.attendancesystem.backend.model.Employee;
+import com.attendancesystem.backend.repository.EmployeeRepository;
+import com.attendancesystem.backend.service.EmployeeChangedEvent;
+import com.attendancesystem.backend.service.EmployeeNameIndex;
+import com.attendancesystem.backend.service.FacialRecognitionService;
+import org.opencv.objdetect.CascadeClassifier;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Seeds synthetic employees straight through the repositories of the booted application, then
+ * tells the in-memory indexes about them the way the employee services do. All employees share
+ * one password hash, computed once with the application's encoder so logins cost what they do
+ * in production.
+ */
+final class ShiftSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ConfigurableApplicationContext context;
+    private final LoadTestOptions options;
+    private final List<String> faceImages = new ArrayList<>();
+    private final List<String> faceTemplates = new ArrayList<>();
+
+    ShiftSeeder(ConfigurableApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.options = options;
+    }
+
+    /**
+     * Load the Haar cascade into the running face service and enroll every fixture photo it finds
+     * exactly one face in; the photos become the employees' templates and what they present
+     */
+    void prepareFaces() throws IOException {
+        if (!options.isFaceVerification()) {
+            return;
+        }
+        CascadeClassifier detector = new CascadeClassifier(options.getCascade());
+        if (detector.empty()) {
+            throw new IllegalStateException("Could not load Haar cascade " + options.getCascade());
+        }
+        FacialRecognitionService service = context.getBean(FacialRecognitionService.class);
+        Object target = AopProxyUtils.getSingletonTarget(service);
+        Field field = ReflectionUtils.findField(FacialRecognitionService.class, "faceDetector");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target != null ? target : service, detector);
+
+        List<Path> photos;
+        try (Stream<Path> files = Files.list(options.getFixtures())) {
+            photos = files.filter(ShiftSeeder::isImage).sorted().toList();
+        }
+        for (Path photo : photos) {
+            String image = Base64.getEncoder().encodeToString(Files.readAllBytes(photo));
+            try {
+                faceTemplates.add(service.extractFaceEncoding(image));
+                faceImages.add(image);
+            } catch (RuntimeException e) {
+                System.out.printf("Skipping fixture %s: %s%n", photo.getFileName(), e.getMessage());
+            }
+        }
+        if (faceImages.isEmpty()) {
+            throw new IllegalStateException("No fixture in " + options.getFixtures() + " has exactly one detectable face");
+        }
+        System.out.printf("Enrolled %d fixture photo(s) for face verification%n", faceImages.size());
+    }
+
+    List<SyntheticEmployee> seed(int count) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        EmployeeNameIndex employeeNameIndex = context.getBean(EmployeeNameIndex.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<SyntheticEmployee> seeded = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int to = Math.min(count, from + CHUNK_SIZE);
+            List<Employee> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(employee(i, passwordHash));
+            }
+            List<Employee> saved = employeeRepository.saveAll(chunk);
+
+            List<Long> ids = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                Employee employee = saved.get(i);
+                int index = from + i;
+                ids.add(employee.getId());
+                seeded.add(new SyntheticEmployee(employee.getId(), employee.getEmail(),
+                        String.format(Locale.ROOT, "kiosk-%03d", index % options.getKiosks()),
+                        faceImages.isEmpty() ? null : faceImages.get(index % faceImages.size())));
+            }
+            employeeNameIndex.indexAll(saved);
+            context.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Change.CREATED, ids));
+        }
+        return seeded;
+    }
+
+    private Employee employee(int index, String passwordHash) {
+        Employee employee = new Employee();
+        employee.setEmail(String.format(Locale.ROOT, "loadtest.%06d@loadtest.local", index));
+        employee.setFirstName("Load");
+        employee.setLastName(String.format(Locale.ROOT, "Tester %06d", index));
+        employee.setRole(Employee.Role.EMPLOYEE);
+        employee.setPassword(passwordHash);
+        employee.setActive(true);
+        employee.setCreatedAt(LocalDateTime.now());
+        employee.setUpdatedAt(LocalDateTime.now());
+        if (!faceTemplates.isEmpty()) {
+            employee.setFaceEncoding(faceTemplates.get(index % faceTemplates.size()));
+        }
+        return employee;
+    }
+
+    private static boolean isImage(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png");
+    }
+}
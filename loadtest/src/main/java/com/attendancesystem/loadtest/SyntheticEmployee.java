@@ -0,0 +1,47 @@
+package com.attendancesystem.loadtest;
+
+/**
+ * A seeded employee with the kiosk they use, the photo they present and, once logged in, their token
+ */
+final class SyntheticEmployee {
+
+    private final Long id;
+    private final String email;
+    private final String kioskId;
+    private final String faceImage;
+    private volatile String token;
+
+    SyntheticEmployee(Long id, String email, String kioskId, String faceImage) {
+        this.id = id;
+        this.email = email;
+        this.kioskId = kioskId;
+        this.faceImage = faceImage;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String getEmail() {
+        return email;
+    }
+
+    String getKioskId() {
+        return kioskId;
+    }
+
+    /**
+     * Base64 photo sent with check-in and check-out, or null when face verification is off
+     */
+    String getFaceImage() {
+        return faceImage;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    void setToken(String token) {
+        this.token = token;
+    }
+}